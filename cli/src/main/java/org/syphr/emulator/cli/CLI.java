@@ -25,12 +25,15 @@ import org.syphr.emulator.cli.clock.ClockPeriod;
 import org.syphr.emulator.cli.demo.Programs;
 import org.syphr.emulator.cli.gui.CPUManager;
 import org.syphr.emulator.cli.gui.GUI;
+import org.syphr.emulator.cli.memory.BankedROM;
+import org.syphr.emulator.cli.memory.BatteryRAM;
 import org.syphr.emulator.cli.memory.MemoryMap;
 import org.syphr.emulator.cli.simple.ProgramRunner;
 import org.syphr.emulator.cpu.Address;
 import org.syphr.emulator.cpu.AddressBreakpoint;
 import org.syphr.emulator.cpu.Breakpoint;
 import org.syphr.emulator.cpu.ClockCycleBreakpoint;
+import org.syphr.emulator.cpu.TraceWriter;
 
 import javax.swing.*;
 import java.io.IOException;
@@ -49,7 +52,18 @@ public class CLI
     private static final String ARG_DESC_BIN = "Path to binary data file";
     private static final String ARG_DESC_BIN_START = "Start address for provided binary data (format: 0x####)";
     private static final String ARG_DESC_BIN_WRITABLE = "Allow the binary data to be writable in memory";
+    private static final String ARG_DESC_BATTERY_RAM = "Path to a file holding battery-backed RAM, created if missing and saved as it is written";
+    private static final String ARG_DESC_BATTERY_RAM_START = "Start address for battery-backed RAM (format: 0x####)";
+    private static final String ARG_DESC_BATTERY_RAM_END = "End address for battery-backed RAM (format: 0x####)";
+    private static final String ARG_DESC_BANK_IMAGE = "Path to a binary image larger than its window in memory, split into banks the size of the window";
+    private static final String ARG_DESC_BANK_START = "Start address of the window showing the selected bank (format: 0x####)";
+    private static final String ARG_DESC_BANK_END = "End address of the window showing the selected bank (format: 0x####)";
+    private static final String ARG_DESC_BANK_SELECT = "Address of the register that selects the bank shown in the window, required with a bank image (format: 0x####)";
     private static final String ARG_DESC_STEPPING = "Start clock in single-step mode (default is continuous mode)";
+    private static final String ARG_DESC_TURBO = "Run the CPU as fast as possible, ignoring the clock frequency until a breakpoint switches to stepping mode";
+    private static final String ARG_DESC_QUIET = "Start without logging every cycle, memory access and instruction (press 't' while running to toggle)";
+    private static final String ARG_DESC_TRACE = "Path to a file receiving a compressed binary trace of every cycle and instruction, replaced if it exists";
+    private static final String ARG_DESC_FUSE = "Execute common pairs of instructions as a single unit and report how often each pair was fused when the program ends";
 
     private final Terminal terminal;
 
@@ -61,7 +75,18 @@ public class CLI
                     @Option(description = ARG_DESC_BIN, longName = "bin") @Nullable Path bin,
                     @Option(defaultValue = "0x0000", description = ARG_DESC_BIN_START, longName = "bin-start") Address binStart,
                     @Option(defaultValue = "false", description = ARG_DESC_BIN_WRITABLE, longName = "bin-writable") boolean binWritable,
-                    @Option(defaultValue = "false", description = ARG_DESC_STEPPING, longName = "stepping") boolean stepping) throws IOException
+                    @Option(description = ARG_DESC_BATTERY_RAM, longName = "battery-ram") @Nullable Path batteryRam,
+                    @Option(defaultValue = "0x6000", description = ARG_DESC_BATTERY_RAM_START, longName = "battery-ram-start") Address batteryRamStart,
+                    @Option(defaultValue = "0x7FFF", description = ARG_DESC_BATTERY_RAM_END, longName = "battery-ram-end") Address batteryRamEnd,
+                    @Option(description = ARG_DESC_BANK_IMAGE, longName = "bank-image") @Nullable Path bankImage,
+                    @Option(defaultValue = "0x8000", description = ARG_DESC_BANK_START, longName = "bank-start") Address bankStart,
+                    @Option(defaultValue = "0xBFFF", description = ARG_DESC_BANK_END, longName = "bank-end") Address bankEnd,
+                    @Option(description = ARG_DESC_BANK_SELECT, longName = "bank-select") @Nullable Address bankSelect,
+                    @Option(defaultValue = "false", description = ARG_DESC_STEPPING, longName = "stepping") boolean stepping,
+                    @Option(defaultValue = "false", description = ARG_DESC_TURBO, longName = "turbo") boolean turbo,
+                    @Option(defaultValue = "false", description = ARG_DESC_QUIET, longName = "quiet") boolean quiet,
+                    @Option(defaultValue = "false", description = ARG_DESC_FUSE, longName = "fuse") boolean fuse,
+                    @Option(description = ARG_DESC_TRACE, longName = "trace") @Nullable Path trace) throws IOException
     {
         if (Terminal.TYPE_DUMB.equals(terminal.getType())) {
             System.out.println("WARNING: Some inputs do not work inside a dumb terminal.");
@@ -79,12 +104,50 @@ public class CLI
             breakpoints.add(new AddressBreakpoint(breakAfterRead, true, false));
         }
 
-        new ProgramRunner(terminal,
-                          memoryMap,
-                          ClockPeriod.of(clockFrequency),
-                          stepping,
-                          breakpoints,
-                          executionStart).run();
+        if (bankImage != null) {
+            if (bankSelect == null) {
+                throw new IllegalArgumentException("A bank select address is required with a bank image");
+            }
+
+            var banked = BankedROM.map(bankStart, bankEnd, bankImage);
+            memoryMap = memoryMap.attach(banked).attach(banked.selector(bankSelect));
+        }
+
+        @Nullable BatteryRAM battery = null;
+        if (batteryRam != null) {
+            battery = BatteryRAM.open(batteryRamStart, batteryRamEnd, batteryRam);
+            memoryMap = memoryMap.attach(battery);
+        }
+
+        @Nullable TraceWriter traceWriter = null;
+        try {
+            if (trace != null) {
+                traceWriter = TraceWriter.open(trace);
+            }
+
+            new ProgramRunner(terminal,
+                              memoryMap,
+                              ClockPeriod.of(clockFrequency),
+                              stepping,
+                              turbo,
+                              quiet,
+                              fuse,
+                              breakpoints,
+                              executionStart,
+                              traceWriter).run();
+        } finally {
+            try {
+                // the runner waits for the CPU's listeners, so every recorded event is in the trace by now
+                if (traceWriter != null) {
+                    traceWriter.close();
+                }
+            } finally {
+                // make sure the battery-backed contents reach the disk before exiting
+                if (battery != null) {
+                    battery.close();
+                }
+            }
+        }
     }
 
     @Command(name = "gui", description = "Start the graphical interface")
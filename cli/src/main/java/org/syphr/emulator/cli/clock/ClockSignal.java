@@ -29,24 +29,47 @@ import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * A clock generator that runs on its own thread. While running freely, it grants listeners a burst of cycles at a time
+ * (enough to fill {@link #DEFAULT_BURST one millisecond} of wall time by default) and paces the bursts against absolute
+ * deadlines so that the average frequency stays accurate even though the thread only wakes up once per burst. While
+ * stepping, every step is exactly one cycle.
+ */
 @Slf4j
 public class ClockSignal implements Runnable, ClockGenerator
 {
+    public static final Duration DEFAULT_BURST = Duration.ofMillis(1);
+
+    private static final Duration MAX_LAG = Duration.ofMillis(100);
+
     private final Lock stepper = new ReentrantLock();
     private final Condition step = stepper.newCondition();
     private boolean takeStep = false;
 
     private final AtomicReference<Duration> period;
     private final AtomicReference<Boolean> stepping;
+    private final Duration burst;
 
     private final List<ClockListener> listeners = new CopyOnWriteArrayList<>();
 
     private long cycleCount = 0;
 
     public ClockSignal(Duration period, boolean stepping)
+    {
+        this(period, DEFAULT_BURST, stepping);
+    }
+
+    /**
+     * @param period   the duration of a single cycle
+     * @param burst    the amount of wall time to grant cycles for on each wake-up; a burst never covers less than one
+     *                 cycle
+     * @param stepping {@code true} to start paused, waiting for single steps
+     */
+    public ClockSignal(Duration period, Duration burst, boolean stepping)
     {
         this.period = new AtomicReference<>(period);
         this.stepping = new AtomicReference<>(stepping);
+        this.burst = burst;
     }
 
     public void addListener(ClockListener listener)
@@ -62,27 +85,46 @@ public class ClockSignal implements Runnable, ClockGenerator
     @Override
     public void run()
     {
+        long deadline = System.nanoTime();
+        boolean wasStepping = stepping.get();
+
         while (!Thread.interrupted()) {
-            try {
-                cycleCount++;
-                updateLoggingContext();
+            long firstCycle = cycleCount + 1;
+            int cycles = 1;
 
+            try {
                 if (stepping.get()) {
+                    // a burst may have been granted after the switch was made; take back what is left of it
+                    if (!wasStepping) {
+                        wasStepping = true;
+                        fireCyclesRevoked();
+                    }
+
+                    cycleCount++;
+                    updateLoggingContext();
                     awaitStep();
+                    deadline = System.nanoTime();
+                } else {
+                    wasStepping = false;
+                    Duration duration = period.get();
+                    cycles = cyclesPerBurst(duration, burst);
+                    cycleCount += cycles;
+                    updateLoggingContext();
+
+                    // make up for oversleeping, but do not try to catch up after a long stall
+                    long now = System.nanoTime();
+                    if (now - deadline > MAX_LAG.toNanos()) {
+                        deadline = now;
+                    }
+                    deadline += duration.toNanos() * cycles;
                 }
 
-                fireCycleStarted();
-                log.trace("Clock signal {} started", cycleCount);
+                fireCycleStarted(firstCycle, cycles);
+                log.trace("Clock signal {} started ({} cycles)", firstCycle, cycles);
                 long cycleStartTime = System.nanoTime();
 
                 if (!stepping.get()) {
-                    Duration duration = period.get();
-                    // spinWait typically executes much faster than sleep, but can consume more CPU
-                    if (duration.toNanos() < 60_000) {
-                        spinWait(duration);
-                    } else {
-                        sleep(duration);
-                    }
+                    awaitDeadline(deadline);
                 }
 
                 log.atTrace()
@@ -94,13 +136,25 @@ public class ClockSignal implements Runnable, ClockGenerator
                 break;
             }
 
-            fireCycleEnded();
+            fireCycleEnded(firstCycle, cycles);
         }
     }
 
+    static int cyclesPerBurst(Duration period, Duration burst)
+    {
+        long cycles = burst.toNanos() / Math.max(1, period.toNanos());
+        return Math.clamp(cycles, 1, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Switch to single stepping. Listeners are told to discard whatever is left of the current burst, so they stop at
+     * the next cycle boundary.
+     */
     public void pause()
     {
-        stepping.set(true);
+        if (!stepping.getAndSet(true)) {
+            fireCyclesRevoked();
+        }
     }
 
     public void resume()
@@ -114,6 +168,8 @@ public class ClockSignal implements Runnable, ClockGenerator
     {
         if (stepping.getAndUpdate(b -> !b)) {
             step();
+        } else {
+            fireCyclesRevoked();
         }
     }
 
@@ -161,36 +217,54 @@ public class ClockSignal implements Runnable, ClockGenerator
         }
     }
 
-    private void sleep(Duration duration) throws InterruptedException
+    private void awaitDeadline(long deadline) throws InterruptedException
     {
-        Thread.sleep(duration);
+        long remaining = deadline - System.nanoTime();
+
+        // spinWait typically executes much faster than sleep, but can consume more CPU
+        if (remaining < 60_000) {
+            spinWait(deadline);
+        } else {
+            sleep(remaining);
+        }
     }
 
-    private void spinWait(Duration duration)
+    private void sleep(long nanos) throws InterruptedException
     {
-        long start = System.nanoTime();
-        while (System.nanoTime() - start < duration.toNanos()) {
+        Thread.sleep(Duration.ofNanos(nanos));
+    }
+
+    private void spinWait(long deadline)
+    {
+        while (System.nanoTime() - deadline < 0) {
             Thread.onSpinWait();
         }
     }
 
-    private void fireCycleStarted()
+    private void fireCycleStarted(long firstCycle, int cycles)
     {
         ClockEvent event = null;
         for (ClockListener listener : listeners) {
             if (event == null) {
-                event = new ClockEvent(cycleCount);
+                event = new ClockEvent(firstCycle, cycles);
             }
             listener.cycleStarted(event);
         }
     }
 
-    private void fireCycleEnded()
+    private void fireCyclesRevoked()
+    {
+        for (ClockListener listener : listeners) {
+            listener.cyclesRevoked();
+        }
+    }
+
+    private void fireCycleEnded(long firstCycle, int cycles)
     {
         ClockEvent event = null;
         for (ClockListener listener : listeners) {
             if (event == null) {
-                event = new ClockEvent(cycleCount);
+                event = new ClockEvent(firstCycle, cycles);
             }
             listener.cycleEnded(event);
         }
@@ -21,14 +21,22 @@ import org.syphr.emulator.cli.clock.ClockPeriod;
 import org.syphr.emulator.cli.clock.ClockSignal;
 import org.syphr.emulator.cpu.Addressable;
 import org.syphr.emulator.cpu.CPU;
-import org.syphr.emulator.cpu.ClockCycleListener;
-import org.syphr.emulator.cpu.OperationListener;
+import org.syphr.emulator.cpu.ClockCycleBatchListener;
+import org.syphr.emulator.cpu.DeliveryPolicy;
+import org.syphr.emulator.cpu.OperationBatchListener;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 public class CPUManager
 {
+    // deliver events in blocks that are large enough to keep up with a fast clock and frequent enough to look live
+    private static final int EVENT_BATCH_SIZE = 4096;
+    private static final Duration EVENT_BATCH_INTERVAL = Duration.ofMillis(50);
+    // the logs are a live view, so a fast clock may skip events rather than wait for the display
+    private static final DeliveryPolicy EVENT_DELIVERY = DeliveryPolicy.dropOldest(1 << 16);
+
     private final List<CPUManagerListener> listeners = new CopyOnWriteArrayList<>();
 
     @Getter
@@ -49,13 +57,13 @@ public class CPUManager
         listeners.remove(listener);
     }
 
-    public void start(Addressable memoryMap, OperationListener opListener, ClockCycleListener cycleListener)
+    public void start(Addressable memoryMap, OperationBatchListener opListener, ClockCycleBatchListener cycleListener)
     {
         stop();
 
         var cpu = CPU.builder().addressable(memoryMap).build();
-        cpu.addListener(opListener);
-        cpu.addListener(cycleListener);
+        cpu.addListener(opListener, EVENT_BATCH_SIZE, EVENT_BATCH_INTERVAL, EVENT_DELIVERY);
+        cpu.addListener(cycleListener, EVENT_BATCH_SIZE, EVENT_BATCH_INTERVAL, EVENT_DELIVERY);
         cpu.reset();
         cpuThread = new Thread(cpu, "CPU");
 
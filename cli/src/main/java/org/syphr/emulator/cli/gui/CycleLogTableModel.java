@@ -96,11 +96,15 @@ public class CycleLogTableModel extends AbstractTableModel
         };
     }
 
-    public void addEvent(ClockCycleEvent event)
+    public void addEvents(List<ClockCycleEvent> newEvents)
     {
-        int newRowIndex = getRowCount();
-        events.add(event);
-        fireTableRowsInserted(newRowIndex, newRowIndex);
+        if (newEvents.isEmpty()) {
+            return;
+        }
+
+        int firstRowIndex = getRowCount();
+        events.addAll(newEvents);
+        fireTableRowsInserted(firstRowIndex, getRowCount() - 1);
     }
 
     public void clear()
@@ -20,13 +20,14 @@ import org.syphr.emulator.cli.demo.Programs;
 import org.syphr.emulator.cli.memory.MemoryMap;
 import org.syphr.emulator.cpu.CPUEvent.ClockCycleEvent;
 import org.syphr.emulator.cpu.CPUEvent.OperationEvent;
-import org.syphr.emulator.cpu.ClockCycleListener;
-import org.syphr.emulator.cpu.OperationListener;
+import org.syphr.emulator.cpu.ClockCycleBatchListener;
+import org.syphr.emulator.cpu.OperationBatchListener;
 
 import javax.swing.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.util.List;
 
 @RequiredArgsConstructor
 public class GUI
@@ -65,20 +66,20 @@ public class GUI
                 opLogData.clear();
                 cycleLogData.clear();
 
-                var opListener = new OperationListener()
+                var opListener = new OperationBatchListener()
                 {
                     @Override
-                    public void operationCompleted(OperationEvent event)
+                    public void operationsCompleted(List<OperationEvent> events)
                     {
-                        SwingUtilities.invokeLater(() -> opLogData.addEvent(event));
+                        SwingUtilities.invokeLater(() -> opLogData.addEvents(events));
                     }
                 };
-                var cycleListener = new ClockCycleListener()
+                var cycleListener = new ClockCycleBatchListener()
                 {
                     @Override
-                    public void clockCycleCompleted(ClockCycleEvent event)
+                    public void clockCyclesCompleted(List<ClockCycleEvent> events)
                     {
-                        SwingUtilities.invokeLater(() -> cycleLogData.addEvent(event));
+                        SwingUtilities.invokeLater(() -> cycleLogData.addEvents(events));
                     }
                 };
                 cpuManager.start(addressData.getMemoryMap(), opListener, cycleListener);
@@ -78,11 +78,15 @@ public class OpLogTableModel extends AbstractTableModel
         };
     }
 
-    public void addEvent(OperationEvent event)
+    public void addEvents(List<OperationEvent> newEvents)
     {
-        int newRowIndex = getRowCount();
-        events.add(event);
-        fireTableRowsInserted(newRowIndex, newRowIndex);
+        if (newEvents.isEmpty()) {
+            return;
+        }
+
+        int firstRowIndex = getRowCount();
+        events.addAll(newEvents);
+        fireTableRowsInserted(firstRowIndex, getRowCount() - 1);
     }
 
     public void clear()
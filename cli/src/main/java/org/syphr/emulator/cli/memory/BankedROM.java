@@ -0,0 +1,154 @@
+/*
+ * Copyright © 2025-2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cli.memory;
+
+import org.syphr.emulator.common.Value;
+import org.syphr.emulator.cpu.Address;
+import org.syphr.emulator.cpu.CPU;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.file.Path;
+
+/**
+ * Read-only memory larger than its window in the address space. The image is split into banks the size of the window
+ * and exactly one of them is visible at a time. Writing a bank number to the {@link #selector(Address) bank select
+ * register} swaps the visible bank by changing a single reference; nothing is copied and the memory map is not
+ * rebuilt.
+ * <p>
+ * Neither a CPU that caches decoded instructions nor the dirty page tracking of a {@link MemoryMap} notices the window
+ * changing under it, so the action given to {@link #onSelect(Runnable)} should pass the window to
+ * {@link CPU#invalidateCode(Address, Address)} and {@link MemoryMap#markDirty(Address, Address)}.
+ */
+public class BankedROM extends Segment
+{
+    // held so that the image stays registered with ROMImages while its banks are in use
+    private final MemorySegment image;
+    private final MemorySegment[] banks;
+    private MemorySegment bank;
+    private int selected;
+    private Runnable selectAction = () -> {};
+
+    private BankedROM(Address start, Address end, MemorySegment image)
+    {
+        super(start, end);
+
+        long size = end.toUnsignedInt() - start.toUnsignedInt() + 1L;
+        if (image.byteSize() == 0 || image.byteSize() % size != 0) {
+            throw new IllegalArgumentException("Image size " + image.byteSize() +
+                                               " is not a multiple of the bank window size " + size);
+        }
+
+        this.image = image;
+        banks = new MemorySegment[(int) (image.byteSize() / size)];
+        for (int i = 0; i < banks.length; i++) {
+            banks[i] = image.asSlice(i * size, size).asReadOnly();
+        }
+        bank = banks[0];
+    }
+
+    /**
+     * Load a binary image file through {@link ROMImages#shared()} and split it into banks the size of the given window.
+     * Bank zero is visible initially.
+     *
+     * @param start the first address of the window
+     * @param end   the last address of the window
+     * @param image the binary image file, whose size must be a multiple of the window size
+     * @return banked ROM holding the contents of the file
+     * @throws IOException if the file cannot be read
+     */
+    public static BankedROM map(Address start, Address end, Path image) throws IOException
+    {
+        return new BankedROM(start, end, ROMImages.shared().map(image));
+    }
+
+    public int getBankCount()
+    {
+        return banks.length;
+    }
+
+    public int getSelectedBank()
+    {
+        return selected;
+    }
+
+    /**
+     * Make the given bank visible in the window. Bank numbers wrap around the number of banks, as they would when
+     * the upper bits of a select register are not wired to anything.
+     *
+     * @param number the bank number
+     */
+    public void select(int number)
+    {
+        int previous = selected;
+        selected = number % banks.length;
+        bank = banks[selected];
+
+        if (selected != previous) {
+            selectAction.run();
+        }
+    }
+
+    /**
+     * Set an action to run whenever a different bank becomes visible. The action runs on the thread that selected the
+     * bank, which is the CPU's own when the program writes the select register.
+     *
+     * @param action the action to run
+     */
+    public void onSelect(Runnable action)
+    {
+        selectAction = action;
+    }
+
+    /**
+     * Create a one-byte register that selects the visible bank when written and reports it when read.
+     *
+     * @param register the address of the register
+     * @return the register, to be attached to the memory map alongside this segment
+     */
+    public Segment selector(Address register)
+    {
+        return new Segment(register, register)
+        {
+            @Override
+            public Value read(Address address)
+            {
+                validate(address);
+                return Value.of(selected);
+            }
+
+            @Override
+            public void write(Address address, Value value)
+            {
+                validate(address);
+                select(Byte.toUnsignedInt(value.data()));
+            }
+        };
+    }
+
+    @Override
+    public Value read(Address address)
+    {
+        return Value.of(bank.get(ValueLayout.JAVA_BYTE, offset(address)));
+    }
+
+    @Override
+    public void write(Address address, Value value)
+    {
+        throw new UnsupportedOperationException("ROM cannot be modified");
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright © 2025-2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cli.memory;
+
+import org.syphr.emulator.common.Value;
+import org.syphr.emulator.cpu.Address;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Battery-backed RAM whose contents live in a file mapped into memory. Every write lands directly in the mapping, so
+ * the operating system persists it without any serialization and reopening the file restores the previous state. A new
+ * file, or one shorter than the segment, is extended with zeros.
+ * <p>
+ * The operating system writes the pages back on its own schedule, even if the JVM exits abruptly. Call
+ * {@link #flush()} to force them to the storage device, and {@link #close()} to flush and release the mapping when the
+ * emulator is done with it.
+ */
+public class BatteryRAM extends Segment implements Closeable
+{
+    private final Arena arena;
+    private final MemorySegment data;
+
+    private BatteryRAM(Address start, Address end, Arena arena, MemorySegment data)
+    {
+        super(start, end);
+        this.arena = arena;
+        this.data = data;
+    }
+
+    /**
+     * Map a file as battery-backed RAM, creating it if necessary.
+     *
+     * @param start the first address of the segment
+     * @param end   the last address of the segment
+     * @param file  the file holding the contents
+     * @return RAM backed by the file
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public static BatteryRAM open(Address start, Address end, Path file) throws IOException
+    {
+        long size = end.toUnsignedInt() - start.toUnsignedInt() + 1L;
+
+        // shared so that the CPU thread can access the memory while another thread flushes or closes it
+        Arena arena = Arena.ofShared();
+        try (var channel = FileChannel.open(file,
+                                            StandardOpenOption.CREATE,
+                                            StandardOpenOption.READ,
+                                            StandardOpenOption.WRITE)) {
+            return new BatteryRAM(start, end, arena, channel.map(FileChannel.MapMode.READ_WRITE, 0, size, arena));
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public Value read(Address address)
+    {
+        return Value.of(data.get(ValueLayout.JAVA_BYTE, offset(address)));
+    }
+
+    @Override
+    public void write(Address address, Value value)
+    {
+        data.set(ValueLayout.JAVA_BYTE, offset(address), value.data());
+    }
+
+    /**
+     * Copy the current contents into ordinary RAM, so that a fork can be written without touching the file.
+     *
+     * @return RAM holding a copy of the contents
+     */
+    @Override
+    public RAM fork()
+    {
+        return new RAM(getStart(), data.toArray(ValueLayout.JAVA_BYTE));
+    }
+
+    /**
+     * Force any writes still held by the operating system out to the storage device.
+     */
+    public void flush()
+    {
+        data.force();
+    }
+
+    /**
+     * Flush the contents and release the mapping. The segment cannot be accessed afterward.
+     */
+    @Override
+    public void close()
+    {
+        try {
+            flush();
+        } finally {
+            arena.close();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright © 2025-2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cli.memory;
+
+import org.syphr.emulator.common.Value;
+
+/**
+ * A peripheral that exposes a bank of registers on the bus. The register number comes from the low address bits, as
+ * the register select lines of a real chip are wired to the low address lines.
+ */
+public interface Device
+{
+    /**
+     * Get the number of registers this device decodes, which must be a power of two.
+     *
+     * @return the register count
+     */
+    int getRegisterCount();
+
+    Value read(int register);
+
+    void write(int register, Value value);
+}
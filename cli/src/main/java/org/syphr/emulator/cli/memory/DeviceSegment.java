@@ -0,0 +1,69 @@
+/*
+ * Copyright © 2025-2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cli.memory;
+
+import lombok.Getter;
+import org.syphr.emulator.common.Value;
+import org.syphr.emulator.cpu.Address;
+
+/**
+ * The address range claimed by a {@link Device}. The register is selected by the low bits of the address, as it is when
+ * the register select pins of a chip are wired to the lowest address lines, so a range that does not start on a
+ * multiple of the register count begins partway through the register bank. A range larger than the device's register
+ * bank repeats the registers throughout, the same way a partially decoded chip select does on real hardware.
+ */
+public final class DeviceSegment extends Segment
+{
+    @Getter
+    private final Device device;
+    private final int registerMask;
+
+    public DeviceSegment(Address start, Address end, Device device)
+    {
+        super(start, end);
+
+        int registers = device.getRegisterCount();
+        if (Integer.bitCount(registers) != 1) {
+            throw new IllegalArgumentException("Register count " + registers + " is not a power of two");
+        }
+        if (end.toUnsignedInt() - start.toUnsignedInt() + 1 < registers) {
+            throw new IllegalArgumentException("Range from " + start + " to " + end + " is too small for " +
+                                               registers + " registers");
+        }
+
+        this.device = device;
+        this.registerMask = registers - 1;
+    }
+
+    @Override
+    public Value read(Address address)
+    {
+        return device.read(register(address));
+    }
+
+    @Override
+    public void write(Address address, Value value)
+    {
+        device.write(register(address), value);
+    }
+
+    private int register(Address address)
+    {
+        // checks the bounds; the register comes from the address itself, not its position in the range
+        offset(address);
+        return address.toUnsignedInt() & registerMask;
+    }
+}
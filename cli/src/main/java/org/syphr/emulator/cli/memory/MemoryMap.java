@@ -15,21 +15,49 @@
  */
 package org.syphr.emulator.cli.memory;
 
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.jspecify.annotations.Nullable;
 import org.syphr.emulator.common.Value;
 import org.syphr.emulator.cpu.Address;
 import org.syphr.emulator.cpu.Addressable;
 import org.syphr.emulator.cpu.Operation;
 
 import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 
-public record MemoryMap(List<Segment> segments) implements Addressable
+/**
+ * A complete address space made of non-overlapping segments. Each access finds its segment through a page table built
+ * at construction: a page covered by a single segment is one entry, while a page shared by several segments gets an
+ * entry per address.
+ */
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString(onlyExplicitlyIncluded = true)
+public final class MemoryMap implements Addressable
 {
+    public static final int PAGE_SIZE = 256;
+    public static final int PAGE_COUNT = 256;
+
+    private static final VarHandle DIRTY = MethodHandles.arrayElementVarHandle(long[].class);
+
+    @EqualsAndHashCode.Include
+    @ToString.Include
+    private final List<Segment> segments;
+
+    // indexed by the high byte of the address; each page holds either one segment or one per low byte
+    private final @Nullable Segment[][] pages;
+
+    // one bit per page written since the last call to fetchDirtyPages()
+    private final long[] dirty = new long[PAGE_COUNT / Long.SIZE];
+
     public static MemoryMap of(Segment... segments)
     {
         return new MemoryMap(List.of(segments));
@@ -60,24 +88,18 @@ public record MemoryMap(List<Segment> segments) implements Addressable
      */
     public static MemoryMap of(Address start, Path bin, boolean writable) throws IOException
     {
-        byte[] bytes = Files.readAllBytes(bin);
+        long size = Files.size(bin);
 
-        if (bytes.length == 0) {
+        if (size == 0) {
             throw new IllegalArgumentException("Binary file is empty");
         }
 
-        Address end = start.plus(bytes.length - 1);
-        if (start.compareTo(end) > 0) {
+        if (start.toUnsignedInt() + size - 1 > Address.MAX.toUnsignedInt()) {
             throw new IllegalArgumentException("Binary file is too large to fit in addressable memory starting at " +
                                                start);
         }
 
-        List<Value> values = new ArrayList<>();
-        for (byte b : bytes) {
-            values.add(Value.of(b));
-        }
-
-        Segment segment = writable ? new RAM(start, values) : new ROM(start, values);
+        Segment segment = writable ? new RAM(start, Files.readAllBytes(bin)) : ROM.map(start, bin);
         return fillRam(segment);
     }
 
@@ -132,6 +154,134 @@ public record MemoryMap(List<Segment> segments) implements Addressable
         }
 
         this.segments = List.copyOf(segments);
+        this.pages = buildPages(this.segments);
+    }
+
+    public List<Segment> segments()
+    {
+        return segments;
+    }
+
+    /**
+     * Create a child memory map that starts with the same contents as this one and then diverges from it. RAM is
+     * shared copy-on-write, so forking costs little more than building the page table no matter how much memory is in
+     * use, and pages are only copied once one side writes to them. The CPU using this map must be paused while it is
+     * forked.
+     *
+     * @return the child memory map
+     * @throws UnsupportedOperationException if the map contains a segment that cannot be forked, such as a device
+     * @see Segment#fork()
+     */
+    public MemoryMap fork()
+    {
+        List<Segment> forked = new ArrayList<>(segments.size());
+        for (Segment segment : segments) {
+            forked.add(segment.fork());
+        }
+
+        return new MemoryMap(forked);
+    }
+
+    /**
+     * Build a new memory map with a device claiming the given address range. Accesses reach the device through the same
+     * page table as memory, so only the addresses it claims pay for the dispatch.
+     *
+     * @param start  the first address claimed by the device
+     * @param end    the last address claimed by the device
+     * @param device the device to attach
+     * @return a new memory map containing the device
+     * @throws IllegalArgumentException if the range covers anything other than RAM or is too small for the device
+     * @see #attach(Segment)
+     */
+    public MemoryMap attach(Address start, Address end, Device device)
+    {
+        return attach(new DeviceSegment(start, end, device));
+    }
+
+    /**
+     * Build a new memory map with the given segment placed over part of this one. The segment may only cover
+     * addresses that are currently RAM; any RAM left on either side of it is kept along with its contents.
+     *
+     * @param segment the segment to attach
+     * @return a new memory map containing the segment
+     * @throws IllegalArgumentException if the segment covers anything other than RAM
+     */
+    public MemoryMap attach(Segment segment)
+    {
+        int start = segment.getStart().toUnsignedInt();
+        int end = segment.getEnd().toUnsignedInt();
+
+        List<Segment> result = new ArrayList<>();
+        for (Segment existing : segments) {
+            if (existing.getEnd().toUnsignedInt() < start || existing.getStart().toUnsignedInt() > end) {
+                result.add(existing);
+                continue;
+            }
+
+            if (!(existing instanceof RAM ram)) {
+                throw new IllegalArgumentException("Segment from " + segment.getStart() + " to " + segment.getEnd() +
+                                                   " overlaps non-RAM segment starting at " + existing.getStart());
+            }
+
+            if (existing.getStart().toUnsignedInt() < start) {
+                result.add(ram.slice(existing.getStart(), segment.getStart().decrement()));
+            }
+            if (existing.getEnd().toUnsignedInt() > end) {
+                result.add(ram.slice(segment.getEnd().increment(), existing.getEnd()));
+            }
+        }
+        result.add(segment);
+        result.sort(Comparator.comparing(Segment::getStart));
+
+        return new MemoryMap(result);
+    }
+
+    private static @Nullable Segment[][] buildPages(List<Segment> segments)
+    {
+        var pages = new Segment[PAGE_COUNT][];
+        for (int page = 0; page < PAGE_COUNT; page++) {
+            int first = page * PAGE_SIZE;
+            int last = first + PAGE_SIZE - 1;
+
+            @Nullable Segment whole = null;
+            for (Segment segment : segments) {
+                if (segment.getStart().toUnsignedInt() <= first && segment.getEnd().toUnsignedInt() >= last) {
+                    whole = segment;
+                    break;
+                }
+            }
+
+            if (whole != null) {
+                pages[page] = new Segment[] {whole};
+                continue;
+            }
+
+            var entries = new Segment[PAGE_SIZE];
+            for (Segment segment : segments) {
+                int start = Math.max(first, segment.getStart().toUnsignedInt());
+                int end = Math.min(last, segment.getEnd().toUnsignedInt());
+                for (int address = start; address <= end; address++) {
+                    entries[address - first] = segment;
+                }
+            }
+            pages[page] = entries;
+        }
+
+        return pages;
+    }
+
+    private Segment find(Address address)
+    {
+        int location = address.toUnsignedInt();
+        @Nullable Segment[] page = pages[location >>> 8];
+
+        // single-entry pages always resolve to index zero
+        @Nullable Segment segment = page[location & (page.length - 1)];
+        if (segment == null) {
+            throw new IllegalArgumentException("No memory segment contains address " + address);
+        }
+
+        return segment;
     }
 
     private boolean isOverlapping(List<Segment> segments)
@@ -154,20 +304,53 @@ public record MemoryMap(List<Segment> segments) implements Addressable
     @Override
     public Value read(Address address)
     {
-        return segments.stream()
-                       .filter(s -> s.contains(address))
-                       .findFirst()
-                       .orElseThrow(() -> new IllegalArgumentException("No memory segment contains address " + address))
-                       .read(address);
+        return find(address).read(address);
     }
 
     @Override
     public void write(Address address, Value value)
     {
-        segments.stream()
-                .filter(s -> s.contains(address))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("No memory segment contains address " + address))
-                .write(address, value);
+        find(address).write(address, value);
+        markDirty(address.toUnsignedInt() >>> 8);
+    }
+
+    private void markDirty(int page)
+    {
+        // always set the bit, even when it looks set already: a fetch that clears this update also sees the data stored
+        // before it, and a fetch that clears the word first leaves the bit set for the next one, whereas a plain check
+        // could see a bit that a fetch is about to clear and lose the write
+        DIRTY.getAndBitwiseOr(dirty, page >>> 6, 1L << page);
+    }
+
+    /**
+     * Report that memory in the given range changed without being written through this map, such as when a bank switch
+     * swaps the contents of a window, so that the next {@link #fetchDirtyPages()} includes every page in the range.
+     *
+     * @param start the first changed address
+     * @param end   the last changed address
+     */
+    public void markDirty(Address start, Address end)
+    {
+        for (int page = start.toUnsignedInt() >>> 8; page <= end.toUnsignedInt() >>> 8; page++) {
+            markDirty(page);
+        }
+    }
+
+    /**
+     * Get the pages written since the previous call and clear them, so that a consumer can copy only the memory that
+     * changed. Each page covers {@value #PAGE_SIZE} addresses, so page {@code n} starts at address {@code n * 256}.
+     * This is safe to call while the CPU is running; a write that races with the call is reported either now or by the
+     * next call, never lost.
+     *
+     * @return the numbers of the dirty pages
+     */
+    public BitSet fetchDirtyPages()
+    {
+        var words = new long[dirty.length];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = (long) DIRTY.getAndSet(dirty, i, 0L);
+        }
+
+        return BitSet.valueOf(words);
     }
 }
@@ -18,42 +18,128 @@ package org.syphr.emulator.cli.memory;
 import org.syphr.emulator.common.Value;
 import org.syphr.emulator.cpu.Address;
 
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.TreeMap;
 
+/**
+ * Writable memory backed by byte arrays, one per 256 bytes of the segment. Addresses that have never been written read
+ * as zero.
+ * <p>
+ * The arrays are what make {@link #fork()} cheap: a fork shares all of them with its parent and whichever side writes
+ * to a shared array first copies it.
+ */
 public class RAM extends Segment
 {
-    private final Map<Address, Value> data;
+    private static final int CHUNK_BITS = 8;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final byte[][] chunks;
+
+    // chunks that may be referenced by another fork and must be copied before they are written
+    private final boolean[] shared;
 
     public RAM(Address start, Address end)
     {
         super(start, end);
-        this.data = new TreeMap<>();
+
+        int size = end.toUnsignedInt() - start.toUnsignedInt() + 1;
+        this.chunks = new byte[(size + CHUNK_SIZE - 1) / CHUNK_SIZE][CHUNK_SIZE];
+        this.shared = new boolean[chunks.length];
     }
 
     public RAM(Address start, List<Value> values)
     {
         this(start, start.plus(values.size() - 1));
 
-        var pointer = start;
-        for (Value value : values) {
-            data.put(pointer, value);
-            pointer = pointer.increment();
+        for (int i = 0; i < values.size(); i++) {
+            put(i, values.get(i).data());
+        }
+    }
+
+    /**
+     * Create RAM holding a copy of the given bytes.
+     *
+     * @param start the address of the first byte
+     * @param bytes the initial contents
+     */
+    public RAM(Address start, byte[] bytes)
+    {
+        this(start, start.plus(bytes.length - 1));
+
+        for (int i = 0; i < chunks.length; i++) {
+            System.arraycopy(bytes, i * CHUNK_SIZE, chunks[i], 0, Math.min(CHUNK_SIZE, bytes.length - i * CHUNK_SIZE));
         }
     }
 
+    private RAM(RAM parent)
+    {
+        super(parent.getStart(), parent.getEnd());
+
+        this.chunks = parent.chunks.clone();
+        this.shared = new boolean[chunks.length];
+        Arrays.fill(shared, true);
+    }
+
+    /**
+     * Copy part of this RAM into a new segment.
+     *
+     * @param start the first address to copy
+     * @param end   the last address to copy
+     * @return a new segment holding the same contents for the given range
+     */
+    RAM slice(Address start, Address end)
+    {
+        var slice = new RAM(start, end);
+
+        int from = offset(start);
+        int size = end.toUnsignedInt() - start.toUnsignedInt() + 1;
+        for (int i = 0; i < size; i++) {
+            slice.put(i, get(from + i));
+        }
+
+        return slice;
+    }
+
+    /**
+     * Create a copy-on-write fork of this RAM. No data is copied up front; each 256-byte chunk is copied the first time
+     * either this segment or the fork writes to it. The parent must not be written by another thread while the fork
+     * is being created.
+     *
+     * @return a new segment with the same contents as this one
+     */
+    @Override
+    public RAM fork()
+    {
+        Arrays.fill(shared, true);
+        return new RAM(this);
+    }
+
     @Override
     public Value read(Address address)
     {
-        validate(address);
-        return data.getOrDefault(address, Value.ZERO);
+        return Value.of(get(offset(address)));
     }
 
     @Override
     public void write(Address address, Value value)
     {
-        validate(address);
-        data.put(address, value);
+        put(offset(address), value.data());
+    }
+
+    private byte get(int offset)
+    {
+        return chunks[offset >>> CHUNK_BITS][offset & CHUNK_MASK];
+    }
+
+    private void put(int offset, byte value)
+    {
+        int chunk = offset >>> CHUNK_BITS;
+        if (shared[chunk]) {
+            chunks[chunk] = chunks[chunk].clone();
+            shared[chunk] = false;
+        }
+
+        chunks[chunk][offset & CHUNK_MASK] = value;
     }
 }
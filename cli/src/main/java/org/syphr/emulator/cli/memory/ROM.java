@@ -18,23 +18,72 @@ package org.syphr.emulator.cli.memory;
 import org.syphr.emulator.common.Value;
 import org.syphr.emulator.cpu.Address;
 
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.file.Path;
 import java.util.List;
 
+/**
+ * Read-only memory. The contents are held in a read-only {@link MemorySegment}, either on the heap or off it, so reads
+ * never touch per-byte objects. Contents come from {@link ROMImages#shared()}, so every ROM with the same bytes shares
+ * one backing store.
+ */
 public class ROM extends Segment
 {
-    private final List<Value> values;
+    private final MemorySegment data;
 
     public ROM(Address start, List<Value> values)
     {
-        super(start, start.plus(values.size() - 1));
-        this.values = List.copyOf(values);
+        this(start, ROMImages.shared().intern(toBytes(values)));
+    }
+
+    ROM(Address start, MemorySegment data)
+    {
+        super(start, start.plus((int) data.byteSize() - 1));
+        // the registry keeps an image only while its own segment is reachable, so hold on to that rather than a view
+        this.data = data.isReadOnly() ? data : data.asReadOnly();
+    }
+
+    /**
+     * Load a binary image file through {@link ROMImages#shared()}, so that the contents are copied only once no matter
+     * how many ROMs load the same bytes.
+     *
+     * @param start the address of the first byte of the image
+     * @param image the binary image file
+     * @return ROM holding the contents of the file
+     * @throws IOException if the file cannot be read
+     */
+    public static ROM map(Address start, Path image) throws IOException
+    {
+        return new ROM(start, ROMImages.shared().map(image));
+    }
+
+    private static byte[] toBytes(List<Value> values)
+    {
+        var bytes = new byte[values.size()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = values.get(i).data();
+        }
+
+        return bytes;
+    }
+
+    /**
+     * ROM never changes, so forks share it as is.
+     *
+     * @return this segment
+     */
+    @Override
+    public ROM fork()
+    {
+        return this;
     }
 
     @Override
     public Value read(Address address)
     {
-        validate(address);
-        return values.get(address.toUnsignedInt() - getStart().toUnsignedInt());
+        return Value.of(data.get(ValueLayout.JAVA_BYTE, offset(address)));
     }
 
     @Override
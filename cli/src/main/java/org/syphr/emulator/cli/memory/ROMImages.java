@@ -0,0 +1,161 @@
+/*
+ * Copyright © 2025-2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cli.memory;
+
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-only ROM contents keyed by a SHA-256 hash of the bytes, so that every {@link ROM} in the process with the same
+ * contents shares a single backing store no matter how many emulator instances load it. The registry owns a private
+ * copy of every image, so changing a file afterward affects neither running ROMs nor later lookups. An image is kept
+ * only as long as something still uses it and is then released by the garbage collector.
+ */
+public final class ROMImages
+{
+    private static final ROMImages SHARED = new ROMImages();
+
+    private final Map<String, Entry> images = new ConcurrentHashMap<>();
+    private final ReferenceQueue<MemorySegment> released = new ReferenceQueue<>();
+
+    ROMImages() {}
+
+    /**
+     * Get the registry shared by the whole process.
+     *
+     * @return the shared registry
+     */
+    public static ROMImages shared()
+    {
+        return SHARED;
+    }
+
+    public int getImageCount()
+    {
+        purge();
+        return images.size();
+    }
+
+    /**
+     * Get the contents of a binary image file. The file is mapped only long enough to hash it and, if its contents
+     * have not been seen before, to copy them off the heap.
+     *
+     * @param image the binary image file
+     * @return read-only contents shared with every other image of the same bytes
+     * @throws IOException if the file cannot be read
+     */
+    MemorySegment map(Path image) throws IOException
+    {
+        try (var arena = Arena.ofConfined();
+             var channel = FileChannel.open(image, StandardOpenOption.READ)) {
+            MemorySegment mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            MemorySegment existing = find(hash(mapped));
+            if (existing != null) {
+                return existing;
+            }
+
+            // the copy is hashed again, as the file may have changed while it was being read
+            return intern(Arena.ofAuto().allocate(mapped.byteSize()).copyFrom(mapped));
+        }
+    }
+
+    /**
+     * Get the contents of the given bytes, copying them only if they have not been seen before.
+     *
+     * @param bytes the contents
+     * @return read-only contents shared with every other image of the same bytes
+     */
+    MemorySegment intern(byte[] bytes)
+    {
+        MemorySegment existing = find(hash(MemorySegment.ofArray(bytes)));
+        return existing != null ? existing : intern(MemorySegment.ofArray(bytes.clone()));
+    }
+
+    private @Nullable MemorySegment find(String hash)
+    {
+        Entry entry = images.get(hash);
+        return entry == null ? null : entry.get();
+    }
+
+    private MemorySegment intern(MemorySegment data)
+    {
+        purge();
+
+        MemorySegment readOnly = data.asReadOnly();
+        String hash = hash(readOnly);
+        var candidate = new Entry(hash, readOnly, released);
+
+        while (true) {
+            Entry entry = images.putIfAbsent(hash, candidate);
+            if (entry == null) {
+                return readOnly;
+            }
+
+            MemorySegment existing = entry.get();
+            if (existing != null) {
+                return existing;
+            }
+
+            // the image was released after its entry was made, so take its place
+            if (images.replace(hash, entry, candidate)) {
+                return readOnly;
+            }
+        }
+    }
+
+    private void purge()
+    {
+        for (var entry = (Entry) released.poll(); entry != null; entry = (Entry) released.poll()) {
+            images.remove(entry.hash, entry);
+        }
+    }
+
+    private static String hash(MemorySegment data)
+    {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            digest.update(data.asByteBuffer());
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Entry extends WeakReference<MemorySegment>
+    {
+        private final String hash;
+
+        Entry(String hash, MemorySegment image, ReferenceQueue<MemorySegment> queue)
+        {
+            super(image, queue);
+            this.hash = hash;
+        }
+    }
+}
@@ -36,6 +36,19 @@ public abstract class Segment implements Addressable
         this.end = end;
     }
 
+    /**
+     * Create an independent copy of this segment for a {@link MemoryMap#fork() forked memory map}. Writes to the copy
+     * must not be visible through this segment and vice versa. Segments that can be copied cheaply override this; the
+     * default refuses, since a segment with state outside of memory, such as a device, cannot simply be duplicated.
+     *
+     * @return the copy
+     * @throws UnsupportedOperationException if this type of segment cannot be forked
+     */
+    public Segment fork()
+    {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " segments cannot be forked");
+    }
+
     public boolean contains(Address address)
     {
         return address.compareTo(start) >= 0 && address.compareTo(end) <= 0;
@@ -47,4 +60,22 @@ public abstract class Segment implements Addressable
             throw new IllegalArgumentException("Address " + address + " is outside the bounds of this segment");
         }
     }
+
+    /**
+     * Get the position of an address relative to the start of this segment, checking the bounds with plain integer
+     * comparisons.
+     *
+     * @param address the address to locate
+     * @return the offset from the start of this segment
+     * @throws IllegalArgumentException if the address is outside the bounds of this segment
+     */
+    protected int offset(Address address)
+    {
+        int offset = address.toUnsignedInt() - start.toUnsignedInt();
+        if (offset < 0 || offset > end.toUnsignedInt() - start.toUnsignedInt()) {
+            throw new IllegalArgumentException("Address " + address + " is outside the bounds of this segment");
+        }
+
+        return offset;
+    }
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright © 2025-2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cli.memory;
+
+import lombok.RequiredArgsConstructor;
+import org.syphr.emulator.common.Value;
+import org.syphr.emulator.via.RegisterSelector;
+import org.syphr.emulator.via.VIA;
+
+/**
+ * Places a W65C22 {@link VIA} on the bus, selecting its sixteen registers with the four low address bits.
+ */
+@RequiredArgsConstructor
+public class VIADevice implements Device
+{
+    private static final int REGISTER_COUNT = 16;
+
+    private final VIA via;
+
+    @Override
+    public int getRegisterCount()
+    {
+        return REGISTER_COUNT;
+    }
+
+    @Override
+    public Value read(int register)
+    {
+        return via.read(RegisterSelector.of(register));
+    }
+
+    @Override
+    public void write(int register, Value value)
+    {
+        via.write(RegisterSelector.of(register), value);
+    }
+}
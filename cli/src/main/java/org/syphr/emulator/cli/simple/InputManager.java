@@ -21,6 +21,7 @@ import org.jline.terminal.Attributes;
 import org.jline.terminal.Terminal;
 import org.jline.utils.InfoCmp;
 import org.syphr.emulator.cli.clock.ClockSignal;
+import org.syphr.emulator.cpu.CPU;
 
 import java.io.IOError;
 import java.time.Duration;
@@ -31,6 +32,7 @@ public class InputManager implements Runnable
 {
     private final ClockSignal clockSignal;
     private final Interrupter interrupter;
+    private final CPU cpu;
 
     private final Terminal terminal;
     private final Attributes saveTermAttributes;
@@ -38,10 +40,11 @@ public class InputManager implements Runnable
     private final BindingReader bindingReader;
     private final KeyMap<Action> keyMap;
 
-    public InputManager(Terminal terminal, ClockSignal clockSignal, Interrupter interrupter)
+    public InputManager(Terminal terminal, ClockSignal clockSignal, Interrupter interrupter, CPU cpu)
     {
         this.clockSignal = clockSignal;
         this.interrupter = interrupter;
+        this.cpu = cpu;
 
         this.terminal = terminal;
         saveTermAttributes = terminal.enterRawMode();
@@ -61,6 +64,9 @@ public class InputManager implements Runnable
         keyMap.bind(Action.RESET, "r");
         keyMap.bind(Action.IRQ, "i");
         keyMap.bind(Action.NMI, "n");
+
+        // Diagnostics
+        keyMap.bind(Action.TOGGLE_TRACING, "t");
     }
 
     @Override
@@ -82,6 +88,9 @@ public class InputManager implements Runnable
                     case IRQ -> interrupter.irq();
                     case NMI -> interrupter.nmi();
 
+                    // Diagnostics
+                    case TOGGLE_TRACING -> cpu.setTracing(!cpu.isTracing());
+
                     // No event
                     case null -> {}
                 }
@@ -104,6 +113,9 @@ public class InputManager implements Runnable
         TOGGLE_STEPPING, STEP, INCREASE_FREQUENCY, DECREASE_FREQUENCY,
 
         // Interrupts
-        RESET, IRQ, NMI
+        RESET, IRQ, NMI,
+
+        // Diagnostics
+        TOGGLE_TRACING
     }
 }
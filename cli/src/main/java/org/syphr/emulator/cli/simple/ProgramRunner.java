@@ -19,17 +19,23 @@ import org.jline.terminal.Terminal;
 import org.jspecify.annotations.Nullable;
 import org.syphr.emulator.cli.clock.ClockPeriod;
 import org.syphr.emulator.cli.clock.ClockSignal;
+import org.syphr.emulator.cli.memory.BankedROM;
 import org.syphr.emulator.cli.memory.MemoryMap;
+import org.syphr.emulator.cli.memory.Segment;
 import org.syphr.emulator.cpu.Address;
 import org.syphr.emulator.cpu.Breakpoint;
 import org.syphr.emulator.cpu.BreakpointListener;
 import org.syphr.emulator.cpu.CPU;
+import org.syphr.emulator.cpu.ClockCycleListener;
+import org.syphr.emulator.cpu.OperationListener;
+import org.syphr.emulator.cpu.TraceWriter;
 
 import java.util.List;
 
 public class ProgramRunner
 {
     private final CPU cpu;
+    private final boolean fuse;
 
     private final Thread clockThread;
     private final Thread inputThread;
@@ -39,25 +45,53 @@ public class ProgramRunner
                          MemoryMap memoryMap,
                          ClockPeriod clockPeriod,
                          boolean stepping,
+                         boolean turbo,
+                         boolean quiet,
+                         boolean fuse,
                          List<Breakpoint> breakpoints,
-                         @Nullable Address executionStart)
+                         @Nullable Address executionStart,
+                         @Nullable TraceWriter trace)
     {
         cpu = CPU.builder()
                  .addressable(memoryMap)
                  .start(executionStart)
                  .breakpoints(breakpoints)
+                 .freeRunning(turbo)
+                 .tracing(!quiet)
+                 .fuseInstructions(fuse)
                  .build();
+        this.fuse = fuse;
+
+        // a bank switch replaces the contents of its window, so instructions cached from the old bank must be dropped
+        // and the whole window counts as written
+        for (Segment segment : memoryMap.segments()) {
+            if (segment instanceof BankedROM banked) {
+                banked.onSelect(() -> {
+                    cpu.invalidateCode(banked.getStart(), banked.getEnd());
+                    memoryMap.markDirty(banked.getStart(), banked.getEnd());
+                });
+            }
+        }
+
+        if (trace != null) {
+            cpu.addListener((ClockCycleListener) trace);
+            cpu.addListener((OperationListener) trace);
+        }
         if (executionStart == null) {
             cpu.reset();
         }
         cpuThread = new Thread(cpu, "CPU");
 
-        var clockSignal = new ClockSignal(clockPeriod.duration(), stepping);
+        // a free-running CPU ignores the clock signal, so keep it idle until a breakpoint hands control back to it
+        var clockSignal = new ClockSignal(clockPeriod.duration(), stepping || turbo);
         clockSignal.addListener(cpu);
-        cpu.addListener((BreakpointListener) _ -> clockSignal.pause());
+        cpu.addListener((BreakpointListener) _ -> {
+            clockSignal.pause();
+            cpu.setFreeRunning(false);
+        });
         clockThread = new Thread(clockSignal, "Clock");
 
-        var inputManager = new InputManager(terminal, clockSignal, new Interrupter(cpu));
+        var inputManager = new InputManager(terminal, clockSignal, new Interrupter(cpu), cpu);
         inputThread = new Thread(inputManager, "Input");
     }
 
@@ -70,6 +104,7 @@ public class ProgramRunner
             inputThread.start();
 
             cpuThread.join();
+            cpu.awaitEventDelivery();
         } catch (InterruptedException e) {
             // exit gracefully
         } finally {
@@ -77,6 +112,9 @@ public class ProgramRunner
             clockThread.interrupt();
             cpuThread.interrupt();
             System.out.println("CPU final state: " + cpu.getState());
+            if (fuse) {
+                System.out.println("Fused instructions: " + cpu.getFusionReport());
+            }
         }
     }
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cli.clock;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.syphr.emulator.common.clock.ClockEvent;
+import org.syphr.emulator.common.clock.ClockListener;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClockSignalTest
+{
+    @ParameterizedTest
+    @CsvSource({"1000,1000000,1000",
+                "1000000,1000000,1",
+                "500000000,1000000,1",
+                "3000,1000000,333",
+                "0,1000,1000",
+                "1,1000000000000000,2147483647"})
+    void cyclesPerBurst_Period_FillsBurst(long periodNanos, long burstNanos, int expected)
+    {
+        // when
+        int result = ClockSignal.cyclesPerBurst(Duration.ofNanos(periodNanos), Duration.ofNanos(burstNanos));
+
+        // then
+        assertThat(result).isEqualTo(expected);
+    }
+
+    @Test
+    void pause_MidBurst_RevokesRestOfBurst() throws InterruptedException
+    {
+        // given
+        var started = new CountDownLatch(1);
+        var revoked = new CountDownLatch(1);
+        var signal = new ClockSignal(Duration.ofMillis(1), Duration.ofSeconds(10), false);
+        signal.addListener(new ClockListener()
+        {
+            @Override
+            public void cycleStarted(ClockEvent event)
+            {
+                started.countDown();
+            }
+
+            @Override
+            public void cycleEnded(ClockEvent event)
+            {
+                // nop
+            }
+
+            @Override
+            public void cyclesRevoked()
+            {
+                revoked.countDown();
+            }
+        });
+        Thread thread = Thread.ofPlatform().daemon().start(signal);
+
+        try {
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // when
+            signal.pause();
+
+            // then
+            assertThat(revoked.await(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            thread.interrupt();
+        }
+    }
+}
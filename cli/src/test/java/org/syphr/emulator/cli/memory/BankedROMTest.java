@@ -0,0 +1,213 @@
+/*
+ * Copyright © 2025-2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cli.memory;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.syphr.emulator.common.Value;
+import org.syphr.emulator.cpu.Address;
+import org.syphr.emulator.cpu.CPU;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class BankedROMTest
+{
+    @TempDir
+    Path dir;
+
+    @Test
+    void map_ImageLargerThanWindow_StartsOnBankZero() throws IOException
+    {
+        // given
+        Path image = writeImage(4, 0x100);
+
+        // when
+        BankedROM rom = BankedROM.map(Address.of(0x8000), Address.of(0x80FF), image);
+
+        // then
+        assertAll(() -> assertThat(rom.getBankCount()).isEqualTo(4),
+                  () -> assertThat(rom.getSelectedBank()).isZero(),
+                  () -> assertThat(rom.read(Address.of(0x8000))).isEqualTo(Value.of(0x00)));
+    }
+
+    @Test
+    void write_Selector_SwapsVisibleBank() throws IOException
+    {
+        // given
+        Path image = writeImage(4, 0x100);
+        BankedROM rom = BankedROM.map(Address.of(0x8000), Address.of(0x80FF), image);
+        var map = new MemoryMap(List.of(new RAM(Address.MIN, Address.MAX))).attach(rom)
+                                                                            .attach(rom.selector(Address.of(0x7000)));
+
+        // when
+        map.write(Address.of(0x7000), Value.of(2));
+
+        // then
+        assertAll(() -> assertThat(map.read(Address.of(0x7000))).isEqualTo(Value.of(2)),
+                  () -> assertThat(map.read(Address.of(0x8000))).isEqualTo(Value.of(0x20)),
+                  () -> assertThat(map.read(Address.of(0x80FF))).isEqualTo(Value.of(0x2F)));
+    }
+
+    @Test
+    void select_BeyondBankCount_Wraps() throws IOException
+    {
+        // given
+        Path image = writeImage(4, 0x100);
+        BankedROM rom = BankedROM.map(Address.of(0x8000), Address.of(0x80FF), image);
+
+        // when
+        rom.select(5);
+
+        // then
+        assertThat(rom.getSelectedBank()).isEqualTo(1);
+    }
+
+    @Test
+    void select_DifferentBank_RunsSelectAction() throws IOException
+    {
+        // given
+        Path image = writeImage(4, 0x100);
+        BankedROM rom = BankedROM.map(Address.of(0x8000), Address.of(0x80FF), image);
+        var selections = new AtomicInteger();
+        rom.onSelect(selections::incrementAndGet);
+
+        // when
+        rom.select(0);
+        rom.select(2);
+        rom.select(2);
+
+        // then
+        assertThat(selections).hasValue(1);
+    }
+
+    @Test
+    void write_SelectorInMemoryMap_MarksWindowDirty() throws IOException
+    {
+        // given
+        Path image = writeImage(2, 0x200);
+        BankedROM rom = BankedROM.map(Address.of(0x8000), Address.of(0x81FF), image);
+        var map = new MemoryMap(List.of(new RAM(Address.MIN, Address.MAX))).attach(rom)
+                                                                            .attach(rom.selector(Address.of(0x9000)));
+        rom.onSelect(() -> map.markDirty(rom.getStart(), rom.getEnd()));
+        map.fetchDirtyPages();
+
+        // when
+        map.write(Address.of(0x9000), Value.of(1));
+
+        // then
+        assertAll(() -> assertThat(map.fetchDirtyPages().stream()).containsExactly(0x80, 0x81, 0x90),
+                  () -> assertThat(map.read(Address.of(0x8000))).isEqualTo(Value.of(0x10)));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"true, false, false", "false, true, false", "false, false, true"})
+    void write_SelectorUnderCachedLoop_RunsNewBank(boolean instructionCache,
+                                                   boolean compileHotBlocks,
+                                                   boolean fuseInstructions) throws IOException
+    {
+        // given
+        var banks = new byte[0x200];
+        // bank 0 loops 1024 times storing 1, enough to compile the loop, then selects bank 1 and jumps back
+        System.arraycopy(new byte[] {
+                (byte) 0xA9, 0x01,             // LDA #$01
+                (byte) 0x8D, 0x00, 0x02,       // STA $0200
+                (byte) 0xCA,                   // DEX
+                (byte) 0xD0, (byte) 0xF8,      // BNE $8000
+                (byte) 0x88,                   // DEY
+                (byte) 0xD0, (byte) 0xF5,      // BNE $8000
+                (byte) 0xA9, 0x01,             // LDA #$01
+                (byte) 0x8D, 0x00, (byte) 0x90, // STA $9000
+                0x4C, 0x00, (byte) 0x80        // JMP $8000
+        }, 0, banks, 0, 19);
+        // bank 1 picks up after the select with the same jump, then runs the loop once storing 2 and stops
+        System.arraycopy(new byte[] {
+                (byte) 0xA9, 0x02,             // LDA #$02
+                (byte) 0x8D, 0x00, 0x02,       // STA $0200
+                (byte) 0xCA,                   // DEX
+                (byte) 0xD0, (byte) 0xF8,      // BNE $8000
+                (byte) 0xDB                    // STP
+        }, 0, banks, 0x100, 9);
+        System.arraycopy(new byte[] {
+                0x4C, 0x00, (byte) 0x80        // JMP $8000
+        }, 0, banks, 0x110, 3);
+        Path image = Files.write(dir.resolve("banks.bin"), banks);
+
+        BankedROM rom = BankedROM.map(Address.of(0x8000), Address.of(0x80FF), image);
+        var map = new MemoryMap(List.of(new RAM(Address.MIN, Address.MAX))).attach(rom)
+                                                                            .attach(rom.selector(Address.of(0x9000)));
+        map.write(Address.of(0x7000), Value.of(0xA0)); // LDY #$04
+        map.write(Address.of(0x7001), Value.of(0x04));
+        map.write(Address.of(0x7002), Value.of(0x4C)); // JMP $8000
+        map.write(Address.of(0x7003), Value.of(0x00));
+        map.write(Address.of(0x7004), Value.of(0x80));
+
+        CPU cpu = CPU.builder()
+                     .addressable(map)
+                     .start(Address.of(0x7000))
+                     .freeRunning(true)
+                     .tracing(false)
+                     .instructionCache(instructionCache)
+                     .compileHotBlocks(compileHotBlocks)
+                     .fuseInstructions(fuseInstructions)
+                     .build();
+        rom.onSelect(() -> cpu.invalidateCode(rom.getStart(), rom.getEnd()));
+
+        // when
+        // code left over from bank 0 would never reach the STP in bank 1
+        assertTimeoutPreemptively(Duration.ofSeconds(30), cpu::run);
+
+        // then
+        assertAll(() -> assertThat(rom.getSelectedBank()).isEqualTo(1),
+                  () -> assertThat(map.read(Address.of(0x0200))).isEqualTo(Value.of(0x02)),
+                  () -> assertThat(cpu.getState().accumulator()).isEqualTo(Value.of(0x02)));
+    }
+
+    @Test
+    void map_ImageNotMultipleOfWindow_Throws() throws IOException
+    {
+        // given
+        Path image = Files.write(dir.resolve("banks.bin"), new byte[0x180]);
+
+        // when / then
+        assertThatThrownBy(() -> BankedROM.map(Address.of(0x8000), Address.of(0x80FF), image))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("not a multiple of the bank window size");
+    }
+
+    // the first byte of each bank holds the bank number in its high nibble and the last byte adds 0xF to that
+    private Path writeImage(int bankCount, int bankSize) throws IOException
+    {
+        var bytes = new byte[bankCount * bankSize];
+        for (int bank = 0; bank < bankCount; bank++) {
+            bytes[bank * bankSize] = (byte) (bank << 4);
+            bytes[(bank + 1) * bankSize - 1] = (byte) (bank << 4 | 0x0F);
+        }
+
+        return Files.write(dir.resolve("banks.bin"), bytes);
+    }
+}
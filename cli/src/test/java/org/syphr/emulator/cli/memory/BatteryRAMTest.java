@@ -0,0 +1,75 @@
+/*
+ * Copyright © 2025-2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cli.memory;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.syphr.emulator.common.Value;
+import org.syphr.emulator.cpu.Address;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class BatteryRAMTest
+{
+    @TempDir
+    Path dir;
+
+    @Test
+    void open_NewFile_CreatesZeroFilledFile() throws IOException
+    {
+        // given
+        Path file = dir.resolve("sram.bin");
+
+        // when
+        Value result;
+        try (var ram = BatteryRAM.open(Address.of(0x6000), Address.of(0x60FF), file)) {
+            result = ram.read(Address.of(0x6080));
+        }
+
+        // then
+        assertAll(() -> assertThat(result).isEqualTo(Value.ZERO),
+                  () -> assertThat(Files.size(file)).isEqualTo(0x100));
+    }
+
+    @Test
+    void open_PreviouslyWritten_RestoresContents() throws IOException
+    {
+        // given
+        Path file = dir.resolve("sram.bin");
+        try (var ram = BatteryRAM.open(Address.of(0x6000), Address.of(0x60FF), file)) {
+            ram.write(Address.of(0x6000), Value.of(0x12));
+            ram.write(Address.of(0x60FF), Value.of(0x34));
+        }
+
+        // when
+        Value first;
+        Value last;
+        try (var ram = BatteryRAM.open(Address.of(0x6000), Address.of(0x60FF), file)) {
+            first = ram.read(Address.of(0x6000));
+            last = ram.read(Address.of(0x60FF));
+        }
+
+        // then
+        assertAll(() -> assertThat(first).isEqualTo(Value.of(0x12)),
+                  () -> assertThat(last).isEqualTo(Value.of(0x34)),
+                  () -> assertThat(Files.readAllBytes(file)[0xFF]).isEqualTo((byte) 0x34));
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright © 2025-2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cli.memory;
+
+import org.junit.jupiter.api.Test;
+import org.syphr.emulator.common.Value;
+import org.syphr.emulator.cpu.Address;
+import org.syphr.emulator.via.VIA;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class DeviceSegmentTest
+{
+    @Test
+    void write_AddressInRange_SelectsRegisterFromLowBits()
+    {
+        // given
+        var device = new TestDevice(4);
+        var segment = new DeviceSegment(Address.of(0x6000), Address.of(0x6003), device);
+
+        // when
+        segment.write(Address.of(0x6002), Value.of(0x12));
+
+        // then
+        assertAll(() -> assertThat(device.registers[2]).isEqualTo(Value.of(0x12)),
+                  () -> assertThat(segment.read(Address.of(0x6002))).isEqualTo(Value.of(0x12)));
+    }
+
+    @Test
+    void read_RangeLargerThanRegisters_MirrorsRegisters()
+    {
+        // given
+        var device = new TestDevice(4);
+        var segment = new DeviceSegment(Address.of(0x6000), Address.of(0x60FF), device);
+        device.registers[1] = Value.of(0x34);
+
+        // when
+        Value result = segment.read(Address.of(0x6085));
+
+        // then
+        assertThat(result).isEqualTo(Value.of(0x34));
+    }
+
+    @Test
+    void write_RangeNotAligned_SelectsRegisterFromAddressBits()
+    {
+        // given
+        var device = new TestDevice(16);
+        var segment = new DeviceSegment(Address.of(0x6008), Address.of(0x6017), device);
+
+        // when
+        segment.write(Address.of(0x6008), Value.of(0x12));
+        segment.write(Address.of(0x6010), Value.of(0x34));
+
+        // then
+        assertAll(() -> assertThat(device.registers[8]).isEqualTo(Value.of(0x12)),
+                  () -> assertThat(device.registers[0]).isEqualTo(Value.of(0x34)),
+                  () -> assertThat(segment.read(Address.of(0x6017))).isEqualTo(Value.of(0x00)));
+    }
+
+    @Test
+    void constructor_RegisterCountNotPowerOfTwo_Throws()
+    {
+        // given
+        var device = new TestDevice(3);
+
+        // when / then
+        assertThatThrownBy(() -> new DeviceSegment(Address.of(0x6000), Address.of(0x600F), device))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("not a power of two");
+    }
+
+    @Test
+    void constructor_RangeSmallerThanRegisters_Throws()
+    {
+        // given
+        var device = new TestDevice(16);
+
+        // when / then
+        assertThatThrownBy(() -> new DeviceSegment(Address.of(0x6000), Address.of(0x6007), device))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("too small");
+    }
+
+    @Test
+    void attach_VIA_RoutesAccessesToVIA()
+    {
+        // given
+        var map = new MemoryMap(List.of(new RAM(Address.MIN, Address.MAX)));
+
+        // when
+        MemoryMap result = map.attach(Address.of(0x6000), Address.of(0x600F), new VIADevice(new VIA()));
+        result.write(Address.of(0x6003), Value.of(0xFF));
+        result.write(Address.of(0x6010), Value.of(0x12));
+
+        // then
+        assertAll(() -> assertThat(result.read(Address.of(0x6003))).isEqualTo(Value.of(0xFF)),
+                  () -> assertThat(result.read(Address.of(0x6010))).isEqualTo(Value.of(0x12)));
+    }
+
+    private static class TestDevice implements Device
+    {
+        private final Value[] registers;
+
+        private TestDevice(int registerCount)
+        {
+            registers = new Value[registerCount];
+            Arrays.fill(registers, Value.ZERO);
+        }
+
+        @Override
+        public int getRegisterCount()
+        {
+            return registers.length;
+        }
+
+        @Override
+        public Value read(int register)
+        {
+            return registers[register];
+        }
+
+        @Override
+        public void write(int register, Value value)
+        {
+            registers[register] = value;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright © 2025-2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cli.memory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.syphr.emulator.common.Value;
+import org.syphr.emulator.cpu.Address;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare the cost of finding the segment for an address by searching the segment list, as the memory map used to,
+ * with the page table lookup it uses now. This is a JMH benchmark, not part of the test suite; after
+ * {@code mvn test-compile}, run {@link #main(String[])} with the test classpath of this module.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MemoryMapBenchmark
+{
+    // a power of two, so that the index can wrap with a mask
+    private static final int ADDRESS_COUNT = 4096;
+
+    // a typical layout: RAM, a small I/O window sharing a page with RAM, ROM and the vectors
+    private final MemoryMap map = new MemoryMap(List.of(new RAM(Address.of(0x0000), Address.of(0x5FFF)),
+                                                        new RAM(Address.of(0x6000), Address.of(0x600F)),
+                                                        new RAM(Address.of(0x6010), Address.of(0x7FFF)),
+                                                        new ROM(Address.of(0x8000), ones(0x7FFA)),
+                                                        new Vectors(Address.MIN, Address.of(0x8000), Address.MIN)));
+
+    private final Address[] addresses = createAddresses();
+
+    private int next;
+
+    public static void main(String[] args) throws RunnerException
+    {
+        new Runner(new OptionsBuilder().include(MemoryMapBenchmark.class.getName()).build()).run();
+    }
+
+    @Benchmark
+    public Value search()
+    {
+        Address address = nextAddress();
+        return map.segments()
+                  .stream()
+                  .filter(s -> s.contains(address))
+                  .findFirst()
+                  .orElseThrow(() -> new IllegalArgumentException("No memory segment contains address " + address))
+                  .read(address);
+    }
+
+    @Benchmark
+    public Value pageTable()
+    {
+        return map.read(nextAddress());
+    }
+
+    private Address nextAddress()
+    {
+        return addresses[next++ & (ADDRESS_COUNT - 1)];
+    }
+
+    private static Address[] createAddresses()
+    {
+        var addresses = new Address[ADDRESS_COUNT];
+        for (int i = 0; i < addresses.length; i++) {
+            // stride through the whole address space so every segment is hit
+            addresses[i] = Address.of((i * 0x9E37) & 0xFFFF);
+        }
+
+        return addresses;
+    }
+
+    private static List<Value> ones(int count)
+    {
+        return Collections.nCopies(count, Value.of(1));
+    }
+}
@@ -18,12 +18,17 @@ package org.syphr.emulator.cli.memory;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.syphr.emulator.common.Value;
 import org.syphr.emulator.cpu.Address;
+import org.syphr.emulator.via.VIA;
 
+import java.util.BitSet;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
 
 class MemoryMapTest
 {
@@ -135,4 +140,179 @@ class MemoryMapTest
         assertThatThrownBy(() -> new MemoryMap(List.of(s1, s2, s3, s4)))
                 .isInstanceOf(IllegalArgumentException.class);
     }
+
+    @Test
+    void read_SegmentCoversPages_ReadsFromSegment()
+    {
+        // given
+        var ram = new RAM(Address.of(0x0000), Address.of(0x7FFF));
+        var rom = new ROM(Address.of(0x8000), List.of(Value.of(0x12), Value.of(0x34)));
+        var map = new MemoryMap(List.of(ram, rom, new RAM(Address.of(0x8002), Address.MAX)));
+        map.write(Address.of(0x1234), Value.of(0x56));
+
+        // when / then
+        assertAll(() -> assertThat(map.read(Address.of(0x1234))).isEqualTo(Value.of(0x56)),
+                  () -> assertThat(ram.read(Address.of(0x1234))).isEqualTo(Value.of(0x56)),
+                  () -> assertThat(map.read(Address.of(0x8001))).isEqualTo(Value.of(0x34)));
+    }
+
+    @Test
+    void write_SegmentsShareOnePage_WritesToOwningSegment()
+    {
+        // given
+        var s1 = new RAM(Address.of(0x0200), Address.of(0x0207));
+        var s2 = new RAM(Address.of(0x0208), Address.of(0x02FF));
+        var map = new MemoryMap(List.of(s1, s2));
+
+        // when
+        map.write(Address.of(0x0207), Value.of(0x12));
+        map.write(Address.of(0x0208), Value.of(0x34));
+
+        // then
+        assertAll(() -> assertThat(s1.read(Address.of(0x0207))).isEqualTo(Value.of(0x12)),
+                  () -> assertThat(s2.read(Address.of(0x0208))).isEqualTo(Value.of(0x34)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0x0000, 0x01FF, 0x0210, 0xFFFF})
+    void read_NoSegmentContainsAddress_Throws(int address)
+    {
+        // given
+        var map = new MemoryMap(List.of(new RAM(Address.of(0x0200), Address.of(0x020F))));
+
+        // when / then
+        assertThatThrownBy(() -> map.read(Address.of(address)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("No memory segment contains address");
+    }
+
+    @Test
+    void attach_InsideRAM_SplitsRAMAndKeepsContents()
+    {
+        // given
+        var map = new MemoryMap(List.of(new RAM(Address.MIN, Address.MAX)));
+        map.write(Address.of(0x1000), Value.of(0x12));
+        map.write(Address.of(0x9000), Value.of(0x34));
+        var rom = new ROM(Address.of(0x6000), List.of(Value.of(0x56)));
+
+        // when
+        MemoryMap result = map.attach(rom);
+
+        // then
+        assertAll(() -> assertThat(result.segments()).hasSize(3).contains(rom),
+                  () -> assertThat(result.read(Address.of(0x1000))).isEqualTo(Value.of(0x12)),
+                  () -> assertThat(result.read(Address.of(0x6000))).isEqualTo(Value.of(0x56)),
+                  () -> assertThat(result.read(Address.of(0x9000))).isEqualTo(Value.of(0x34)));
+    }
+
+    @Test
+    void attach_OverlapsROM_Throws()
+    {
+        // given
+        var map = new MemoryMap(List.of(new RAM(Address.MIN, Address.of(0x7FFF)),
+                                        new ROM(Address.of(0x8000), List.of(Value.of(0x12)))));
+        var ram = new RAM(Address.of(0x7F00), Address.of(0x80FF));
+
+        // when / then
+        assertThatThrownBy(() -> map.attach(ram))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("overlaps non-RAM segment");
+    }
+
+    @Test
+    void fetchDirtyPages_AfterWrites_ReturnsWrittenPages()
+    {
+        // given
+        var map = new MemoryMap(List.of(new RAM(Address.MIN, Address.MAX)));
+        map.write(Address.of(0x0000), Value.of(0x12));
+        map.write(Address.of(0x00FF), Value.of(0x12));
+        map.write(Address.of(0x4100), Value.of(0x12));
+        map.write(Address.MAX, Value.of(0x12));
+        map.read(Address.of(0x8000));
+
+        // when
+        BitSet result = map.fetchDirtyPages();
+
+        // then
+        assertThat(result.stream()).containsExactly(0x00, 0x41, 0xFF);
+    }
+
+    @Test
+    void fetchDirtyPages_CalledTwice_ClearsPages()
+    {
+        // given
+        var map = new MemoryMap(List.of(new RAM(Address.MIN, Address.MAX)));
+        map.write(Address.of(0x1234), Value.of(0x12));
+        map.fetchDirtyPages();
+
+        // when
+        BitSet result = map.fetchDirtyPages();
+
+        // then
+        assertThat(result.isEmpty()).isTrue();
+    }
+
+    @Test
+    void fetchDirtyPages_WritingConcurrently_NoWriteLost() throws InterruptedException
+    {
+        // given
+        var map = new MemoryMap(List.of(new RAM(Address.MIN, Address.MAX)));
+        var copy = new byte[0x10000];
+        var done = new AtomicBoolean();
+        var writer = new Thread(() -> {
+            for (int i = 0; i < 1_000_000; i++) {
+                map.write(Address.of(0x1200 + (i & 0x3FF)), Value.of(i >>> 10));
+            }
+            done.set(true);
+        });
+
+        // when
+        writer.start();
+        boolean finished;
+        do {
+            // only look at the flag before fetching, so that the last pass sees every write
+            finished = done.get();
+            map.fetchDirtyPages().stream().forEach(page -> {
+                for (int address = page * MemoryMap.PAGE_SIZE; address < (page + 1) * MemoryMap.PAGE_SIZE; address++) {
+                    copy[address] = map.read(Address.of(address)).data();
+                }
+            });
+        } while (!finished);
+        writer.join();
+
+        // then
+        for (int address = 0x1200; address < 0x1600; address++) {
+            assertThat(copy[address]).as("copy of %04X", address).isEqualTo(map.read(Address.of(address)).data());
+        }
+    }
+
+    @Test
+    void fork_ChildWrites_ParentUnchanged()
+    {
+        // given
+        var rom = new ROM(Address.of(0x8000), List.of(Value.of(0x12)));
+        var parent = new MemoryMap(List.of(new RAM(Address.MIN, Address.of(0x7FFF)), rom));
+        parent.write(Address.of(0x0010), Value.of(0x34));
+
+        // when
+        MemoryMap child = parent.fork();
+        child.write(Address.of(0x0010), Value.of(0x56));
+
+        // then
+        assertAll(() -> assertThat(parent.read(Address.of(0x0010))).isEqualTo(Value.of(0x34)),
+                  () -> assertThat(child.read(Address.of(0x0010))).isEqualTo(Value.of(0x56)),
+                  () -> assertThat(child.segments()).contains(rom));
+    }
+
+    @Test
+    void fork_ContainsDevice_Throws()
+    {
+        // given
+        var map = new MemoryMap(List.of(new RAM(Address.MIN, Address.MAX)))
+                .attach(Address.of(0x6000), Address.of(0x600F), new VIADevice(new VIA()));
+
+        // when / then
+        assertThatThrownBy(map::fork).isInstanceOf(UnsupportedOperationException.class)
+                                     .hasMessageContaining("DeviceSegment");
+    }
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright © 2025-2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cli.memory;
+
+import org.junit.jupiter.api.Test;
+import org.syphr.emulator.common.Value;
+import org.syphr.emulator.cpu.Address;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class RAMTest
+{
+    @Test
+    void read_NeverWritten_ReturnsZero()
+    {
+        // given
+        var ram = new RAM(Address.of(0x0200), Address.of(0x02FF));
+
+        // when
+        Value result = ram.read(Address.of(0x0280));
+
+        // then
+        assertThat(result).isEqualTo(Value.ZERO);
+    }
+
+    @Test
+    void read_AfterWrite_ReturnsValue()
+    {
+        // given
+        var ram = new RAM(Address.of(0x0200), Address.of(0x02FF));
+
+        // when
+        ram.write(Address.of(0x0200), Value.of(0x12));
+        ram.write(Address.of(0x02FF), Value.of(0x34));
+
+        // then
+        assertAll(() -> assertThat(ram.read(Address.of(0x0200))).isEqualTo(Value.of(0x12)),
+                  () -> assertThat(ram.read(Address.of(0x02FF))).isEqualTo(Value.of(0x34)));
+    }
+
+    @Test
+    void constructor_InitialValues_ReadBack()
+    {
+        // given
+        var values = List.of(Value.of(0x12), Value.of(0x34));
+        var bytes = new byte[] {0x56, 0x78};
+
+        // when
+        var fromValues = new RAM(Address.of(0x1000), values);
+        var fromBytes = new RAM(Address.of(0x2000), bytes);
+
+        // then
+        assertAll(() -> assertThat(fromValues.getEnd()).isEqualTo(Address.of(0x1001)),
+                  () -> assertThat(fromValues.read(Address.of(0x1001))).isEqualTo(Value.of(0x34)),
+                  () -> assertThat(fromBytes.getEnd()).isEqualTo(Address.of(0x2001)),
+                  () -> assertThat(fromBytes.read(Address.of(0x2000))).isEqualTo(Value.of(0x56)));
+    }
+
+    @Test
+    void constructor_FullAddressSpace_CoversEveryAddress()
+    {
+        // given
+        var ram = new RAM(Address.MIN, Address.MAX);
+
+        // when
+        ram.write(Address.MAX, Value.of(0x12));
+
+        // then
+        assertThat(ram.read(Address.MAX)).isEqualTo(Value.of(0x12));
+    }
+
+    @Test
+    void write_OutsideBounds_Throws()
+    {
+        // given
+        var ram = new RAM(Address.of(0x0200), Address.of(0x02FF));
+
+        // when / then
+        assertThatThrownBy(() -> ram.write(Address.of(0x0300), Value.of(0x12)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Address 0x0300 is outside the bounds of this segment");
+    }
+
+    @Test
+    void fork_WritesAfterFork_StayIndependent()
+    {
+        // given
+        var parent = new RAM(Address.of(0x0200), Address.of(0x04FF));
+        parent.write(Address.of(0x0200), Value.of(0x12));
+        parent.write(Address.of(0x0300), Value.of(0x34));
+
+        // when
+        RAM child = parent.fork();
+        child.write(Address.of(0x0200), Value.of(0x56));
+        parent.write(Address.of(0x0300), Value.of(0x78));
+
+        // then
+        assertAll(() -> assertThat(parent.read(Address.of(0x0200))).isEqualTo(Value.of(0x12)),
+                  () -> assertThat(parent.read(Address.of(0x0300))).isEqualTo(Value.of(0x78)),
+                  () -> assertThat(child.read(Address.of(0x0200))).isEqualTo(Value.of(0x56)),
+                  () -> assertThat(child.read(Address.of(0x0300))).isEqualTo(Value.of(0x34)));
+    }
+
+    @Test
+    void fork_ForkOfFork_StaysIndependent()
+    {
+        // given
+        var parent = new RAM(Address.MIN, Address.MAX);
+        parent.write(Address.of(0x1234), Value.of(0x12));
+        RAM child = parent.fork();
+
+        // when
+        RAM grandchild = child.fork();
+        grandchild.write(Address.of(0x1234), Value.of(0x34));
+        child.write(Address.of(0x1235), Value.of(0x56));
+
+        // then
+        assertAll(() -> assertThat(parent.read(Address.of(0x1234))).isEqualTo(Value.of(0x12)),
+                  () -> assertThat(parent.read(Address.of(0x1235))).isEqualTo(Value.ZERO),
+                  () -> assertThat(child.read(Address.of(0x1234))).isEqualTo(Value.of(0x12)),
+                  () -> assertThat(grandchild.read(Address.of(0x1234))).isEqualTo(Value.of(0x34)),
+                  () -> assertThat(grandchild.read(Address.of(0x1235))).isEqualTo(Value.ZERO));
+    }
+}
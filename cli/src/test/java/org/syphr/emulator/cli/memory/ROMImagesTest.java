@@ -0,0 +1,155 @@
+/*
+ * Copyright © 2025-2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cli.memory;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.syphr.emulator.common.Value;
+import org.syphr.emulator.cpu.Address;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class ROMImagesTest
+{
+    @TempDir
+    Path dir;
+
+    @Test
+    void map_SameContentsInDifferentFiles_SharesImage() throws IOException
+    {
+        // given
+        var images = new ROMImages();
+        Path first = Files.write(dir.resolve("first.bin"), new byte[] {0x12, 0x34});
+        Path second = Files.write(dir.resolve("second.bin"), new byte[] {0x12, 0x34});
+
+        // when
+        MemorySegment result1 = images.map(first);
+        MemorySegment result2 = images.map(second);
+
+        // then
+        assertAll(() -> assertThat(result2).isSameAs(result1),
+                  () -> assertThat(result1.isReadOnly()).isTrue(),
+                  () -> assertThat(images.getImageCount()).isEqualTo(1));
+    }
+
+    @Test
+    void map_DifferentContents_KeepsBothImages() throws IOException
+    {
+        // given
+        var images = new ROMImages();
+        Path first = Files.write(dir.resolve("first.bin"), new byte[] {0x12, 0x34});
+        Path second = Files.write(dir.resolve("second.bin"), new byte[] {0x12, 0x35});
+
+        // when
+        MemorySegment result1 = images.map(first);
+        MemorySegment result2 = images.map(second);
+
+        // then
+        assertAll(() -> assertThat(result2).isNotSameAs(result1),
+                  () -> assertThat(result2.get(ValueLayout.JAVA_BYTE, 1)).isEqualTo((byte) 0x35),
+                  () -> assertThat(images.getImageCount()).isEqualTo(2));
+    }
+
+    @Test
+    void intern_SameContentsAsFile_SharesImage() throws IOException
+    {
+        // given
+        var images = new ROMImages();
+        MemorySegment mapped = images.map(Files.write(dir.resolve("rom.bin"), new byte[] {0x12, 0x34}));
+
+        // when
+        MemorySegment result = images.intern(new byte[] {0x12, 0x34});
+
+        // then
+        assertThat(result).isSameAs(mapped);
+    }
+
+    @Test
+    void intern_BytesChangedAfterward_KeepsOriginalContents()
+    {
+        // given
+        var images = new ROMImages();
+        var bytes = new byte[] {0x12, 0x34};
+
+        // when
+        MemorySegment result = images.intern(bytes);
+        bytes[0] = 0x56;
+
+        // then
+        assertThat(result.get(ValueLayout.JAVA_BYTE, 0)).isEqualTo((byte) 0x12);
+    }
+
+    @Test
+    void map_FileChangedAfterward_KeepsOriginalContents() throws IOException
+    {
+        // given
+        var images = new ROMImages();
+        Path file = Files.write(dir.resolve("rom.bin"), new byte[] {0x12, 0x34});
+        MemorySegment original = images.map(file);
+
+        // when
+        Files.write(file, new byte[] {0x56, 0x78});
+        MemorySegment changed = images.map(file);
+
+        // then
+        assertAll(() -> assertThat(original.get(ValueLayout.JAVA_BYTE, 0)).isEqualTo((byte) 0x12),
+                  () -> assertThat(changed.get(ValueLayout.JAVA_BYTE, 0)).isEqualTo((byte) 0x56),
+                  () -> assertThat(images.intern(new byte[] {0x12, 0x34})).isSameAs(original));
+    }
+
+    @Test
+    void intern_ImageNoLongerUsed_IsReleased() throws InterruptedException
+    {
+        // given
+        var images = new ROMImages();
+        images.intern(new byte[] {0x12, 0x34});
+
+        // when
+        for (int i = 0; i < 100 && images.getImageCount() > 0; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        // then
+        assertThat(images.getImageCount()).isZero();
+    }
+
+    @Test
+    void shared_RomsWithSameValues_ReadSameImage()
+    {
+        // given
+        List<Value> values = List.of(Value.of(0x4C), Value.of(0x00), Value.of(0x80), Value.of(0xEA));
+        var rom1 = new ROM(Address.of(0x8000), values);
+        var rom2 = new ROM(Address.of(0xC000), values);
+
+        // when
+        int count = ROMImages.shared().getImageCount();
+        new ROM(Address.of(0xF000), values);
+
+        // then
+        // images from other tests may be released in the meantime, but this one must not add to them
+        assertAll(() -> assertThat(ROMImages.shared().getImageCount()).isLessThanOrEqualTo(count),
+                  () -> assertThat(rom2.read(Address.of(0xC003))).isEqualTo(rom1.read(Address.of(0x8003))));
+    }
+}
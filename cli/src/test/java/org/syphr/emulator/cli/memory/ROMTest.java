@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2025-2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cli.memory;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.syphr.emulator.common.Value;
+import org.syphr.emulator.cpu.Address;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class ROMTest
+{
+    @TempDir
+    Path dir;
+
+    @Test
+    void map_ImageFile_ReadsFileContents() throws IOException
+    {
+        // given
+        Path image = Files.write(dir.resolve("rom.bin"), new byte[] {0x12, 0x34, (byte) 0xFF});
+
+        // when
+        ROM rom = ROM.map(Address.of(0x8000), image);
+
+        // then
+        assertAll(() -> assertThat(rom.getEnd()).isEqualTo(Address.of(0x8002)),
+                  () -> assertThat(rom.read(Address.of(0x8000))).isEqualTo(Value.of(0x12)),
+                  () -> assertThat(rom.read(Address.of(0x8002))).isEqualTo(Value.of(0xFF)));
+    }
+
+    @Test
+    void read_ValuesGiven_ReadsValues()
+    {
+        // given
+        var rom = new ROM(Address.of(0xFFFE), List.of(Value.of(0x12), Value.of(0x34)));
+
+        // when
+        Value result = rom.read(Address.MAX);
+
+        // then
+        assertThat(result).isEqualTo(Value.of(0x34));
+    }
+
+    @Test
+    void write_AnyAddress_Throws()
+    {
+        // given
+        var rom = new ROM(Address.of(0x8000), List.of(Value.of(0x12)));
+
+        // when / then
+        assertThatThrownBy(() -> rom.write(Address.of(0x8000), Value.of(0x34)))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void read_OutsideBounds_Throws()
+    {
+        // given
+        var rom = new ROM(Address.of(0x8000), List.of(Value.of(0x12)));
+
+        // when / then
+        assertThatThrownBy(() -> rom.read(Address.of(0x8001))).isInstanceOf(IllegalArgumentException.class);
+    }
+}
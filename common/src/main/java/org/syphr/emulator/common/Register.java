@@ -19,7 +19,7 @@ import lombok.EqualsAndHashCode;
 import lombok.ToString;
 
 @ToString(onlyExplicitlyIncluded = true)
-@EqualsAndHashCode
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Register
 {
     @ToString.Include
@@ -37,6 +37,8 @@ public class Register
         this.value = value;
     }
 
+    // compared through the accessor so that subclasses keeping the value elsewhere are compared by what they hold
+    @EqualsAndHashCode.Include
     public Value value()
     {
         return value;
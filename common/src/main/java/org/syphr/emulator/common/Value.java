@@ -17,26 +17,35 @@ package org.syphr.emulator.common;
 
 public record Value(byte data)
 {
+    // every possible value is created up front so that the factory methods never allocate
+    private static final Value[] VALUES = new Value[256];
+
+    static {
+        for (int i = 0; i < VALUES.length; i++) {
+            VALUES[i] = new Value((byte) i);
+        }
+    }
+
     public static Value ZERO = Value.of(0);
 
     public static Value of(byte b)
     {
-        return new Value(b);
+        return VALUES[Byte.toUnsignedInt(b)];
     }
 
     public static Value of(int i)
     {
-        return new Value((byte) i);
+        return VALUES[i & 0xFF];
     }
 
     public static Value ofHex(String hex)
     {
-        return new Value((byte) Integer.parseInt(hex, 16));
+        return Value.of(Integer.parseInt(hex, 16));
     }
 
     public static Value ofBits(String bits)
     {
-        return new Value((byte) Integer.parseInt(bits, 2));
+        return Value.of(Integer.parseInt(bits, 2));
     }
 
     public Value and(Value other)
@@ -15,4 +15,24 @@
  */
 package org.syphr.emulator.common.clock;
 
-public record ClockEvent(long cycle) {}
+/**
+ * Notification of clock cycles starting or ending. A generator may batch consecutive cycles into a single event so that
+ * listeners do not need to be woken up for every cycle.
+ *
+ * @param cycle  the number of the first cycle covered by this event
+ * @param cycles the number of consecutive cycles covered by this event
+ */
+public record ClockEvent(long cycle, int cycles)
+{
+    public ClockEvent(long cycle)
+    {
+        this(cycle, 1);
+    }
+
+    public ClockEvent
+    {
+        if (cycles < 1) {
+            throw new IllegalArgumentException("A clock event must cover at least one cycle");
+        }
+    }
+}
@@ -22,4 +22,14 @@ public interface ClockListener extends EventListener
     void cycleStarted(ClockEvent event);
 
     void cycleEnded(ClockEvent event);
+
+    /**
+     * Take back any cycles granted by earlier events that have not started yet. A generator calls this when it switches
+     * to single stepping, so that a listener still working through a burst stops at the next cycle boundary instead of
+     * running out the rest of the burst.
+     */
+    default void cyclesRevoked()
+    {
+        // nop
+    }
 }
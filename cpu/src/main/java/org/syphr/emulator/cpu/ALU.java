@@ -16,51 +16,42 @@
 package org.syphr.emulator.cpu;
 
 import lombok.RequiredArgsConstructor;
-import org.syphr.emulator.common.Register;
-import org.syphr.emulator.common.Value;
 
-import java.util.function.Consumer;
-import java.util.function.Function;
+import static org.syphr.emulator.cpu.Registers.*;
 
+/**
+ * Arithmetic and logic on unsigned byte values held as {@code int}. Results are returned to the caller to store; the
+ * status flags are updated in the shared {@link Registers}.
+ */
 @RequiredArgsConstructor
 class ALU
 {
-    private final StatusRegister status;
+    private final Registers registers;
 
-    public void addWithCarry(Register register, Value value)
+    public void addWithCarry(int value)
     {
-        if (status.decimal()) {
-            addWithCarryDecimalMode(register, value, status);
+        if (registers.isSet(DECIMAL)) {
+            registers.a = addWithCarryDecimalMode(registers.a, value);
         } else {
-            addWithCarryBinaryMode(register, value, status);
+            registers.a = addWithCarryBinaryMode(registers.a, value);
         }
     }
 
-    private void addWithCarryBinaryMode(Register register, Value value, StatusRegister s)
+    private int addWithCarryBinaryMode(int r, int m)
     {
-        byte r = register.value().data();
-        byte m = value.data();
-        byte c = (byte) (s.carry() ? 0x01 : 0x00);
+        int c = registers.isSet(CARRY) ? 0x01 : 0x00;
 
-        int unsignedResult = Byte.toUnsignedInt(r) + Byte.toUnsignedInt(m) + c;
+        int unsignedResult = r + m + c;
         boolean carry = unsignedResult > 255;
+        boolean overflow = isOverflow((byte) r + (byte) m + c);
 
-        int signedResult = r + m + c;
-        boolean overflow = signedResult > Byte.MAX_VALUE || signedResult < Byte.MIN_VALUE;
-
-        Value result = Value.of(unsignedResult);
-        register.load(result);
-        s.setNegative(result.isNegative()).setOverflow(overflow).setZero(result.isZero()).setCarry(carry);
+        return update(unsignedResult & 0xFF, overflow, carry);
     }
 
-    private void addWithCarryDecimalMode(Register register, Value value, StatusRegister s)
+    private int addWithCarryDecimalMode(int a, int b)
     {
-        byte r = register.value().data();
-        byte m = value.data();
-        byte c = (byte) (s.carry() ? 0x01 : 0x00);
+        int c = registers.isSet(CARRY) ? 0x01 : 0x00;
 
-        int a = Byte.toUnsignedInt(r);
-        int b = Byte.toUnsignedInt(m);
         int al = (a & 0x0F) + (b & 0x0F) + c;
         al = al >= 0x0A ? ((al + 0x06) & 0x0F) + 0x10 : al;
 
@@ -68,163 +59,119 @@ class ALU
         unsignedResult = unsignedResult >= 0xA0 ? unsignedResult + 0x60 : unsignedResult;
         boolean carry = unsignedResult >= 0x100;
 
-        // calculate overflow flag
-        var acc = Register.with(register.value().and(Value.of(0x0F))); // RLow
-        var mLow = value.and(Value.of(0x0F)); // MLow
-        var tmpStatus = StatusRegister.of(s.flags()); // copy of status
-        addWithCarryBinaryMode(acc, mLow, tmpStatus); // acc = RLow + MLow
-        compare(acc, Value.of(0x0A), tmpStatus); // carry set if acc >= 0A
-        if (tmpStatus.carry()) {
-            acc.load(Value.of((Byte.toUnsignedInt(acc.value().data()) + 0x06) & 0x0F)); // acc += 6 (low bits only)
+        // calculate overflow flag from the binary sums of the adjusted low nibble and the high nibbles
+        int acc = (a & 0x0F) + (b & 0x0F) + c; // RLow + MLow
+        boolean lowCarry = acc >= 0x0A;
+        if (lowCarry) {
+            acc = (acc + 0x06) & 0x0F; // acc += 6 (low bits only)
         }
-        acc.load(acc.value().or(register.value().and(Value.of(0xF0)))); // acc | RHigh
-        if (tmpStatus.carry()) {
-            addWithCarryBinaryMode(acc, Value.of((m & 0xF0) | 0x0F), tmpStatus);
-        } else {
-            addWithCarryBinaryMode(acc, Value.of(m & 0xF0), tmpStatus);
-        }
-        boolean overflow = tmpStatus.overflow();
+        acc |= a & 0xF0; // acc | RHigh
+        int high = lowCarry ? (b & 0xF0) | 0x0F : b & 0xF0;
+        boolean overflow = isOverflow((byte) acc + (byte) high + (lowCarry ? 0x01 : 0x00));
 
-        Value result = Value.of(unsignedResult);
-        register.load(result);
-        s.setNegative(result.isNegative()).setOverflow(overflow).setZero(result.isZero()).setCarry(carry);
+        return update(unsignedResult & 0xFF, overflow, carry);
     }
 
-    public void subtractWithCarry(Register register, Value value)
+    public void subtractWithCarry(int value)
     {
-        if (status.decimal()) {
-            subtractWithCarryDecimalMode(register, value);
+        if (registers.isSet(DECIMAL)) {
+            registers.a = subtractWithCarryDecimalMode(registers.a, value);
         } else {
-            subtractWithCarryBinaryMode(register, value);
+            registers.a = subtractWithCarryBinaryMode(registers.a, value);
         }
     }
 
-    private void subtractWithCarryBinaryMode(Register register, Value value)
+    private int subtractWithCarryBinaryMode(int r, int m)
     {
-        byte r = register.value().data();
-        byte m = value.data();
-        byte c = (byte) (status.carry() ? 0x00 : 0x01);
+        int c = registers.isSet(CARRY) ? 0x00 : 0x01;
 
-        int unsignedResult = Byte.toUnsignedInt(r) - Byte.toUnsignedInt(m) - Byte.toUnsignedInt(c);
+        int unsignedResult = r - m - c;
         boolean carry = unsignedResult >= 0;
+        boolean overflow = isOverflow((byte) r - (byte) m - c);
 
-        int signedResult = r - m - c;
-        boolean overflow = signedResult > Byte.MAX_VALUE || signedResult < Byte.MIN_VALUE;
-
-        Value result = Value.of(unsignedResult);
-        register.load(result);
-        status.setNegative(result.isNegative()).setOverflow(overflow).setZero(result.isZero()).setCarry(carry);
+        return update(unsignedResult & 0xFF, overflow, carry);
     }
 
-    private void subtractWithCarryDecimalMode(Register register, Value value)
+    private int subtractWithCarryDecimalMode(int a, int b)
     {
-        byte r = register.value().data();
-        byte m = value.data();
-        byte c = (byte) (status.carry() ? 0x00 : 0x01);
+        int c = registers.isSet(CARRY) ? 0x00 : 0x01;
 
-        int a = Byte.toUnsignedInt(r);
-        int b = Byte.toUnsignedInt(m);
         int al = (a & 0x0F) - (b & 0x0F) - c;
 
         int unsignedResult = a - b - c;
         unsignedResult = unsignedResult < 0x00 ? unsignedResult - 0x60 : unsignedResult;
         unsignedResult = al < 0x00 ? unsignedResult - 0x06 : unsignedResult;
         boolean carry = (a - b - c) >= 0;
+        boolean overflow = isOverflow((byte) a - (byte) b - c);
 
-        int signedResult = r - m - c;
-        boolean overflow = signedResult > Byte.MAX_VALUE || signedResult < Byte.MIN_VALUE;
-
-        Value result = Value.of(unsignedResult);
-        register.load(result);
-        status.setNegative(result.isNegative()).setOverflow(overflow).setZero(result.isZero()).setCarry(carry);
+        return update(unsignedResult & 0xFF, overflow, carry);
     }
 
-    public void compare(Register register, Value value)
+    public void compare(int register, int value)
     {
-        compare(register, value, status);
+        int compare = register - value;
+        registers.set(NEGATIVE, (compare & 0x80) != 0);
+        registers.set(ZERO, compare == 0);
+        registers.set(CARRY, compare >= 0);
     }
 
-    private void compare(Register register, Value value, StatusRegister s)
+    /**
+     * Update the negative and zero flags to reflect a value being loaded into a register.
+     *
+     * @param value the value being loaded
+     * @return the value
+     */
+    public int load(int value)
     {
-        int compare = Byte.compareUnsigned(register.value().data(), value.data());
-        s.setNegative((compare & 0x80) != 0).setZero(compare == 0).setCarry(compare >= 0);
+        registers.p = (registers.p & ~(NEGATIVE | ZERO)) | (value & NEGATIVE) | (value == 0 ? ZERO : 0);
+        return value;
     }
 
-    public void load(Register register, Value value)
+    public int shiftLeft(int value)
     {
-        calculate(register, _ -> value);
+        registers.set(CARRY, (value & 0x80) != 0);
+        return load((value << 1) & 0xFF);
     }
 
-    public void calculate(Register register, Function<Value, Value> function)
+    public int shiftRight(int value)
     {
-        update(register, r -> r.load(function.apply(r.value())));
+        registers.set(CARRY, (value & 0x01) != 0);
+        return load(value >> 1);
     }
 
-    public void update(Register register, Consumer<Register> action)
+    public int rotateLeft(int value)
     {
-        action.accept(register);
-        status.setNegative(register.value().isNegative()).setZero(register.value().isZero());
+        int c = registers.isSet(CARRY) ? 0x01 : 0x00;
+        registers.set(CARRY, (value & 0x80) != 0);
+        return load((c | (value << 1)) & 0xFF);
     }
 
-    public Value shiftLeft(Value value)
+    public int rotateRight(int value)
     {
-        byte r = value.data();
-        status.setCarry((r & 0x80) != 0);
-
-        var result = Value.of(r << 1);
-        status.setNegative(result.isNegative()).setZero(result.isZero());
-
-        return result;
+        int c = registers.isSet(CARRY) ? 0x80 : 0x00;
+        registers.set(CARRY, (value & 0x01) != 0);
+        return load(c | (value >> 1));
     }
 
-    public Value shiftRight(Value value)
+    public int increment(int value)
     {
-        byte r = value.data();
-        status.setCarry((r & 0x01) != 0);
-
-        var result = Value.of(Byte.toUnsignedInt(r) >> 1);
-        status.setNegative(result.isNegative()).setZero(result.isZero());
-
-        return result;
+        return load((value + 1) & 0xFF);
     }
 
-    public Value rotateLeft(Value value)
+    public int decrement(int value)
     {
-        byte r = value.data();
-        byte c = (byte) (status.carry() ? 0x01 : 0x00);
-        status.setCarry((r & 0x80) != 0);
-
-        var result = Value.of(c | (r << 1));
-        status.setNegative(result.isNegative()).setZero(result.isZero());
-
-        return result;
+        return load((value - 1) & 0xFF);
     }
 
-    public Value rotateRight(Value value)
+    private int update(int result, boolean overflow, boolean carry)
     {
-        byte r = value.data();
-        byte c = (byte) (status.carry() ? 0x80 : 0x00);
-        status.setCarry((r & 0x01) != 0);
-
-        var result = Value.of(c | (Byte.toUnsignedInt(r) >> 1));
-        status.setNegative(result.isNegative()).setZero(result.isZero());
-
-        return result;
+        registers.set(OVERFLOW, overflow);
+        registers.set(CARRY, carry);
+        return load(result);
     }
 
-    public Value increment(Value value)
+    private static boolean isOverflow(int signedResult)
     {
-        var result = value.increment();
-        status.setNegative(result.isNegative()).setZero(result.isZero());
-
-        return result;
-    }
-
-    public Value decrement(Value value)
-    {
-        var result = value.decrement();
-        status.setNegative(result.isNegative()).setZero(result.isZero());
-
-        return result;
+        return signedResult > Byte.MAX_VALUE || signedResult < Byte.MIN_VALUE;
     }
 }
@@ -21,6 +21,15 @@ import java.util.List;
 
 public record Address(short data) implements Comparable<Address>
 {
+    // every possible address is created up front so that the factory methods never allocate
+    private static final Address[] ADDRESSES = new Address[0x10000];
+
+    static {
+        for (int i = 0; i < ADDRESSES.length; i++) {
+            ADDRESSES[i] = new Address((short) i);
+        }
+    }
+
     public static final Address MIN = Address.of(0x0000);
     public static final Address MAX = Address.of(0xFFFF);
 
@@ -30,22 +39,22 @@ public record Address(short data) implements Comparable<Address>
 
     public static Address of(short s)
     {
-        return new Address(s);
+        return ADDRESSES[Short.toUnsignedInt(s)];
     }
 
     public static Address of(int i)
     {
-        return new Address((short) i);
+        return ADDRESSES[i & 0xFFFF];
     }
 
     public static Address ofHex(String hex)
     {
-        return new Address((short) Integer.parseInt(hex, 16));
+        return Address.of(Integer.parseInt(hex, 16));
     }
 
     public static Address ofBits(String bits)
     {
-        return new Address((short) Integer.parseInt(bits, 2));
+        return Address.of(Integer.parseInt(bits, 2));
     }
 
     public static Address of(Value low, Value high)
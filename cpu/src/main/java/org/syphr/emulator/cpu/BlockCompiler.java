@@ -0,0 +1,522 @@
+/*
+ * Copyright © 2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cpu;
+
+import java.lang.classfile.ClassFile;
+import java.lang.classfile.ClassHierarchyResolver;
+import java.lang.classfile.CodeBuilder;
+import java.lang.classfile.Label;
+import java.lang.constant.ClassDesc;
+import java.lang.constant.MethodTypeDesc;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.InvocationTargetException;
+
+import static java.lang.constant.ConstantDescs.*;
+import static org.syphr.emulator.cpu.Operation.*;
+import static org.syphr.emulator.cpu.Registers.*;
+
+/**
+ * Translates basic blocks of 65C02 code into JVM bytecode. Each block becomes a hidden class nested in {@link CPU}, so
+ * the generated code calls the same private helpers as the interpreter, with operands folded in as constants and
+ * without fetching, decoding or dispatching anything at runtime. Common operations are translated directly; the rest
+ * call the interpreter's handler for their op code. Either way, every bus cycle happens exactly as it would when
+ * interpreting.
+ * <p>
+ * A block ends with the first instruction that may change the program counter other than by advancing it. If that
+ * instruction lands back on the start of the block, the generated code loops without returning to the caller.
+ */
+class BlockCompiler
+{
+    /**
+     * The most instructions a single block will hold.
+     */
+    public static final int MAX_INSTRUCTIONS = 64;
+
+    private static final ClassDesc CD_CPU = ClassDesc.of(CPU.class.getName());
+    private static final ClassDesc CD_REGISTERS = ClassDesc.of(Registers.class.getName());
+    private static final ClassDesc CD_ALU = ClassDesc.of(ALU.class.getName());
+    private static final ClassDesc CD_INSTRUCTION = ClassDesc.of(Instruction.class.getName());
+    private static final ClassDesc CD_COMPILED_BLOCK = ClassDesc.of(CompiledBlock.class.getName());
+
+    private static final MethodTypeDesc MTD_INT_INT = MethodTypeDesc.of(CD_int, CD_int);
+    private static final MethodTypeDesc MTD_VOID_INT = MethodTypeDesc.of(CD_void, CD_int);
+    private static final MethodTypeDesc MTD_VOID_INT_INT = MethodTypeDesc.of(CD_void, CD_int, CD_int);
+    private static final MethodTypeDesc MTD_VOID_BOOLEAN_INT = MethodTypeDesc.of(CD_void, CD_boolean, CD_int);
+    private static final MethodTypeDesc MTD_BOOLEAN_INT = MethodTypeDesc.of(CD_boolean, CD_int);
+    private static final MethodTypeDesc MTD_BOOLEAN_COMPILED_BLOCK = MethodTypeDesc.of(CD_boolean, CD_COMPILED_BLOCK);
+
+    // local variable slots in the generated execute method
+    private static final int THIS_SLOT = 0;
+    private static final int CPU_SLOT = 1;
+    private static final int REGISTERS_SLOT = 2;
+    private static final int ALU_SLOT = 3;
+
+    private static final Emitter[] EMITTERS = createEmitters();
+    private static final boolean[] BLOCK_ENDS = createBlockEnds();
+
+    private final MethodHandles.Lookup lookup;
+    private final ClassFile classFile;
+
+    /**
+     * @param lookup a lookup with full privileges in {@link CPU}, used to define the generated classes as its nestmates
+     */
+    public BlockCompiler(MethodHandles.Lookup lookup)
+    {
+        this.lookup = lookup;
+        var resolver = ClassHierarchyResolver.ofClassLoading(lookup);
+        this.classFile = ClassFile.of(ClassFile.ClassHierarchyResolverOption.of(resolver));
+    }
+
+    /**
+     * Determine whether the given op code ends a block.
+     *
+     * @param opCode the unsigned op code
+     * @return {@code true} if the instruction may change the program counter other than by advancing it
+     */
+    public static boolean endsBlock(int opCode)
+    {
+        return BLOCK_ENDS[opCode];
+    }
+
+    /**
+     * Compile a block of instructions.
+     *
+     * @param start        the address of the first op code
+     * @param end          the address just past the last byte fetched by the block
+     * @param instructions the instructions in execution order, packed as described by {@link InstructionCache}
+     * @param count        the number of instructions to compile
+     * @return the compiled block
+     */
+    public CompiledBlock compile(int start, int end, int[] instructions, int count)
+    {
+        var name = ClassDesc.of(CPU.class.getPackageName(), "Block$%04X".formatted(start));
+        byte[] bytes = classFile.build(name, type -> {
+            type.withFlags(ClassFile.ACC_FINAL | ClassFile.ACC_SUPER).withSuperclass(CD_COMPILED_BLOCK);
+            type.withMethodBody(INIT_NAME, MTD_VOID_INT_INT, ClassFile.ACC_PUBLIC, BlockCompiler::constructor);
+            type.withMethodBody("execute",
+                                MethodTypeDesc.of(CD_void, CD_CPU),
+                                ClassFile.ACC_PUBLIC,
+                                code -> execute(code, start, instructions, count));
+        });
+
+        try {
+            return (CompiledBlock) lookup.defineHiddenClass(bytes, true, MethodHandles.Lookup.ClassOption.NESTMATE)
+                                         .lookupClass()
+                                         .getConstructor(int.class, int.class)
+                                         .newInstance(start, end);
+        } catch (IllegalAccessException | InstantiationException | InvocationTargetException |
+                 NoSuchMethodException e) {
+            throw new IllegalStateException("Unable to load block compiled at " + Address.of(start), e);
+        }
+    }
+
+    private static void constructor(CodeBuilder code)
+    {
+        code.aload(THIS_SLOT).iload(1).iload(2).invokespecial(CD_COMPILED_BLOCK, INIT_NAME, MTD_VOID_INT_INT).return_();
+    }
+
+    private static void execute(CodeBuilder code, int start, int[] instructions, int count)
+    {
+        Label loop = code.newLabel();
+        Label exit = code.newLabel();
+
+        code.aload(CPU_SLOT).getfield(CD_CPU, "registers", CD_REGISTERS).astore(REGISTERS_SLOT);
+        code.aload(CPU_SLOT).getfield(CD_CPU, "alu", CD_ALU).astore(ALU_SLOT);
+        code.labelBinding(loop);
+
+        int address = start;
+        for (int i = 0; i < count; i++) {
+            // the caller has already checked before the first instruction
+            if (i > 0) {
+                canContinue(code, exit);
+            }
+
+            int instruction = instructions[i];
+            int opCode = instruction & 0xFF;
+            int operand = (instruction >>> 8) & 0xFFFF;
+
+            // the instruction bytes are known, but the bus still has to see them being fetched
+            address = fetch(code, address, instruction);
+
+            Emitter emitter = EMITTERS[opCode];
+            if (emitter != null) {
+                emitter.emit(code, operand);
+            } else {
+                handler(code, opCode, operand);
+            }
+        }
+
+        // loops back to the start of the block keep running without leaving compiled code
+        code.aload(REGISTERS_SLOT).getfield(CD_REGISTERS, "pc", CD_int).loadConstant(start).if_icmpne(exit);
+        code.aload(CPU_SLOT)
+            .aload(THIS_SLOT)
+            .invokevirtual(CD_CPU, "canLoop", MTD_BOOLEAN_COMPILED_BLOCK)
+            .ifeq(exit);
+        code.goto_(loop);
+
+        code.labelBinding(exit);
+        code.return_();
+    }
+
+    private static void canContinue(CodeBuilder code, Label exit)
+    {
+        code.aload(CPU_SLOT)
+            .aload(THIS_SLOT)
+            .invokevirtual(CD_CPU, "canContinue", MTD_BOOLEAN_COMPILED_BLOCK)
+            .ifeq(exit);
+    }
+
+    private static int fetch(CodeBuilder code, int address, int instruction)
+    {
+        int opCode = instruction & 0xFF;
+        int length = 1 + InstructionDecoder.operandLength(opCode);
+        for (int i = 0; i < length; i++) {
+            code.aload(CPU_SLOT)
+                .loadConstant((address + i) & 0xFFFF)
+                .loadConstant((instruction >>> (8 * i)) & 0xFF)
+                .invokevirtual(CD_CPU, "replayCode", MTD_VOID_INT_INT);
+        }
+
+        int next = (address + length) & 0xFFFF;
+        if (InstructionDecoder.hasThrowawayRead(opCode)) {
+            code.aload(CPU_SLOT)
+                .loadConstant(next)
+                .loadConstant(instruction >>> 24)
+                .invokevirtual(CD_CPU, "replayThrowaway", MTD_VOID_INT_INT);
+        }
+
+        return next;
+    }
+
+    private static void handler(CodeBuilder code, int opCode, int operand)
+    {
+        code.aload(CPU_SLOT)
+            .getfield(CD_CPU, "instructions", CD_INSTRUCTION.arrayType())
+            .loadConstant(opCode)
+            .aaload()
+            .loadConstant(operand)
+            .invokeinterface(CD_INSTRUCTION, "execute", MTD_VOID_INT);
+    }
+
+    private static Emitter[] createEmitters()
+    {
+        var table = new Emitter[256];
+
+        // addresses and values pushed onto the operand stack
+        Emitter constant = (code, o) -> code.loadConstant(o);
+        Emitter absoluteX = address("absoluteX");
+        Emitter absoluteY = address("absoluteY");
+        Emitter zpX = address("zpX");
+        Emitter zpY = address("zpY");
+        Emitter zpXIndirect = address("zpXIndirect");
+        Emitter zpIndirect = address("zpIndirect");
+        Emitter zpIndirectY = address("zpIndirectY");
+
+        // @formatter:off
+        define(table, ADC.ABSOLUTE, cpuConsumer("adc", read(constant)));
+        define(table, ADC.ABSOLUTE_X, cpuConsumer("adc", read(absoluteX)));
+        define(table, ADC.ABSOLUTE_Y, cpuConsumer("adc", read(absoluteY)));
+        define(table, ADC.IMMEDIATE, cpuConsumer("adc", constant));
+        define(table, ADC.ZP, cpuConsumer("adc", read(constant)));
+        define(table, ADC.ZP_X_INDIRECT, cpuConsumer("adc", read(zpXIndirect)));
+        define(table, ADC.ZP_X, cpuConsumer("adc", read(zpX)));
+        define(table, ADC.ZP_INDIRECT, cpuConsumer("adc", read(zpIndirect)));
+        define(table, ADC.ZP_INDIRECT_Y, cpuConsumer("adc", read(zpIndirectY)));
+
+        define(table, AND.ABSOLUTE, cpuConsumer("and", read(constant)));
+        define(table, AND.ABSOLUTE_X, cpuConsumer("and", read(absoluteX)));
+        define(table, AND.ABSOLUTE_Y, cpuConsumer("and", read(absoluteY)));
+        define(table, AND.IMMEDIATE, cpuConsumer("and", constant));
+        define(table, AND.ZP, cpuConsumer("and", read(constant)));
+        define(table, AND.ZP_X_INDIRECT, cpuConsumer("and", read(zpXIndirect)));
+        define(table, AND.ZP_X, cpuConsumer("and", read(zpX)));
+        define(table, AND.ZP_INDIRECT, cpuConsumer("and", read(zpIndirect)));
+        define(table, AND.ZP_INDIRECT_Y, cpuConsumer("and", read(zpIndirectY)));
+
+        define(table, BCC.RELATIVE, branchIf(CARRY, false));
+        define(table, BCS.RELATIVE, branchIf(CARRY, true));
+        define(table, BEQ.RELATIVE, branchIf(ZERO, true));
+        define(table, BMI.RELATIVE, branchIf(NEGATIVE, true));
+        define(table, BNE.RELATIVE, branchIf(ZERO, false));
+        define(table, BPL.RELATIVE, branchIf(NEGATIVE, false));
+        define(table, BVC.RELATIVE, branchIf(OVERFLOW, false));
+        define(table, BVS.RELATIVE, branchIf(OVERFLOW, true));
+        define(table, BRA.RELATIVE, branchAlways());
+
+        define(table, BIT.ABSOLUTE, cpuConsumer("bit", read(constant)));
+        define(table, BIT.ABSOLUTE_X, cpuConsumer("bit", read(absoluteX)));
+        define(table, BIT.ZP, cpuConsumer("bit", read(constant)));
+        define(table, BIT.ZP_X, cpuConsumer("bit", read(zpX)));
+        define(table, BIT.IMMEDIATE, cpuConsumer("testBits", constant));
+
+        define(table, CLC.IMPLIED, flag(CARRY, false));
+        define(table, CLD.IMPLIED, flag(DECIMAL, false));
+        define(table, CLI.IMPLIED, flag(IRQ_DISABLE, false));
+        define(table, CLV.IMPLIED, flag(OVERFLOW, false));
+
+        define(table, CMP.ABSOLUTE, compare("a", read(constant)));
+        define(table, CMP.ABSOLUTE_X, compare("a", read(absoluteX)));
+        define(table, CMP.ABSOLUTE_Y, compare("a", read(absoluteY)));
+        define(table, CMP.IMMEDIATE, compare("a", constant));
+        define(table, CMP.ZP, compare("a", read(constant)));
+        define(table, CMP.ZP_X_INDIRECT, compare("a", read(zpXIndirect)));
+        define(table, CMP.ZP_X, compare("a", read(zpX)));
+        define(table, CMP.ZP_INDIRECT, compare("a", read(zpIndirect)));
+        define(table, CMP.ZP_INDIRECT_Y, compare("a", read(zpIndirectY)));
+
+        define(table, CPX.ABSOLUTE, compare("x", read(constant)));
+        define(table, CPX.IMMEDIATE, compare("x", constant));
+        define(table, CPX.ZP, compare("x", read(constant)));
+
+        define(table, CPY.ABSOLUTE, compare("y", read(constant)));
+        define(table, CPY.IMMEDIATE, compare("y", constant));
+        define(table, CPY.ZP, compare("y", read(constant)));
+
+        define(table, DEX.IMPLIED, load("x", alu("decrement", register("x"))));
+        define(table, DEY.IMPLIED, load("y", alu("decrement", register("y"))));
+        define(table, EOR.ABSOLUTE, cpuConsumer("eor", read(constant)));
+        define(table, EOR.ABSOLUTE_X, cpuConsumer("eor", read(absoluteX)));
+        define(table, EOR.ABSOLUTE_Y, cpuConsumer("eor", read(absoluteY)));
+        define(table, EOR.IMMEDIATE, cpuConsumer("eor", constant));
+        define(table, EOR.ZP, cpuConsumer("eor", read(constant)));
+        define(table, EOR.ZP_X_INDIRECT, cpuConsumer("eor", read(zpXIndirect)));
+        define(table, EOR.ZP_X, cpuConsumer("eor", read(zpX)));
+        define(table, EOR.ZP_INDIRECT, cpuConsumer("eor", read(zpIndirect)));
+        define(table, EOR.ZP_INDIRECT_Y, cpuConsumer("eor", read(zpIndirectY)));
+
+        define(table, INX.IMPLIED, load("x", alu("increment", register("x"))));
+        define(table, INY.IMPLIED, load("y", alu("increment", register("y"))));
+
+        define(table, JMP.ABSOLUTE, cpuConsumer("jump", constant));
+
+        define(table, LDA.ABSOLUTE, load("a", alu("load", read(constant))));
+        define(table, LDA.ABSOLUTE_X, load("a", alu("load", read(absoluteX))));
+        define(table, LDA.ABSOLUTE_Y, load("a", alu("load", read(absoluteY))));
+        define(table, LDA.IMMEDIATE, load("a", alu("load", constant)));
+        define(table, LDA.ZP, load("a", alu("load", read(constant))));
+        define(table, LDA.ZP_X_INDIRECT, load("a", alu("load", read(zpXIndirect))));
+        define(table, LDA.ZP_X, load("a", alu("load", read(zpX))));
+        define(table, LDA.ZP_INDIRECT, load("a", alu("load", read(zpIndirect))));
+        define(table, LDA.ZP_INDIRECT_Y, load("a", alu("load", read(zpIndirectY))));
+
+        define(table, LDX.ABSOLUTE, load("x", alu("load", read(constant))));
+        define(table, LDX.ABSOLUTE_Y, load("x", alu("load", read(absoluteY))));
+        define(table, LDX.IMMEDIATE, load("x", alu("load", constant)));
+        define(table, LDX.ZP, load("x", alu("load", read(constant))));
+        define(table, LDX.ZP_Y, load("x", alu("load", read(zpY))));
+
+        define(table, LDY.ABSOLUTE, load("y", alu("load", read(constant))));
+        define(table, LDY.ABSOLUTE_X, load("y", alu("load", read(absoluteX))));
+        define(table, LDY.IMMEDIATE, load("y", alu("load", constant)));
+        define(table, LDY.ZP, load("y", alu("load", read(constant))));
+        define(table, LDY.ZP_X, load("y", alu("load", read(zpX))));
+
+        define(table, NOP.IMPLIED, (_, _) -> {});
+
+        define(table, ORA.ABSOLUTE, cpuConsumer("ora", read(constant)));
+        define(table, ORA.ABSOLUTE_X, cpuConsumer("ora", read(absoluteX)));
+        define(table, ORA.ABSOLUTE_Y, cpuConsumer("ora", read(absoluteY)));
+        define(table, ORA.IMMEDIATE, cpuConsumer("ora", constant));
+        define(table, ORA.ZP, cpuConsumer("ora", read(constant)));
+        define(table, ORA.ZP_X_INDIRECT, cpuConsumer("ora", read(zpXIndirect)));
+        define(table, ORA.ZP_X, cpuConsumer("ora", read(zpX)));
+        define(table, ORA.ZP_INDIRECT, cpuConsumer("ora", read(zpIndirect)));
+        define(table, ORA.ZP_INDIRECT_Y, cpuConsumer("ora", read(zpIndirectY)));
+
+        define(table, SBC.ABSOLUTE, cpuConsumer("sbc", read(constant)));
+        define(table, SBC.ABSOLUTE_X, cpuConsumer("sbc", read(absoluteX)));
+        define(table, SBC.ABSOLUTE_Y, cpuConsumer("sbc", read(absoluteY)));
+        define(table, SBC.IMMEDIATE, cpuConsumer("sbc", constant));
+        define(table, SBC.ZP, cpuConsumer("sbc", read(constant)));
+        define(table, SBC.ZP_X_INDIRECT, cpuConsumer("sbc", read(zpXIndirect)));
+        define(table, SBC.ZP_X, cpuConsumer("sbc", read(zpX)));
+        define(table, SBC.ZP_INDIRECT, cpuConsumer("sbc", read(zpIndirect)));
+        define(table, SBC.ZP_INDIRECT_Y, cpuConsumer("sbc", read(zpIndirectY)));
+
+        define(table, SEC.IMPLIED, flag(CARRY, true));
+        define(table, SED.IMPLIED, flag(DECIMAL, true));
+        define(table, SEI.IMPLIED, flag(IRQ_DISABLE, true));
+
+        define(table, STA.ABSOLUTE, write(constant, register("a")));
+        define(table, STA.ABSOLUTE_X, write(absoluteX, register("a")));
+        define(table, STA.ABSOLUTE_Y, write(absoluteY, register("a")));
+        define(table, STA.ZP, write(constant, register("a")));
+        define(table, STA.ZP_X_INDIRECT, write(zpXIndirect, register("a")));
+        define(table, STA.ZP_X, write(zpX, register("a")));
+        define(table, STA.ZP_INDIRECT, write(zpIndirect, register("a")));
+        define(table, STA.ZP_INDIRECT_Y, write(zpIndirectY, register("a")));
+
+        define(table, STX.ABSOLUTE, write(constant, register("x")));
+        define(table, STX.ZP, write(constant, register("x")));
+        define(table, STX.ZP_Y, write(zpY, register("x")));
+
+        define(table, STY.ABSOLUTE, write(constant, register("y")));
+        define(table, STY.ZP, write(constant, register("y")));
+        define(table, STY.ZP_X, write(zpX, register("y")));
+
+        define(table, STZ.ABSOLUTE, write(constant, (code, _) -> code.iconst_0()));
+        define(table, STZ.ABSOLUTE_X, write(absoluteX, (code, _) -> code.iconst_0()));
+        define(table, STZ.ZP, write(constant, (code, _) -> code.iconst_0()));
+        define(table, STZ.ZP_X, write(zpX, (code, _) -> code.iconst_0()));
+
+        define(table, TAX.IMPLIED, load("x", alu("load", register("a"))));
+        define(table, TAY.IMPLIED, load("y", alu("load", register("a"))));
+        define(table, TSX.IMPLIED, load("x", alu("load", register("sp"))));
+        define(table, TXA.IMPLIED, load("a", alu("load", register("x"))));
+        define(table, TXS.IMPLIED, load("sp", register("x")));
+        define(table, TYA.IMPLIED, load("a", alu("load", register("y"))));
+        // @formatter:on
+
+        return table;
+    }
+
+    private static boolean[] createBlockEnds()
+    {
+        var table = new boolean[256];
+
+        // @formatter:off
+        for (byte opCode : new byte[] {BBR0.ZP_RELATIVE, BBR1.ZP_RELATIVE, BBR2.ZP_RELATIVE, BBR3.ZP_RELATIVE,
+                                       BBR4.ZP_RELATIVE, BBR5.ZP_RELATIVE, BBR6.ZP_RELATIVE, BBR7.ZP_RELATIVE,
+                                       BBS0.ZP_RELATIVE, BBS1.ZP_RELATIVE, BBS2.ZP_RELATIVE, BBS3.ZP_RELATIVE,
+                                       BBS4.ZP_RELATIVE, BBS5.ZP_RELATIVE, BBS6.ZP_RELATIVE, BBS7.ZP_RELATIVE,
+                                       BCC.RELATIVE, BCS.RELATIVE, BEQ.RELATIVE, BMI.RELATIVE,
+                                       BNE.RELATIVE, BPL.RELATIVE, BRA.RELATIVE, BVC.RELATIVE, BVS.RELATIVE,
+                                       BRK.STACK, JMP.ABSOLUTE, JMP.ABSOLUTE_X_INDIRECT, JMP.ABSOLUTE_INDIRECT,
+                                       JSR.ABSOLUTE, RTI.STACK, RTS.STACK, STP.IMPLIED}) {
+            table[Byte.toUnsignedInt(opCode)] = true;
+        }
+        // @formatter:on
+
+        return table;
+    }
+
+    private static void define(Emitter[] table, byte opCode, Emitter emitter)
+    {
+        table[Byte.toUnsignedInt(opCode)] = emitter;
+    }
+
+    // --------------- Start Emitters ------------------
+
+    private static Emitter address(String mode)
+    {
+        return (code, o) -> code.aload(CPU_SLOT).loadConstant(o).invokevirtual(CD_CPU, mode, MTD_INT_INT);
+    }
+
+    private static Emitter read(Emitter address)
+    {
+        return (code, o) -> {
+            code.aload(CPU_SLOT);
+            address.emit(code, o);
+            code.invokevirtual(CD_CPU, "read", MTD_INT_INT);
+        };
+    }
+
+    private static Emitter write(Emitter address, Emitter value)
+    {
+        return (code, o) -> {
+            code.aload(CPU_SLOT);
+            address.emit(code, o);
+            value.emit(code, o);
+            code.invokevirtual(CD_CPU, "write", MTD_VOID_INT_INT);
+        };
+    }
+
+    private static Emitter register(String name)
+    {
+        return (code, _) -> code.aload(REGISTERS_SLOT).getfield(CD_REGISTERS, name, CD_int);
+    }
+
+    private static Emitter load(String register, Emitter value)
+    {
+        return (code, o) -> {
+            code.aload(REGISTERS_SLOT);
+            value.emit(code, o);
+            code.putfield(CD_REGISTERS, register, CD_int);
+        };
+    }
+
+    private static Emitter alu(String function, Emitter value)
+    {
+        return (code, o) -> {
+            code.aload(ALU_SLOT);
+            value.emit(code, o);
+            code.invokevirtual(CD_ALU, function, MTD_INT_INT);
+        };
+    }
+
+    private static Emitter compare(String register, Emitter value)
+    {
+        return (code, o) -> {
+            code.aload(ALU_SLOT).aload(REGISTERS_SLOT).getfield(CD_REGISTERS, register, CD_int);
+            value.emit(code, o);
+            code.invokevirtual(CD_ALU, "compare", MTD_VOID_INT_INT);
+        };
+    }
+
+    private static Emitter cpuConsumer(String method, Emitter value)
+    {
+        return (code, o) -> {
+            code.aload(CPU_SLOT);
+            value.emit(code, o);
+            code.invokevirtual(CD_CPU, method, MTD_VOID_INT);
+        };
+    }
+
+    private static Emitter flag(int flag, boolean state)
+    {
+        return (code, _) -> code.aload(REGISTERS_SLOT)
+                                .loadConstant(flag)
+                                .loadConstant(state ? 1 : 0)
+                                .invokevirtual(CD_REGISTERS, "set", MethodTypeDesc.of(CD_void, CD_int, CD_boolean));
+    }
+
+    private static Emitter branchIf(int flag, boolean state)
+    {
+        return (code, o) -> {
+            code.aload(CPU_SLOT)
+                .aload(REGISTERS_SLOT)
+                .loadConstant(flag)
+                .invokevirtual(CD_REGISTERS, "isSet", MTD_BOOLEAN_INT);
+            if (!state) {
+                code.iconst_1().ixor();
+            }
+            code.loadConstant(o).invokevirtual(CD_CPU, "branchIf", MTD_VOID_BOOLEAN_INT);
+        };
+    }
+
+    private static Emitter branchAlways()
+    {
+        return (code, o) -> code.aload(CPU_SLOT)
+                                .iconst_1()
+                                .loadConstant(o)
+                                .invokevirtual(CD_CPU, "branchIf", MTD_VOID_BOOLEAN_INT);
+    }
+
+    // --------------- End Emitters ------------------
+
+    /**
+     * Emits the bytecode for part of an instruction.
+     */
+    @FunctionalInterface
+    private interface Emitter
+    {
+        /**
+         * @param code    the method being built
+         * @param operand the operand bytes of the instruction in little-endian order
+         */
+        void emit(CodeBuilder code, int operand);
+    }
+}
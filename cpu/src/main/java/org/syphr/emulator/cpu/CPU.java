@@ -27,22 +27,24 @@ import org.syphr.emulator.common.Value;
 import org.syphr.emulator.common.clock.ClockEvent;
 import org.syphr.emulator.common.clock.ClockListener;
 import org.syphr.emulator.cpu.CPUEvent.BreakpointEvent;
-import org.syphr.emulator.cpu.CPUEvent.ClockCycleEvent;
-import org.syphr.emulator.cpu.CPUEvent.OperationEvent;
 
 import javax.swing.event.EventListenerList;
+import java.lang.invoke.MethodHandles;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
 
-import static org.syphr.emulator.cpu.AddressMode.*;
 import static org.syphr.emulator.cpu.Interrupt.HarwareInterrupt.*;
 import static org.syphr.emulator.cpu.Interrupt.SoftwareInterrupt.BREAK;
 import static org.syphr.emulator.cpu.Operation.*;
+import static org.syphr.emulator.cpu.Registers.*;
 
 @Slf4j
 @ToString(onlyExplicitlyIncluded = true)
@@ -52,7 +54,16 @@ public class CPU implements Runnable, ClockListener
     private final HardwareInterruptState interrupts = new HardwareInterruptState();
     private final EventListenerList listeners = new EventListenerList();
     private final List<Breakpoint> breakpoints = new CopyOnWriteArrayList<>();
-    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    // breakpoints other than address breakpoints, which can only be checked by evaluating them every cycle
+    private final List<Breakpoint> cycleBreakpoints = new CopyOnWriteArrayList<>();
+    private final Watchpoints watchpoints = new Watchpoints();
+    // held while changing breakpoints, so that the watchpoints are always rebuilt from the latest list
+    private final Object breakpointLock = new Object();
+    private boolean watchHit;
+    private volatile @Nullable TraceRecorder traceRecorder;
+    private final EventSubscribers events = new EventSubscribers();
+
+    private final Registers registers = new Registers();
 
     @ToString.Include
     private final Register accumulator;
@@ -70,13 +81,26 @@ public class CPU implements Runnable, ClockListener
     private final Writer writer;
 
     private final Clock clock;
+    private final Tracer tracer;
     private final ALU alu;
-    private final InstructionDecoder decoder;
+    private final Instruction[] instructions;
+
+    // indexed by Superinstruction ordinal
+    private final FusedInstruction[] fusedInstructions;
 
     private final ProgramManager programManager;
 
     private final Bus bus;
 
+    @Nullable
+    private final InstructionCache instructionCache;
+
+    @Nullable
+    private final CompiledBlocks compiledBlocks;
+
+    private final boolean fuseInstructions;
+    private final long[] fusionCounts = new long[Superinstruction.values().length];
+
     public static Builder builder()
     {
         return new Builder();
@@ -93,6 +117,12 @@ public class CPU implements Runnable, ClockListener
 
         private final List<Breakpoint> breakpoints = new ArrayList<>();
 
+        private boolean instructionCache;
+        private boolean compileHotBlocks;
+        private boolean fuseInstructions;
+        private boolean freeRunning;
+        private boolean tracing = true;
+
         public Builder addressable(Addressable addressable)
         {
             return reader(addressable).writer(addressable);
@@ -122,76 +152,170 @@ public class CPU implements Runnable, ClockListener
             return this;
         }
 
+        /**
+         * Remember decoded instructions by address so that code executed repeatedly is only read from memory once.
+         * Bus cycles are still reported for every fetch, so cycle counts do not change. Writes made by the CPU
+         * invalidate the affected instructions, but memory modified by anything else will go unnoticed; only enable
+         * this when the program is not changed from the outside while running, or report such changes through
+         * {@link CPU#invalidateCode(Address, Address)}, as a bank switch must.
+         *
+         * @param instructionCache {@code true} to cache decoded instructions; defaults to {@code false}
+         * @return this builder
+         */
+        public Builder instructionCache(boolean instructionCache)
+        {
+            this.instructionCache = instructionCache;
+            return this;
+        }
+
+        /**
+         * Translate frequently executed blocks of code into JVM bytecode and run those instead of interpreting them
+         * one instruction at a time. Compiled code performs exactly the same cycles as the interpreter, but it never
+         * runs while breakpoints, {@link ClockCycleListener}s or {@link OperationListener}s are registered or while
+         * operations are traced at info level. This implies {@link #instructionCache(boolean)} and carries the same
+         * restriction on modifying memory from the outside.
+         *
+         * @param compileHotBlocks {@code true} to compile hot code; defaults to {@code false}
+         * @return this builder
+         */
+        public Builder compileHotBlocks(boolean compileHotBlocks)
+        {
+            this.compileHotBlocks = compileHotBlocks;
+            return this;
+        }
+
+        /**
+         * Execute the common pairs of instructions listed in {@link Superinstruction} as a single unit, decoding both
+         * at once and running a handler written for the pair instead of going back through the run loop in between.
+         * Each instruction still performs its own cycles and produces its own {@link OperationListener} event, so fused
+         * execution cannot be told apart from executing the instructions separately. Fusion is skipped while operations are traced at info level. This
+         * implies {@link #instructionCache(boolean)} and carries the same restriction on modifying memory from the
+         * outside. See {@link CPU#getFusionReport()} to find out how often each pair was fused.
+         *
+         * @param fuseInstructions {@code true} to fuse instructions; defaults to {@code false}
+         * @return this builder
+         */
+        public Builder fuseInstructions(boolean fuseInstructions)
+        {
+            this.fuseInstructions = fuseInstructions;
+            return this;
+        }
+
+        /**
+         * Run cycles as fast as possible instead of waiting for a clock generator. See
+         * {@link CPU#setFreeRunning(boolean)}.
+         *
+         * @param freeRunning {@code true} to start in free-running mode; defaults to {@code false}
+         * @return this builder
+         */
+        public Builder freeRunning(boolean freeRunning)
+        {
+            this.freeRunning = freeRunning;
+            return this;
+        }
+
+        /**
+         * Log every cycle, memory access and instruction. See {@link CPU#setTracing(boolean)}.
+         *
+         * @param tracing {@code true} to start with tracing on; defaults to {@code true}
+         * @return this builder
+         */
+        public Builder tracing(boolean tracing)
+        {
+            this.tracing = tracing;
+            return this;
+        }
+
         public CPU build()
         {
-            return new CPU(new Clock(),
+            var clock = new Clock();
+            clock.setFreeRunning(freeRunning);
+            clock.setTracing(tracing);
+
+            return new CPU(clock,
                            Objects.requireNonNull(reader),
                            Objects.requireNonNull(writer),
                            start,
-                           breakpoints);
+                           breakpoints,
+                           instructionCache,
+                           compileHotBlocks,
+                           fuseInstructions);
         }
     }
 
     CPU(Clock clock, Reader reader, Writer writer, @Nullable Address start, List<Breakpoint> breakpoints)
     {
-        this.accumulator = new Register();
-        this.x = new Register();
-        this.y = new Register();
-        this.status = new StatusRegister();
+        this(clock, reader, writer, start, breakpoints, false, false, false);
+    }
+
+    CPU(Clock clock,
+        Reader reader,
+        Writer writer,
+        @Nullable Address start,
+        List<Breakpoint> breakpoints,
+        boolean instructionCache,
+        boolean compileHotBlocks,
+        boolean fuseInstructions)
+    {
+        this.accumulator = registers.accumulator();
+        this.x = registers.x();
+        this.y = registers.y();
+        this.status = registers.status();
         this.clock = clock;
+        this.tracer = new Tracer(clock.isTracing());
         this.reader = new CPUReader(reader, clock);
         this.writer = new CPUWriter(writer, clock);
 
-        stack = new Stack(this.reader, this.writer);
-        programManager = new ProgramManager(this.reader);
-        alu = new ALU(status);
-        decoder = new InstructionDecoder();
+        stack = new Stack(registers, this.reader, this.writer, reader, tracer);
+        programManager = new ProgramManager(registers, this.reader, tracer);
+        alu = new ALU(registers);
         bus = new Bus();
+        instructions = createInstructions();
+        fusedInstructions = createFusedInstructions();
+        this.instructionCache = instructionCache || compileHotBlocks || fuseInstructions
+                                ? new InstructionCache()
+                                : null;
+        this.compiledBlocks = compileHotBlocks
+                              ? new CompiledBlocks(new BlockCompiler(MethodHandles.lookup()),
+                                                   Objects.requireNonNull(this.instructionCache),
+                                                   tracer)
+                              : null;
+        this.fuseInstructions = fuseInstructions;
 
         if (start != null) {
             programManager.setProgramCounter(start);
         }
 
-        this.breakpoints.addAll(breakpoints);
-
-        clock.addListener(new ClockListener()
-        {
-            @Override
-            public void cycleStarted(ClockEvent event)
-            {
-                // nop
-            }
-
-            @Override
-            public void cycleEnded(ClockEvent event)
-            {
-                log.atTrace().setMessage("Bus state after cycle: {}").addArgument(bus).log();
+        breakpoints.forEach(this::addBreakpoint);
 
-                CPUState state = getState();
-                checkBreakpoints(state);
-                fireClockCycleCompleted(state);
-            }
-        });
+        clock.onCycleEnded(this::cycleEnded);
     }
 
     public void run()
     {
         try {
             while (!Thread.interrupted()) {
-                interrupts.poll().filter(i -> i != IRQ || !status.irqDisable()).ifPresent(this::executeInterrupt);
-                executeNext();
+                Optional<Interrupt.HarwareInterrupt> interrupt = interrupts.poll();
+                if (interrupt.isPresent() && (interrupt.get() != IRQ || !registers.isSet(IRQ_DISABLE))) {
+                    executeInterrupt(interrupt.get());
+                }
+                if (!executeCompiled() && !executeFused()) {
+                    executeNext();
+                }
             }
         } catch (HaltException e) {
             // stop execution
+        } finally {
+            events.shutdown();
         }
     }
 
     public CPUState getState()
     {
         return new CPUState(programManager.getProgramCounter(),
-                            accumulator.value(),
-                            x.value(),
-                            y.value(),
+                            Value.of(registers.a),
+                            Value.of(registers.x),
+                            Value.of(registers.y),
                             stack.getPointer(),
                             stack.getData(),
                             status.flags(),
@@ -201,30 +325,135 @@ public class CPU implements Runnable, ClockListener
                             clock.getCycleCount());
     }
 
+    /**
+     * Record the state at the end of every cycle from now on, or stop recording. Compiled blocks do not run while a
+     * recorder is set, so that no cycle is missed. The caller remains responsible for closing the recorder once the CPU
+     * has stopped.
+     *
+     * @param traceRecorder the recorder, or {@code null} to stop recording
+     */
+    public void setTraceRecorder(@Nullable TraceRecorder traceRecorder)
+    {
+        this.traceRecorder = traceRecorder;
+    }
+
+    /**
+     * Choose whether the CPU waits for a clock generator before each cycle. A free-running CPU ignores
+     * {@link #cycleStarted(ClockEvent)} and executes as fast as the host allows, which is useful for long running test
+     * programs. Cycle counts, breakpoints and listeners behave exactly the same in both modes. This may be called at any
+     * time, including from a breakpoint listener to hand control back to a clock generator.
+     *
+     * @param freeRunning {@code true} to run without waiting; {@code false} to wait for each clock signal
+     */
+    public void setFreeRunning(boolean freeRunning)
+    {
+        clock.setFreeRunning(freeRunning);
+    }
+
+    public boolean isFreeRunning()
+    {
+        return clock.isFreeRunning();
+    }
+
+    /**
+     * Turn the diagnostic logging of every cycle, memory access and instruction on or off. With tracing off, the
+     * emulation never calls into the logging framework on its hot path, which is the mode to use when speed matters.
+     * With tracing on, messages are logged through SLF4J and the configured log levels decide what is shown. This may
+     * be called at any time from any thread; the change takes effect with the next cycle.
+     *
+     * @param tracing {@code true} to log diagnostics; {@code false} to skip them entirely
+     */
+    public void setTracing(boolean tracing)
+    {
+        tracer.setEnabled(tracing);
+        clock.setTracing(tracing);
+    }
+
+    public boolean isTracing()
+    {
+        return tracer.isEnabled();
+    }
+
     // --------------- Start Breakpoint Management ------------------
 
     public void addBreakpoint(Breakpoint breakpoint)
     {
-        breakpoints.add(breakpoint);
+        synchronized (breakpointLock) {
+            breakpoints.add(breakpoint);
+            if (!(breakpoint instanceof AddressBreakpoint)) {
+                cycleBreakpoints.add(breakpoint);
+            }
+            watchpoints.update(breakpoints);
+        }
     }
 
     public void removeBreakpoint(Breakpoint breakpoint)
     {
-        breakpoints.remove(breakpoint);
+        synchronized (breakpointLock) {
+            breakpoints.remove(breakpoint);
+            cycleBreakpoints.remove(breakpoint);
+            watchpoints.update(breakpoints);
+        }
     }
 
-    private void checkBreakpoints(CPUState state)
+    private void cycleEnded()
     {
-        breakpoints.stream()
-                   .filter(b -> b.conditionMet(state))
-                   .findFirst()
-                   .ifPresent(b -> fireBreakpointConditionMet(state, b));
+        if (tracer.isEnabled()) {
+            log.atTrace().setMessage("Bus state after cycle: {}").addArgument(bus).log();
+        }
+
+        TraceRecorder recorder = traceRecorder;
+        if (recorder != null) {
+            recorder.record(registers.pc,
+                            registers.a,
+                            registers.x,
+                            registers.y,
+                            registers.sp,
+                            registers.p,
+                            bus.getAddress().toUnsignedInt(),
+                            Byte.toUnsignedInt(bus.getData().data()),
+                            bus.getLastAction(),
+                            clock.getCycleCount());
+        }
+
+        // set by the bus access of this cycle when it touched a watched address
+        boolean watched = watchHit;
+        watchHit = false;
+
+        // capturing the state is only worth it when someone will look at it
+        if (!watched && cycleBreakpoints.isEmpty() && !events.hasClockCycleListeners()) {
+            return;
+        }
+
+        CPUState state = getState();
+        checkBreakpoints(state, watched ? breakpoints : cycleBreakpoints);
+        fireClockCycleCompleted(state);
+    }
+
+    private void checkBreakpoints(CPUState state, List<Breakpoint> candidates)
+    {
+        // a plain loop, since this runs on every cycle while breakpoints are set
+        for (Breakpoint breakpoint : candidates) {
+            if (breakpoint.conditionMet(state)) {
+                fireBreakpointConditionMet(state, breakpoint);
+                return;
+            }
+        }
     }
 
     // --------------- End Breakpoint Management ------------------
 
     // --------------- Start Listener Management ------------------
 
+    /**
+     * Wait until every clock cycle and operation event published so far has reached its listeners, for instance before
+     * closing a listener that writes to a file. Only call this once the CPU has stopped running.
+     */
+    public void awaitEventDelivery()
+    {
+        events.close();
+    }
+
     public void addListener(BreakpointListener listener)
     {
         listeners.add(BreakpointListener.class, listener);
@@ -237,26 +466,139 @@ public class CPU implements Runnable, ClockListener
 
     public void addListener(ClockCycleListener listener)
     {
-        listeners.add(ClockCycleListener.class, listener);
+        addListener(listener, DeliveryPolicy.block());
+    }
+
+    /**
+     * Receive clock cycle events according to the given policy. Each registration has its own queue, so a listener
+     * that is allowed to drop events never holds up the CPU or any other listener.
+     *
+     * @param listener the listener
+     * @param policy   what to do when the listener falls behind
+     * @return the registration, which counts the events dropped for the listener
+     */
+    public EventSubscription addListener(ClockCycleListener listener, DeliveryPolicy policy)
+    {
+        return events.add(listener, policy);
     }
 
     public void removeListener(ClockCycleListener listener)
     {
-        listeners.remove(ClockCycleListener.class, listener);
+        events.remove(listener);
     }
 
     public void addListener(OperationListener listener)
     {
-        listeners.add(OperationListener.class, listener);
+        addListener(listener, DeliveryPolicy.block());
+    }
+
+    /**
+     * Receive operation events according to the given policy. Each registration has its own queue, so a listener that
+     * is allowed to drop events never holds up the CPU or any other listener.
+     *
+     * @param listener the listener
+     * @param policy   what to do when the listener falls behind
+     * @return the registration, which counts the events dropped for the listener
+     */
+    public EventSubscription addListener(OperationListener listener, DeliveryPolicy policy)
+    {
+        return events.add(listener, policy);
     }
 
     public void removeListener(OperationListener listener)
     {
-        listeners.remove(OperationListener.class, listener);
+        events.remove(listener);
+    }
+
+    /**
+     * Receive clock cycle events in blocks of up to the given size. A partial block is delivered once its oldest event
+     * has waited for the given interval, so a slow or paused clock still reaches the listener.
+     *
+     * @param listener  the listener
+     * @param batchSize the most events delivered at once
+     * @param interval  the longest an event waits for its block to fill
+     */
+    public void addListener(ClockCycleBatchListener listener, int batchSize, Duration interval)
+    {
+        addListener(listener, batchSize, interval, DeliveryPolicy.block());
+    }
+
+    /**
+     * Receive clock cycle events in blocks according to the given policy. Events are dropped or sampled before they
+     * are collected into blocks.
+     *
+     * @param listener  the listener
+     * @param batchSize the most events delivered at once
+     * @param interval  the longest an event waits for its block to fill
+     * @param policy    what to do when the listener falls behind
+     * @return the registration, which counts the events dropped for the listener
+     * @see #addListener(ClockCycleBatchListener, int, Duration)
+     */
+    public EventSubscription addListener(ClockCycleBatchListener listener,
+                                         int batchSize,
+                                         Duration interval,
+                                         DeliveryPolicy policy)
+    {
+        return events.add(new EventBatcher.ClockCycles(listener, batchSize, interval), policy);
+    }
+
+    /**
+     * Stop delivering clock cycle events to a batch listener. Events already queued for it are still delivered.
+     *
+     * @param listener the listener
+     */
+    public void removeListener(ClockCycleBatchListener listener)
+    {
+        events.remove(listener);
+    }
+
+    /**
+     * Receive operation events in blocks of up to the given size. A partial block is delivered once its oldest event
+     * has waited for the given interval.
+     *
+     * @param listener  the listener
+     * @param batchSize the most events delivered at once
+     * @param interval  the longest an event waits for its block to fill
+     */
+    public void addListener(OperationBatchListener listener, int batchSize, Duration interval)
+    {
+        addListener(listener, batchSize, interval, DeliveryPolicy.block());
+    }
+
+    /**
+     * Receive operation events in blocks according to the given policy. Events are dropped or sampled before they are
+     * collected into blocks.
+     *
+     * @param listener  the listener
+     * @param batchSize the most events delivered at once
+     * @param interval  the longest an event waits for its block to fill
+     * @param policy    what to do when the listener falls behind
+     * @return the registration, which counts the events dropped for the listener
+     * @see #addListener(OperationBatchListener, int, Duration)
+     */
+    public EventSubscription addListener(OperationBatchListener listener,
+                                         int batchSize,
+                                         Duration interval,
+                                         DeliveryPolicy policy)
+    {
+        return events.add(new EventBatcher.Operations(listener, batchSize, interval), policy);
+    }
+
+    /**
+     * Stop delivering operation events to a batch listener. Events already queued for it are still delivered.
+     *
+     * @param listener the listener
+     */
+    public void removeListener(OperationBatchListener listener)
+    {
+        events.remove(listener);
     }
 
     private void fireBreakpointConditionMet(CPUState state, Breakpoint breakpoint)
     {
+        // a clock pulse can only be pending if the clock was paced before the listeners had a chance to change it
+        boolean paced = !clock.isFreeRunning();
+
         // note: breakpoint events must fire synchronously to provide a chance to pause the clock
         BreakpointEvent event = null;
         for (BreakpointListener listener : listeners.getListeners(BreakpointListener.class)) {
@@ -266,33 +608,23 @@ public class CPU implements Runnable, ClockListener
             listener.conditionMet(event);
         }
 
-        clock.ignorePending();
+        if (paced) {
+            clock.ignorePending();
+        }
     }
 
     private void fireClockCycleCompleted(CPUState state)
     {
-        executor.submit(() -> {
-            ClockCycleEvent event = null;
-            for (ClockCycleListener listener : listeners.getListeners(ClockCycleListener.class)) {
-                if (event == null) {
-                    event = new ClockCycleEvent(state);
-                }
-                listener.clockCycleCompleted(event);
-            }
-        });
+        if (!events.hasClockCycleListeners()) {
+            return;
+        }
+
+        events.publishClockCycle(state);
     }
 
-    private void fireOperationCompleted(CPUState state, Operation op, long startCycle, long endCycle)
+    private void fireOperationCompleted(CPUState state, int opCode, int operand, long startCycle, long endCycle)
     {
-        executor.submit(() -> {
-            OperationEvent event = null;
-            for (OperationListener listener : listeners.getListeners(OperationListener.class)) {
-                if (event == null) {
-                    event = new OperationEvent(state, op, startCycle, endCycle);
-                }
-                listener.operationCompleted(event);
-            }
-        });
+        events.publishOperation(state, opCode, operand, startCycle, endCycle);
     }
 
     // --------------- End Listener Management ------------------
@@ -302,7 +634,7 @@ public class CPU implements Runnable, ClockListener
     @Override
     public void cycleStarted(ClockEvent event)
     {
-        clock.allowNextCycle();
+        clock.allowCycles(event.cycles());
     }
 
     @Override
@@ -311,29 +643,44 @@ public class CPU implements Runnable, ClockListener
         // nop
     }
 
+    @Override
+    public void cyclesRevoked()
+    {
+        clock.revokeCycles();
+    }
+
     public void reset()
     {
         interrupts.reset();
-        log.info("Reset triggered");
+        if (tracer.isEnabled()) {
+            log.info("Reset triggered");
+        }
     }
 
     public void interrupt(boolean state)
     {
         interrupts.irq(state);
-        log.info("Interrupt state changed: {}", state);
+        if (tracer.isEnabled()) {
+            log.info("Interrupt state changed: {}", state);
+        }
     }
 
     public void nonMaskableInterrupt()
     {
         interrupts.nmi();
-        log.info("Non-maskable interrupt triggered");
+        if (tracer.isEnabled()) {
+            log.info("Non-maskable interrupt triggered");
+        }
     }
 
     // --------------- End External Inputs ------------------
 
     void executeInterrupt(Interrupt interrupt)
     {
-        log.info("Executing interrupt {}", interrupt);
+        boolean logging = isLoggingOperations();
+        if (logging) {
+            log.info("Executing interrupt {}", interrupt);
+        }
 
         var vector = switch (interrupt) {
             case NMI -> Address.NMI;
@@ -342,7 +689,7 @@ public class CPU implements Runnable, ClockListener
         };
 
         if (BREAK == interrupt) {
-            programManager.setProgramCounter(programManager.getProgramCounter().increment());
+            programManager.setProgramCounter(registers.pc + 1);
         } else {
             // cycles 1-2: microcode selection
             clock.waitCycles(2);
@@ -351,337 +698,992 @@ public class CPU implements Runnable, ClockListener
         if (RESET == interrupt) {
             // cycle 3: read stack and decrement pointer
             reader.read(stack.getPointer());
-            stack.setPointer(stack.getPointer().low().decrement());
+            registers.sp = (registers.sp - 1) & 0xFF;
 
             // cycle 4: read stack and decrement pointer
             reader.read(stack.getPointer());
-            stack.setPointer(stack.getPointer().low().decrement());
+            registers.sp = (registers.sp - 1) & 0xFF;
 
             // cycle 5: read stack and decrement pointer
             reader.read(stack.getPointer());
-            stack.setPointer(stack.getPointer().low().decrement());
+            registers.sp = (registers.sp - 1) & 0xFF;
         } else {
             // cycles 3-4: push program counter to stack
-            stack.pushAll(programManager.getProgramCounter().bytes().reversed());
+            pushAddress(registers.pc);
 
             // cycle 5: push status to stack
-            pushToStack(status.copy().setUser(true).setBreakCommand(BREAK == interrupt));
+            int flags = (registers.p | USER) & ~BREAK_COMMAND;
+            stack.push(BREAK == interrupt ? flags | BREAK_COMMAND : flags);
         }
 
         // cycle 6: read low byte of the vector
-        Value low = reader.read(vector);
+        int low = read(vector.toUnsignedInt());
 
         // cycle 7: read high byte of the vector
-        Value high = reader.read(vector.increment());
+        int high = read(vector.increment().toUnsignedInt());
 
         // set the program counter ready for the first instruction
-        programManager.setProgramCounter(Address.of(low, high));
+        programManager.setProgramCounter(low | high << 8);
 
         // set flags
-        status.setDecimal(false).setIrqDisable(true);
+        registers.set(DECIMAL, false);
+        registers.set(IRQ_DISABLE, true);
 
-        log.info(getState().toString());
+        if (logging) {
+            log.info("{}", getState());
+        }
     }
 
     void executeNext()
     {
-        log.info("Reading next operation");
+        boolean logging = isLoggingOperations();
+        if (logging) {
+            log.info("Reading next operation");
+        }
         long opStartCycle = clock.getCycleCount() + 1;
-        long opStartTime = System.nanoTime();
+        long opStartTime = logging ? System.nanoTime() : 0L;
+
+        int instruction = fetch();
+        int opCode = instruction & 0xFF;
+        int operand = (instruction >>> 8) & 0xFFFF;
+
+        if (logging) {
+            executeWithLogging(opCode, operand, opStartTime);
+        } else {
+            instructions[opCode].execute(operand);
+        }
+
+        operationCompleted(opCode, operand, opStartCycle);
+    }
+
+    /**
+     * Execute the instruction at the program counter together with the one after it if they form a
+     * {@link Superinstruction} and both are cached.
+     *
+     * @return {@code true} if a pair was executed, even if only its first instruction ran; {@code false} if the next
+     *         instruction must be executed on its own
+     */
+    private boolean executeFused()
+    {
+        // the second instruction would not be logged
+        if (!fuseInstructions || isLoggingOperations()) {
+            return false;
+        }
+
+        InstructionCache cache = Objects.requireNonNull(instructionCache);
+        int first = cache.get(registers.pc);
+        if (first == InstructionCache.MISS) {
+            return false;
+        }
+
+        int opCode = first & 0xFF;
+        int second = cache.get((registers.pc + 1 + InstructionDecoder.operandLength(opCode)) & 0xFFFF);
+        if (second == InstructionCache.MISS) {
+            return false;
+        }
+
+        Superinstruction superinstruction = Superinstruction.match(opCode, second & 0xFF);
+        if (superinstruction == null) {
+            return false;
+        }
+
+        if (fusedInstructions[superinstruction.ordinal()].execute(first, second)) {
+            fusionCounts[superinstruction.ordinal()]++;
+        }
+        return true;
+    }
+
+    /**
+     * Replay the fetch of an instruction in a fused pair.
+     *
+     * @param instruction the packed instruction
+     * @return the cycle the instruction started in
+     */
+    private long beginFused(int instruction)
+    {
+        long opStartCycle = clock.getCycleCount() + 1;
+        replayFetch(instruction);
+        return opStartCycle;
+    }
+
+    /**
+     * Complete the first instruction of a fused pair and decide whether the second may follow. Nothing that could
+     * happen between two instructions is skipped: a pending interrupt, a thread interrupt or a write that replaced the
+     * second instruction leaves it to the run loop.
+     *
+     * @param first        the packed first instruction
+     * @param opStartCycle the cycle the first instruction started in
+     * @param second       the packed second instruction
+     * @return {@code true} if the second instruction may be executed
+     */
+    private boolean continueFused(int first, long opStartCycle, int second)
+    {
+        operationCompleted(first & 0xFF, operand(first), opStartCycle);
+
+        return !Thread.currentThread().isInterrupted()
+               && !interrupts.isPending(registers.isSet(IRQ_DISABLE))
+               && Objects.requireNonNull(instructionCache).get(registers.pc) == second;
+    }
+
+    /**
+     * Execute a branch that ends a fused pair.
+     *
+     * @param second    the packed branch instruction
+     * @param condition {@code true} if the branch is taken
+     * @return always {@code true}, for the handler to return
+     */
+    private boolean finishFusedBranch(int second, boolean condition)
+    {
+        long opStartCycle = beginFused(second);
+        branchIf(condition, operand(second));
+        operationCompleted(second & 0xFF, operand(second), opStartCycle);
+        return true;
+    }
+
+    private static int operand(int instruction)
+    {
+        return (instruction >>> 8) & 0xFFFF;
+    }
+
+    private void operationCompleted(int opCode, int operand, long opStartCycle)
+    {
+        if (events.hasOperationListeners()) {
+            fireOperationCompleted(getState(), opCode, operand, opStartCycle, clock.getCycleCount());
+        }
+    }
+
+    /**
+     * Forget the decoded and compiled code fetched from the given range of addresses, so that it is read from memory
+     * again the next time it runs, along with the reported stack contents if the range covers page one. Writes made by
+     * the CPU do this on their own; call this when memory changes some other way, such as when a bank switch swaps the
+     * contents of a window. It must be called on the thread running the CPU, for instance by a device reacting to a
+     * write, or while the CPU is paused.
+     *
+     * @param start the first changed address
+     * @param end   the last changed address
+     */
+    public void invalidateCode(Address start, Address end)
+    {
+        stack.written(start, end);
+        if (instructionCache != null) {
+            instructionCache.invalidate(start.toUnsignedInt(), end.toUnsignedInt());
+        }
+        if (compiledBlocks != null) {
+            compiledBlocks.invalidate(start.toUnsignedInt(), end.toUnsignedInt());
+        }
+    }
+
+    /**
+     * Report how many times each {@link Superinstruction} was executed as a single unit. Pairs that never fused are
+     * included with a count of zero. The counts are updated by the thread running the CPU without synchronization, so
+     * they are only exact once that thread has stopped.
+     *
+     * @return the number of times each superinstruction fired
+     */
+    public Map<Superinstruction, Long> getFusionReport()
+    {
+        var report = new EnumMap<Superinstruction, Long>(Superinstruction.class);
+        for (Superinstruction superinstruction : Superinstruction.values()) {
+            report.put(superinstruction, fusionCounts[superinstruction.ordinal()]);
+        }
+
+        return Collections.unmodifiableMap(report);
+    }
+
+    /**
+     * Run the compiled block starting at the program counter, if there is one and nothing needs to see individual
+     * operations.
+     *
+     * @return {@code true} if a block was executed; {@code false} if the next instruction must be interpreted
+     */
+    private boolean executeCompiled()
+    {
+        if (compiledBlocks == null || isObserved()) {
+            return false;
+        }
+
+        CompiledBlock block = compiledBlocks.get(registers.pc);
+        if (block == null) {
+            return false;
+        }
+
+        block.execute(this);
+        return true;
+    }
+
+    /**
+     * Called by compiled blocks between instructions to find out whether the interpreter needs to take over.
+     *
+     * @param block the executing block
+     * @return {@code true} if the block may execute another instruction
+     */
+    private boolean canContinue(CompiledBlock block)
+    {
+        return !block.invalidated
+               && !Thread.currentThread().isInterrupted()
+               && !interrupts.isPending(registers.isSet(IRQ_DISABLE));
+    }
+
+    /**
+     * Called by compiled blocks before jumping back to their first instruction. Observers added while the block runs
+     * are noticed here, so they miss at most one pass through the block.
+     *
+     * @param block the executing block
+     * @return {@code true} if the block may run again
+     */
+    private boolean canLoop(CompiledBlock block)
+    {
+        return canContinue(block) && !isObserved();
+    }
+
+    private boolean isObserved()
+    {
+        return !breakpoints.isEmpty()
+               || traceRecorder != null
+               || events.hasClockCycleListeners()
+               || events.hasOperationListeners()
+               || isLoggingOperations();
+    }
 
-        Operation op = decoder.nextOp(programManager);
-        try (MDC.MDCCloseable _ = MDC.putCloseable("op", op.getClass().getSimpleName())) {
-            log.info("Executing op {}", op);
-            execute(op);
-            log.info("Completed op {}", op);
+    private boolean isLoggingOperations()
+    {
+        return tracer.isEnabled() && log.isInfoEnabled();
+    }
+
+    private void executeWithLogging(int opCode, int operand, long opStartTime)
+    {
+        try (MDC.MDCCloseable _ = MDC.putCloseable("op", InstructionDecoder.mnemonic(opCode))) {
+            Operation operation = InstructionDecoder.decode(opCode, operand);
+            log.info("Executing op {}", operation);
+            instructions[opCode].execute(operand);
+            log.info("Completed op {}", operation);
             log.atTrace()
                .setMessage("Op execution time: {} ns")
                .addArgument(() -> System.nanoTime() - opStartTime)
                .log();
+            log.info("{}", getState());
+        }
+    }
 
-            CPUState state = getState();
-            log.atInfo().setMessage("{}").addArgument(state::toString).log();
+    /**
+     * Read the next instruction from memory, or replay its bus cycles if it is already cached.
+     *
+     * @return the instruction bytes packed as described by {@link InstructionCache}
+     */
+    private int fetch()
+    {
+        if (instructionCache == null) {
+            return fetchFromMemory();
+        }
 
-            fireOperationCompleted(state, op, opStartCycle, clock.getCycleCount());
+        int address = registers.pc;
+        int instruction = instructionCache.get(address);
+        if (instruction == InstructionCache.MISS) {
+            instruction = fetchFromMemory();
+            instructionCache.put(address, instruction);
+        } else {
+            replayFetch(instruction);
         }
+
+        return instruction;
     }
 
-    void execute(Operation operation)
+    private int fetchFromMemory()
     {
-        switch (operation) {
-            case ADC(AddressMode mode) -> {
-                alu.addWithCarry(accumulator, toValue(mode));
-                if (status.decimal()) {
-                    clock.waitCycles(1); // burn a cycle to update status flags
-                }
-            }
-            case AND(AddressMode mode) -> alu.calculate(accumulator, reg -> reg.and(toValue(mode)));
-            case ASL(AddressMode mode) -> readModifyWrite(mode, alu::shiftLeft);
-            case BBR0(ZeroPageRelative mode) -> branchIf(!isBitSet(toValue(mode.zp()), 0), mode.relative());
-            case BBR1(ZeroPageRelative mode) -> branchIf(!isBitSet(toValue(mode.zp()), 1), mode.relative());
-            case BBR2(ZeroPageRelative mode) -> branchIf(!isBitSet(toValue(mode.zp()), 2), mode.relative());
-            case BBR3(ZeroPageRelative mode) -> branchIf(!isBitSet(toValue(mode.zp()), 3), mode.relative());
-            case BBR4(ZeroPageRelative mode) -> branchIf(!isBitSet(toValue(mode.zp()), 4), mode.relative());
-            case BBR5(ZeroPageRelative mode) -> branchIf(!isBitSet(toValue(mode.zp()), 5), mode.relative());
-            case BBR6(ZeroPageRelative mode) -> branchIf(!isBitSet(toValue(mode.zp()), 6), mode.relative());
-            case BBR7(ZeroPageRelative mode) -> branchIf(!isBitSet(toValue(mode.zp()), 7), mode.relative());
-            case BBS0(ZeroPageRelative mode) -> branchIf(isBitSet(toValue(mode.zp()), 0), mode.relative());
-            case BBS1(ZeroPageRelative mode) -> branchIf(isBitSet(toValue(mode.zp()), 1), mode.relative());
-            case BBS2(ZeroPageRelative mode) -> branchIf(isBitSet(toValue(mode.zp()), 2), mode.relative());
-            case BBS3(ZeroPageRelative mode) -> branchIf(isBitSet(toValue(mode.zp()), 3), mode.relative());
-            case BBS4(ZeroPageRelative mode) -> branchIf(isBitSet(toValue(mode.zp()), 4), mode.relative());
-            case BBS5(ZeroPageRelative mode) -> branchIf(isBitSet(toValue(mode.zp()), 5), mode.relative());
-            case BBS6(ZeroPageRelative mode) -> branchIf(isBitSet(toValue(mode.zp()), 6), mode.relative());
-            case BBS7(ZeroPageRelative mode) -> branchIf(isBitSet(toValue(mode.zp()), 7), mode.relative());
-            case BCC(AddressMode mode) -> branchIf(!status.carry(), mode);
-            case BCS(AddressMode mode) -> branchIf(status.carry(), mode);
-            case BEQ(AddressMode mode) -> branchIf(status.zero(), mode);
-            case BIT(AddressMode mode) -> {
-                Value value = toValue(mode);
-                if (!(mode instanceof Immediate)) {
-                    // negative flag = bit 7
-                    status.setNegative((value.data() & 0x80) != 0);
-                    // overflow flag = bit 6
-                    status.setOverflow((value.data() & 0x40) != 0);
+        int opCode = programManager.nextByte();
+        return switch (InstructionDecoder.operandLength(opCode)) {
+            case 1 -> opCode | programManager.nextByte() << 8;
+            case 2 -> opCode | programManager.nextWord() << 8;
+            default -> {
+                if (InstructionDecoder.hasThrowawayRead(opCode)) {
+                    yield opCode | programManager.read() << 24;
                 }
-                status.setZero(accumulator.value().and(value).isZero());
+                yield opCode;
             }
-            case BMI(AddressMode mode) -> branchIf(status.negative(), mode);
-            case BNE(AddressMode mode) -> branchIf(!status.zero(), mode);
-            case BPL(AddressMode mode) -> branchIf(!status.negative(), mode);
-            case BRA(AddressMode mode) -> branchIf(true, mode);
-            case BRK _ -> executeInterrupt(BREAK);
-            case BVC(AddressMode mode) -> branchIf(!status.overflow(), mode);
-            case BVS(AddressMode mode) -> branchIf(status.overflow(), mode);
-            case CLC _ -> status.setCarry(false);
-            case CLD _ -> status.setDecimal(false);
-            case CLI _ -> status.setIrqDisable(false);
-            case CLV _ -> status.setOverflow(false);
-            case CMP(AddressMode mode) -> alu.compare(accumulator, toValue(mode));
-            case CPX(AddressMode mode) -> alu.compare(x, toValue(mode));
-            case CPY(AddressMode mode) -> alu.compare(y, toValue(mode));
-            case DEC(AddressMode mode) -> readModifyWrite(mode, alu::decrement);
-            case DEX _ -> alu.calculate(x, Value::decrement);
-            case DEY _ -> alu.calculate(y, Value::decrement);
-            case EOR(AddressMode mode) -> alu.calculate(accumulator, reg -> reg.xor(toValue(mode)));
-            case INC(AddressMode mode) -> readModifyWrite(mode, alu::increment);
-            case INX _ -> alu.calculate(x, Value::increment);
-            case INY _ -> alu.calculate(y, Value::increment);
-            case JMP(AddressMode mode) -> programManager.setProgramCounter(toAddress(mode));
-            case JSR(AddressMode mode) -> {
-                clock.waitCycles(1); // burn a cycle for internal operation
-                stack.pushAll(programManager.getProgramCounter().decrement().bytes().reversed());
-                programManager.setProgramCounter(toAddress(mode));
-            }
-            case LDA(AddressMode mode) -> alu.load(accumulator, toValue(mode));
-            case LDX(AddressMode mode) -> alu.load(x, toValue(mode));
-            case LDY(AddressMode mode) -> alu.load(y, toValue(mode));
-            case LSR(AddressMode mode) -> readModifyWrite(mode, alu::shiftRight);
-            case NOP _ -> {}
-            case ORA(AddressMode mode) -> alu.calculate(accumulator, reg -> reg.or(toValue(mode)));
-            case PHA _ -> pushToStack(accumulator);
-            case PHP _ -> pushToStack(status.copy().setUser(true).setBreakCommand(true));
-            case PHX _ -> pushToStack(x);
-            case PHY _ -> pushToStack(y);
-            case PLA _ -> alu.update(accumulator, this::pullFromStack);
-            case PLP _ -> pullFromStack(status);
-            case PLX _ -> alu.update(x, this::pullFromStack);
-            case PLY _ -> alu.update(y, this::pullFromStack);
-            case RMB0(AddressMode mode) -> readModifyWrite(mode, v -> v.clear(0));
-            case RMB1(AddressMode mode) -> readModifyWrite(mode, v -> v.clear(1));
-            case RMB2(AddressMode mode) -> readModifyWrite(mode, v -> v.clear(2));
-            case RMB3(AddressMode mode) -> readModifyWrite(mode, v -> v.clear(3));
-            case RMB4(AddressMode mode) -> readModifyWrite(mode, v -> v.clear(4));
-            case RMB5(AddressMode mode) -> readModifyWrite(mode, v -> v.clear(5));
-            case RMB6(AddressMode mode) -> readModifyWrite(mode, v -> v.clear(6));
-            case RMB7(AddressMode mode) -> readModifyWrite(mode, v -> v.clear(7));
-            case ROL(AddressMode mode) -> readModifyWrite(mode, alu::rotateLeft);
-            case ROR(AddressMode mode) -> readModifyWrite(mode, alu::rotateRight);
-            case RTI _ -> {
-                pullFromStack(status);
-                var address = Address.of(stack.pop(), stack.pop());
-                programManager.setProgramCounter(address);
-            }
-            case RTS _ -> {
-                clock.waitCycles(1); // burn a cycle to increment the stack pointer
-                var address = Address.of(stack.pop(), stack.pop());
-                clock.waitCycles(1); // burn a cycle to update the PC
-                programManager.setProgramCounter(address.increment());
+        };
+    }
+
+    private void replayFetch(int instruction)
+    {
+        int opCode = instruction & 0xFF;
+        replayNextByte(opCode);
+
+        switch (InstructionDecoder.operandLength(opCode)) {
+            case 1 -> replayNextByte((instruction >>> 8) & 0xFF);
+            case 2 -> {
+                replayNextByte((instruction >>> 8) & 0xFF);
+                replayNextByte((instruction >>> 16) & 0xFF);
             }
-            case SBC(AddressMode mode) -> {
-                alu.subtractWithCarry(accumulator, toValue(mode));
-                if (status.decimal()) {
-                    clock.waitCycles(1); // burn a cycle to update status flags
+            default -> {
+                if (InstructionDecoder.hasThrowawayRead(opCode)) {
+                    replayRead(programManager.getProgramCounter(), Value.of(instruction >>> 24));
                 }
             }
-            case SEC _ -> status.setCarry(true);
-            case SED _ -> status.setDecimal(true);
-            case SEI _ -> status.setIrqDisable(true);
-            case SMB0(AddressMode mode) -> readModifyWrite(mode, v -> v.set(0));
-            case SMB1(AddressMode mode) -> readModifyWrite(mode, v -> v.set(1));
-            case SMB2(AddressMode mode) -> readModifyWrite(mode, v -> v.set(2));
-            case SMB3(AddressMode mode) -> readModifyWrite(mode, v -> v.set(3));
-            case SMB4(AddressMode mode) -> readModifyWrite(mode, v -> v.set(4));
-            case SMB5(AddressMode mode) -> readModifyWrite(mode, v -> v.set(5));
-            case SMB6(AddressMode mode) -> readModifyWrite(mode, v -> v.set(6));
-            case SMB7(AddressMode mode) -> readModifyWrite(mode, v -> v.set(7));
-            case STA(AddressMode mode) -> writer.write(toAddress(mode), accumulator.value());
-            case STP _ -> {
-                // TODO - STP should put the CPU in an idle state and wait for RESET
-                log.warn("STP triggering CPU shutdown");
-                clock.waitCycles(1); // burn a cycle - reason undetermined
-                throw new HaltException("Stop requested");
+        }
+    }
+
+    private void replayNextByte(int value)
+    {
+        replayRead(programManager.getProgramCounter(), Value.of(value));
+        programManager.advance();
+    }
+
+    /**
+     * Replay fetching a known instruction byte on behalf of a compiled block, which knows the address at compile time.
+     *
+     * @param address the address of the byte
+     * @param value   the unsigned byte
+     */
+    private void replayCode(int address, int value)
+    {
+        replayRead(Address.of(address), Value.of(value));
+        registers.pc = (address + 1) & 0xFFFF;
+    }
+
+    private void replayThrowaway(int address, int value)
+    {
+        replayRead(Address.of(address), Value.of(value));
+    }
+
+    private void replayRead(Address address, Value value)
+    {
+        clock.beginCycle();
+        try {
+            bus.update(address, value, BusAction.READ);
+            watchHit = watchpoints.isReadWatched(address.toUnsignedInt());
+            if (tracer.isEnabled()) {
+                log.info("Read {} from {} (cached)", value, address);
             }
-            case STX(AddressMode mode) -> writer.write(toAddress(mode), x.value());
-            case STY(AddressMode mode) -> writer.write(toAddress(mode), y.value());
-            case STZ(AddressMode mode) -> writer.write(toAddress(mode), Value.ZERO);
-            case TAX _ -> alu.load(x, accumulator.value());
-            case TAY _ -> alu.load(y, accumulator.value());
-            case TRB(AddressMode mode) -> readModifyWrite(mode, v -> {
-                status.setZero(accumulator.value().and(v).isZero());
-                return accumulator.value().not().and(v);
+        } finally {
+            clock.endCycle();
+        }
+    }
+
+    private FusedInstruction[] createFusedInstructions()
+    {
+        var table = new FusedInstruction[Superinstruction.values().length];
+        for (Superinstruction superinstruction : Superinstruction.values()) {
+            table[superinstruction.ordinal()] = switch (superinstruction) {
+                case DEX_BNE -> (first, second) -> {
+                    long opStartCycle = beginFused(first);
+                    registers.x = alu.decrement(registers.x);
+                    return continueFused(first, opStartCycle, second)
+                           && finishFusedBranch(second, !registers.isSet(ZERO));
+                };
+                case DEY_BNE -> (first, second) -> {
+                    long opStartCycle = beginFused(first);
+                    registers.y = alu.decrement(registers.y);
+                    return continueFused(first, opStartCycle, second)
+                           && finishFusedBranch(second, !registers.isSet(ZERO));
+                };
+                case LDA_STA -> (first, second) -> {
+                    long opStartCycle = beginFused(first);
+                    int source = operand(first);
+                    registers.a = alu.load((byte) first == LDA.IMMEDIATE ? source : read(source));
+                    if (!continueFused(first, opStartCycle, second)) {
+                        return false;
+                    }
+
+                    opStartCycle = beginFused(second);
+                    int target = operand(second);
+                    write(switch ((byte) second) {
+                        case STA.ABSOLUTE_X -> absoluteX(target);
+                        case STA.ABSOLUTE_Y -> absoluteY(target);
+                        default -> target;
+                    }, registers.a);
+                    operationCompleted(second & 0xFF, target, opStartCycle);
+                    return true;
+                };
+                case CMP_BEQ, CMP_BNE -> {
+                    boolean branchIfEqual = superinstruction == Superinstruction.CMP_BEQ;
+                    yield (first, second) -> {
+                        long opStartCycle = beginFused(first);
+                        int source = operand(first);
+                        alu.compare(registers.a, (byte) first == CMP.IMMEDIATE ? source : read(source));
+                        return continueFused(first, opStartCycle, second)
+                               && finishFusedBranch(second, registers.isSet(ZERO) == branchIfEqual);
+                    };
+                }
+                case INC_BNE -> (first, second) -> {
+                    long opStartCycle = beginFused(first);
+                    readModifyWrite(operand(first), alu::increment);
+                    return continueFused(first, opStartCycle, second)
+                           && finishFusedBranch(second, !registers.isSet(ZERO));
+                };
+            };
+        }
+
+        return table;
+    }
+
+    private Instruction[] createInstructions()
+    {
+        var table = new Instruction[256];
+        for (int opCode = 0; opCode < table.length; opCode++) {
+            Value code = Value.of(opCode);
+            table[opCode] = _ -> unused(code);
+        }
+
+        // bind the read-modify-write functions once so that executing an instruction does not allocate them
+        IntUnaryOperator shiftLeft = alu::shiftLeft;
+        IntUnaryOperator shiftRight = alu::shiftRight;
+        IntUnaryOperator rotateLeft = alu::rotateLeft;
+        IntUnaryOperator rotateRight = alu::rotateRight;
+        IntUnaryOperator increment = alu::increment;
+        IntUnaryOperator decrement = alu::decrement;
+        IntUnaryOperator testAndReset = this::testAndReset;
+        IntUnaryOperator testAndSet = this::testAndSet;
+
+        // @formatter:off
+        define(table, ADC.ABSOLUTE, o -> adc(read(o)));
+        define(table, ADC.ABSOLUTE_X, o -> adc(read(absoluteX(o))));
+        define(table, ADC.ABSOLUTE_Y, o -> adc(read(absoluteY(o))));
+        define(table, ADC.IMMEDIATE, o -> adc(o));
+        define(table, ADC.ZP, o -> adc(read(o)));
+        define(table, ADC.ZP_X_INDIRECT, o -> adc(read(zpXIndirect(o))));
+        define(table, ADC.ZP_X, o -> adc(read(zpX(o))));
+        define(table, ADC.ZP_INDIRECT, o -> adc(read(zpIndirect(o))));
+        define(table, ADC.ZP_INDIRECT_Y, o -> adc(read(zpIndirectY(o))));
+
+        define(table, AND.ABSOLUTE, o -> and(read(o)));
+        define(table, AND.ABSOLUTE_X, o -> and(read(absoluteX(o))));
+        define(table, AND.ABSOLUTE_Y, o -> and(read(absoluteY(o))));
+        define(table, AND.IMMEDIATE, o -> and(o));
+        define(table, AND.ZP, o -> and(read(o)));
+        define(table, AND.ZP_X_INDIRECT, o -> and(read(zpXIndirect(o))));
+        define(table, AND.ZP_X, o -> and(read(zpX(o))));
+        define(table, AND.ZP_INDIRECT, o -> and(read(zpIndirect(o))));
+        define(table, AND.ZP_INDIRECT_Y, o -> and(read(zpIndirectY(o))));
+
+        define(table, ASL.ABSOLUTE, o -> readModifyWrite(o, shiftLeft));
+        define(table, ASL.ABSOLUTE_X, o -> readModifyWrite(absoluteX(o), shiftLeft));
+        define(table, ASL.ACCUMULATOR, _ -> modifyAccumulator(shiftLeft));
+        define(table, ASL.ZP, o -> readModifyWrite(o, shiftLeft));
+        define(table, ASL.ZP_X, o -> readModifyWrite(zpX(o), shiftLeft));
+
+        define(table, BBR0.ZP_RELATIVE, o -> branchIf(!isBitSet(read(o & 0xFF), 0), o >>> 8));
+        define(table, BBR1.ZP_RELATIVE, o -> branchIf(!isBitSet(read(o & 0xFF), 1), o >>> 8));
+        define(table, BBR2.ZP_RELATIVE, o -> branchIf(!isBitSet(read(o & 0xFF), 2), o >>> 8));
+        define(table, BBR3.ZP_RELATIVE, o -> branchIf(!isBitSet(read(o & 0xFF), 3), o >>> 8));
+        define(table, BBR4.ZP_RELATIVE, o -> branchIf(!isBitSet(read(o & 0xFF), 4), o >>> 8));
+        define(table, BBR5.ZP_RELATIVE, o -> branchIf(!isBitSet(read(o & 0xFF), 5), o >>> 8));
+        define(table, BBR6.ZP_RELATIVE, o -> branchIf(!isBitSet(read(o & 0xFF), 6), o >>> 8));
+        define(table, BBR7.ZP_RELATIVE, o -> branchIf(!isBitSet(read(o & 0xFF), 7), o >>> 8));
+
+        define(table, BBS0.ZP_RELATIVE, o -> branchIf(isBitSet(read(o & 0xFF), 0), o >>> 8));
+        define(table, BBS1.ZP_RELATIVE, o -> branchIf(isBitSet(read(o & 0xFF), 1), o >>> 8));
+        define(table, BBS2.ZP_RELATIVE, o -> branchIf(isBitSet(read(o & 0xFF), 2), o >>> 8));
+        define(table, BBS3.ZP_RELATIVE, o -> branchIf(isBitSet(read(o & 0xFF), 3), o >>> 8));
+        define(table, BBS4.ZP_RELATIVE, o -> branchIf(isBitSet(read(o & 0xFF), 4), o >>> 8));
+        define(table, BBS5.ZP_RELATIVE, o -> branchIf(isBitSet(read(o & 0xFF), 5), o >>> 8));
+        define(table, BBS6.ZP_RELATIVE, o -> branchIf(isBitSet(read(o & 0xFF), 6), o >>> 8));
+        define(table, BBS7.ZP_RELATIVE, o -> branchIf(isBitSet(read(o & 0xFF), 7), o >>> 8));
+
+        define(table, BCC.RELATIVE, o -> branchIf(!registers.isSet(CARRY), o));
+        define(table, BCS.RELATIVE, o -> branchIf(registers.isSet(CARRY), o));
+        define(table, BEQ.RELATIVE, o -> branchIf(registers.isSet(ZERO), o));
+
+        define(table, BIT.ABSOLUTE, o -> bit(read(o)));
+        define(table, BIT.ABSOLUTE_X, o -> bit(read(absoluteX(o))));
+        define(table, BIT.ZP, o -> bit(read(o)));
+        define(table, BIT.ZP_X, o -> bit(read(zpX(o))));
+        define(table, BIT.IMMEDIATE, o -> testBits(o));
+
+        define(table, BMI.RELATIVE, o -> branchIf(registers.isSet(NEGATIVE), o));
+        define(table, BNE.RELATIVE, o -> branchIf(!registers.isSet(ZERO), o));
+        define(table, BPL.RELATIVE, o -> branchIf(!registers.isSet(NEGATIVE), o));
+        define(table, BRA.RELATIVE, o -> branchIf(true, o));
+
+        define(table, BRK.STACK, _ -> executeInterrupt(BREAK));
+
+        define(table, BVC.RELATIVE, o -> branchIf(!registers.isSet(OVERFLOW), o));
+        define(table, BVS.RELATIVE, o -> branchIf(registers.isSet(OVERFLOW), o));
+
+        define(table, CLC.IMPLIED, _ -> registers.set(CARRY, false));
+        define(table, CLD.IMPLIED, _ -> registers.set(DECIMAL, false));
+        define(table, CLI.IMPLIED, _ -> registers.set(IRQ_DISABLE, false));
+        define(table, CLV.IMPLIED, _ -> registers.set(OVERFLOW, false));
+
+        define(table, CMP.ABSOLUTE, o -> alu.compare(registers.a, read(o)));
+        define(table, CMP.ABSOLUTE_X, o -> alu.compare(registers.a, read(absoluteX(o))));
+        define(table, CMP.ABSOLUTE_Y, o -> alu.compare(registers.a, read(absoluteY(o))));
+        define(table, CMP.IMMEDIATE, o -> alu.compare(registers.a, o));
+        define(table, CMP.ZP, o -> alu.compare(registers.a, read(o)));
+        define(table, CMP.ZP_X_INDIRECT, o -> alu.compare(registers.a, read(zpXIndirect(o))));
+        define(table, CMP.ZP_X, o -> alu.compare(registers.a, read(zpX(o))));
+        define(table, CMP.ZP_INDIRECT, o -> alu.compare(registers.a, read(zpIndirect(o))));
+        define(table, CMP.ZP_INDIRECT_Y, o -> alu.compare(registers.a, read(zpIndirectY(o))));
+
+        define(table, CPX.ABSOLUTE, o -> alu.compare(registers.x, read(o)));
+        define(table, CPX.IMMEDIATE, o -> alu.compare(registers.x, o));
+        define(table, CPX.ZP, o -> alu.compare(registers.x, read(o)));
+
+        define(table, CPY.ABSOLUTE, o -> alu.compare(registers.y, read(o)));
+        define(table, CPY.IMMEDIATE, o -> alu.compare(registers.y, o));
+        define(table, CPY.ZP, o -> alu.compare(registers.y, read(o)));
+
+        define(table, DEC.ABSOLUTE, o -> readModifyWrite(o, decrement));
+        define(table, DEC.ABSOLUTE_X, o -> readModifyWrite(absoluteX(o), decrement));
+        define(table, DEC.ACCUMULATOR, _ -> modifyAccumulator(decrement));
+        define(table, DEC.ZP, o -> readModifyWrite(o, decrement));
+        define(table, DEC.ZP_X, o -> readModifyWrite(zpX(o), decrement));
+
+        define(table, DEX.IMPLIED, _ -> registers.x = alu.decrement(registers.x));
+        define(table, DEY.IMPLIED, _ -> registers.y = alu.decrement(registers.y));
+
+        define(table, EOR.ABSOLUTE, o -> eor(read(o)));
+        define(table, EOR.ABSOLUTE_X, o -> eor(read(absoluteX(o))));
+        define(table, EOR.ABSOLUTE_Y, o -> eor(read(absoluteY(o))));
+        define(table, EOR.IMMEDIATE, o -> eor(o));
+        define(table, EOR.ZP, o -> eor(read(o)));
+        define(table, EOR.ZP_X_INDIRECT, o -> eor(read(zpXIndirect(o))));
+        define(table, EOR.ZP_X, o -> eor(read(zpX(o))));
+        define(table, EOR.ZP_INDIRECT, o -> eor(read(zpIndirect(o))));
+        define(table, EOR.ZP_INDIRECT_Y, o -> eor(read(zpIndirectY(o))));
+
+        define(table, INC.ABSOLUTE, o -> readModifyWrite(o, increment));
+        define(table, INC.ABSOLUTE_X, o -> readModifyWrite(absoluteX(o), increment));
+        define(table, INC.ACCUMULATOR, _ -> modifyAccumulator(increment));
+        define(table, INC.ZP, o -> readModifyWrite(o, increment));
+        define(table, INC.ZP_X, o -> readModifyWrite(zpX(o), increment));
+
+        define(table, INX.IMPLIED, _ -> registers.x = alu.increment(registers.x));
+        define(table, INY.IMPLIED, _ -> registers.y = alu.increment(registers.y));
+
+        define(table, JMP.ABSOLUTE, o -> jump(o));
+        define(table, JMP.ABSOLUTE_X_INDIRECT, o -> jump(absoluteXIndirect(o)));
+        define(table, JMP.ABSOLUTE_INDIRECT, o -> jump(absoluteIndirect(o)));
+
+        define(table, JSR.ABSOLUTE, o -> jumpToSubroutine(o));
+
+        define(table, LDA.ABSOLUTE, o -> registers.a = alu.load(read(o)));
+        define(table, LDA.ABSOLUTE_X, o -> registers.a = alu.load(read(absoluteX(o))));
+        define(table, LDA.ABSOLUTE_Y, o -> registers.a = alu.load(read(absoluteY(o))));
+        define(table, LDA.IMMEDIATE, o -> registers.a = alu.load(o));
+        define(table, LDA.ZP, o -> registers.a = alu.load(read(o)));
+        define(table, LDA.ZP_X_INDIRECT, o -> registers.a = alu.load(read(zpXIndirect(o))));
+        define(table, LDA.ZP_X, o -> registers.a = alu.load(read(zpX(o))));
+        define(table, LDA.ZP_INDIRECT, o -> registers.a = alu.load(read(zpIndirect(o))));
+        define(table, LDA.ZP_INDIRECT_Y, o -> registers.a = alu.load(read(zpIndirectY(o))));
+
+        define(table, LDX.ABSOLUTE, o -> registers.x = alu.load(read(o)));
+        define(table, LDX.ABSOLUTE_Y, o -> registers.x = alu.load(read(absoluteY(o))));
+        define(table, LDX.IMMEDIATE, o -> registers.x = alu.load(o));
+        define(table, LDX.ZP, o -> registers.x = alu.load(read(o)));
+        define(table, LDX.ZP_Y, o -> registers.x = alu.load(read(zpY(o))));
+
+        define(table, LDY.ABSOLUTE, o -> registers.y = alu.load(read(o)));
+        define(table, LDY.ABSOLUTE_X, o -> registers.y = alu.load(read(absoluteX(o))));
+        define(table, LDY.IMMEDIATE, o -> registers.y = alu.load(o));
+        define(table, LDY.ZP, o -> registers.y = alu.load(read(o)));
+        define(table, LDY.ZP_X, o -> registers.y = alu.load(read(zpX(o))));
+
+        define(table, LSR.ABSOLUTE, o -> readModifyWrite(o, shiftRight));
+        define(table, LSR.ABSOLUTE_X, o -> readModifyWrite(absoluteX(o), shiftRight));
+        define(table, LSR.ACCUMULATOR, _ -> modifyAccumulator(shiftRight));
+        define(table, LSR.ZP, o -> readModifyWrite(o, shiftRight));
+        define(table, LSR.ZP_X, o -> readModifyWrite(zpX(o), shiftRight));
+
+        define(table, NOP.IMPLIED, _ -> {});
+
+        define(table, ORA.ABSOLUTE, o -> ora(read(o)));
+        define(table, ORA.ABSOLUTE_X, o -> ora(read(absoluteX(o))));
+        define(table, ORA.ABSOLUTE_Y, o -> ora(read(absoluteY(o))));
+        define(table, ORA.IMMEDIATE, o -> ora(o));
+        define(table, ORA.ZP, o -> ora(read(o)));
+        define(table, ORA.ZP_X_INDIRECT, o -> ora(read(zpXIndirect(o))));
+        define(table, ORA.ZP_X, o -> ora(read(zpX(o))));
+        define(table, ORA.ZP_INDIRECT, o -> ora(read(zpIndirect(o))));
+        define(table, ORA.ZP_INDIRECT_Y, o -> ora(read(zpIndirectY(o))));
+
+        define(table, PHA.STACK, _ -> stack.push(registers.a));
+        define(table, PHP.STACK, _ -> stack.push(registers.p | USER | BREAK_COMMAND));
+        define(table, PHX.STACK, _ -> stack.push(registers.x));
+        define(table, PHY.STACK, _ -> stack.push(registers.y));
+
+        define(table, PLA.STACK, _ -> registers.a = alu.load(pullFromStack()));
+        define(table, PLP.STACK, _ -> registers.p = pullFromStack());
+        define(table, PLX.STACK, _ -> registers.x = alu.load(pullFromStack()));
+        define(table, PLY.STACK, _ -> registers.y = alu.load(pullFromStack()));
+
+        define(table, RMB0.ZP, o -> readModifyWrite(o, v -> v & ~(0x01 << 0)));
+        define(table, RMB1.ZP, o -> readModifyWrite(o, v -> v & ~(0x01 << 1)));
+        define(table, RMB2.ZP, o -> readModifyWrite(o, v -> v & ~(0x01 << 2)));
+        define(table, RMB3.ZP, o -> readModifyWrite(o, v -> v & ~(0x01 << 3)));
+        define(table, RMB4.ZP, o -> readModifyWrite(o, v -> v & ~(0x01 << 4)));
+        define(table, RMB5.ZP, o -> readModifyWrite(o, v -> v & ~(0x01 << 5)));
+        define(table, RMB6.ZP, o -> readModifyWrite(o, v -> v & ~(0x01 << 6)));
+        define(table, RMB7.ZP, o -> readModifyWrite(o, v -> v & ~(0x01 << 7)));
+
+        define(table, ROL.ABSOLUTE, o -> readModifyWrite(o, rotateLeft));
+        define(table, ROL.ABSOLUTE_X, o -> readModifyWrite(absoluteX(o), rotateLeft));
+        define(table, ROL.ACCUMULATOR, _ -> modifyAccumulator(rotateLeft));
+        define(table, ROL.ZP, o -> readModifyWrite(o, rotateLeft));
+        define(table, ROL.ZP_X, o -> readModifyWrite(zpX(o), rotateLeft));
+
+        define(table, ROR.ABSOLUTE, o -> readModifyWrite(o, rotateRight));
+        define(table, ROR.ABSOLUTE_X, o -> readModifyWrite(absoluteX(o), rotateRight));
+        define(table, ROR.ACCUMULATOR, _ -> modifyAccumulator(rotateRight));
+        define(table, ROR.ZP, o -> readModifyWrite(o, rotateRight));
+        define(table, ROR.ZP_X, o -> readModifyWrite(zpX(o), rotateRight));
+
+        define(table, RTI.STACK, _ -> returnFromInterrupt());
+        define(table, RTS.STACK, _ -> returnFromSubroutine());
+
+        define(table, SBC.ABSOLUTE, o -> sbc(read(o)));
+        define(table, SBC.ABSOLUTE_X, o -> sbc(read(absoluteX(o))));
+        define(table, SBC.ABSOLUTE_Y, o -> sbc(read(absoluteY(o))));
+        define(table, SBC.IMMEDIATE, o -> sbc(o));
+        define(table, SBC.ZP, o -> sbc(read(o)));
+        define(table, SBC.ZP_X_INDIRECT, o -> sbc(read(zpXIndirect(o))));
+        define(table, SBC.ZP_X, o -> sbc(read(zpX(o))));
+        define(table, SBC.ZP_INDIRECT, o -> sbc(read(zpIndirect(o))));
+        define(table, SBC.ZP_INDIRECT_Y, o -> sbc(read(zpIndirectY(o))));
+
+        define(table, SEC.IMPLIED, _ -> registers.set(CARRY, true));
+        define(table, SED.IMPLIED, _ -> registers.set(DECIMAL, true));
+        define(table, SEI.IMPLIED, _ -> registers.set(IRQ_DISABLE, true));
+
+        define(table, SMB0.ZP, o -> readModifyWrite(o, v -> v | 0x01 << 0));
+        define(table, SMB1.ZP, o -> readModifyWrite(o, v -> v | 0x01 << 1));
+        define(table, SMB2.ZP, o -> readModifyWrite(o, v -> v | 0x01 << 2));
+        define(table, SMB3.ZP, o -> readModifyWrite(o, v -> v | 0x01 << 3));
+        define(table, SMB4.ZP, o -> readModifyWrite(o, v -> v | 0x01 << 4));
+        define(table, SMB5.ZP, o -> readModifyWrite(o, v -> v | 0x01 << 5));
+        define(table, SMB6.ZP, o -> readModifyWrite(o, v -> v | 0x01 << 6));
+        define(table, SMB7.ZP, o -> readModifyWrite(o, v -> v | 0x01 << 7));
+
+        define(table, STA.ABSOLUTE, o -> write(o, registers.a));
+        define(table, STA.ABSOLUTE_X, o -> write(absoluteX(o), registers.a));
+        define(table, STA.ABSOLUTE_Y, o -> write(absoluteY(o), registers.a));
+        define(table, STA.ZP, o -> write(o, registers.a));
+        define(table, STA.ZP_X_INDIRECT, o -> write(zpXIndirect(o), registers.a));
+        define(table, STA.ZP_X, o -> write(zpX(o), registers.a));
+        define(table, STA.ZP_INDIRECT, o -> write(zpIndirect(o), registers.a));
+        define(table, STA.ZP_INDIRECT_Y, o -> write(zpIndirectY(o), registers.a));
+
+        define(table, STP.IMPLIED, _ -> stop());
+
+        define(table, STX.ABSOLUTE, o -> write(o, registers.x));
+        define(table, STX.ZP, o -> write(o, registers.x));
+        define(table, STX.ZP_Y, o -> write(zpY(o), registers.x));
+
+        define(table, STY.ABSOLUTE, o -> write(o, registers.y));
+        define(table, STY.ZP, o -> write(o, registers.y));
+        define(table, STY.ZP_X, o -> write(zpX(o), registers.y));
+
+        define(table, STZ.ABSOLUTE, o -> write(o, 0));
+        define(table, STZ.ABSOLUTE_X, o -> write(absoluteX(o), 0));
+        define(table, STZ.ZP, o -> write(o, 0));
+        define(table, STZ.ZP_X, o -> write(zpX(o), 0));
+
+        define(table, TAX.IMPLIED, _ -> registers.x = alu.load(registers.a));
+        define(table, TAY.IMPLIED, _ -> registers.y = alu.load(registers.a));
+
+        define(table, TRB.ABSOLUTE, o -> readModifyWrite(o, testAndReset));
+        define(table, TRB.ZP, o -> readModifyWrite(o, testAndReset));
+
+        define(table, TSB.ABSOLUTE, o -> readModifyWrite(o, testAndSet));
+        define(table, TSB.ZP, o -> readModifyWrite(o, testAndSet));
+
+        define(table, TSX.IMPLIED, _ -> registers.x = alu.load(registers.sp));
+        define(table, TXA.IMPLIED, _ -> registers.a = alu.load(registers.x));
+        define(table, TXS.IMPLIED, _ -> registers.sp = registers.x);
+        define(table, TYA.IMPLIED, _ -> registers.a = alu.load(registers.y));
+
+        define(table, WAI.IMPLIED, _ -> waitForInterrupt());
+        // @formatter:on
+
+        // unused op codes do nothing, but those with memory operands still read them
+        for (byte opCode : new byte[] {UNUSED.X44, UNUSED.XDC, UNUSED.XFC}) {
+            define(table, opCode, o -> {
+                unused(Value.of(opCode));
+                read(o);
             });
-            case TSB(AddressMode mode) -> readModifyWrite(mode, v -> {
-                status.setZero(accumulator.value().and(v).isZero());
-                return accumulator.value().or(v);
+        }
+        for (byte opCode : new byte[] {UNUSED.X54, UNUSED.XD4, UNUSED.XF4}) {
+            define(table, opCode, o -> {
+                unused(Value.of(opCode));
+                read(zpX(o));
             });
-            case TSX _ -> alu.load(x, stack.getPointer().low());
-            case TXA _ -> alu.load(accumulator, x.value());
-            case TXS _ -> stack.setPointer(x.value());
-            case TYA _ -> alu.load(accumulator, y.value());
-            case WAI _ -> {
-                // TODO - WAI should put the CPU in an idle state waiting for any interrupt
-                log.warn("WAI skipped as NOP");
-                clock.waitCycles(1); // burn a cycle - reason undetermined
-            }
+        }
+        define(table, UNUSED.X5C, _ -> {
+            unused(Value.of(UNUSED.X5C));
+            // $5C on real hardware actually reads from some valid address using an unknown address mode
+            read((int) (Math.random() * 0x10000)); // pick a random address to read from
+            clock.waitCycles(4); // burn four cycles - reason undetermined
+        });
 
-            case UNUSED(Value code, AddressMode mode) -> {
-                log.warn("Unsupported op code detected: {}", code);
+        return table;
+    }
 
-                switch (mode) {
-                    case Implied _ -> {}
-                    default -> toValue(mode);
-                }
+    private static void define(Instruction[] table, byte opCode, Instruction instruction)
+    {
+        table[Byte.toUnsignedInt(opCode)] = instruction;
+    }
 
-                if (Value.of(UNUSED.X5C).equals(code)) {
-                    clock.waitCycles(4); // burn four cycles - reason undetermined
-                }
-            }
-        }
+    // --------------- Start Address Modes ------------------
+
+    private int absoluteX(int address)
+    {
+        return waitToCrossPageBoundary(address, address + registers.x);
     }
 
-    private Address toAddress(AddressMode mode)
+    private int absoluteY(int address)
     {
-        return switch (mode) {
-            case Absolute(Address address) -> address;
-            case AbsoluteIndexedXIndirect(Address address) -> {
-                clock.waitCycles(1); // burn a cycle to fix page boundary bug
-                var pointer = address.plusUnsigned(x.value());
-                yield Address.of(reader.read(pointer), reader.read(pointer.increment()));
-            }
-            case AbsoluteIndexedX(Address address) -> waitToCrossPageBoundary(address, a -> a.plusUnsigned(x.value()));
-            case AbsoluteIndexedY(Address address) -> waitToCrossPageBoundary(address, a -> a.plusUnsigned(y.value()));
-            case AbsoluteIndirect(Address address) -> {
-                clock.waitCycles(1); // burn a cycle to fix page boundary bug
-                yield Address.of(reader.read(address), reader.read(address.increment()));
-            }
-            case Relative(Value displacement) -> waitToCrossPageBoundary(programManager.getProgramCounter(),
-                                                                         a -> a.plus(displacement));
-            case ZeroPage(Value offset) -> Address.zeroPage(offset);
-            case ZeroPageIndexedXIndirect(Value offset) -> {
-                throwawayRead(Address.zeroPage(offset));
-                var pointer = Address.zeroPage(offset.plus(x.value()));
-                yield Address.of(reader.read(pointer), reader.read(pointer.increment()));
-            }
-            case ZeroPageIndexedX(Value offset) -> {
-                throwawayRead(Address.zeroPage(offset));
-                yield Address.zeroPage(offset.plus(x.value()));
-            }
-            case ZeroPageIndexedY(Value offset) -> {
-                throwawayRead(Address.zeroPage(offset));
-                yield Address.zeroPage(offset.plus(y.value()));
-            }
-            case ZeroPageIndirect(Value offset) -> {
-                var pointer = Address.zeroPage(offset);
-                yield Address.of(reader.read(pointer), reader.read(pointer.increment()));
-            }
-            case ZeroPageIndirectIndexedY(Value offset) -> {
-                var pointer = Address.zeroPage(offset);
-                Address intermediate = Address.of(reader.read(pointer), reader.read(pointer.increment()));
-                yield waitToCrossPageBoundary(intermediate, a -> a.plusUnsigned(y.value()));
-            }
-            default -> throw new UnsupportedOperationException("Mode " + mode + " does not support address conversion");
-        };
+        return waitToCrossPageBoundary(address, address + registers.y);
     }
 
-    private Value toValue(AddressMode mode)
+    private int absoluteIndirect(int address)
     {
-        return switch (mode) {
-            case Accumulator() -> accumulator.value();
-            case Immediate(Value value) -> value;
-            default -> reader.read(toAddress(mode));
-        };
+        clock.waitCycles(1); // burn a cycle to fix page boundary bug
+        return readAddress(address);
     }
 
-    private void throwawayRead(Address address)
+    private int absoluteXIndirect(int address)
     {
-        log.info("Performing throwaway read");
-        reader.read(address);
+        clock.waitCycles(1); // burn a cycle to fix page boundary bug
+        return readAddress(address + registers.x);
     }
 
-    private void readModifyWrite(AddressMode mode, Function<Value, Value> function)
+    private int relative(int displacement)
     {
-        if (mode instanceof Accumulator) {
-            Value output = function.apply(accumulator.value());
-            accumulator.load(output);
-        } else {
-            Address address = toAddress(mode);
+        int programCounter = registers.pc;
+        return waitToCrossPageBoundary(programCounter, programCounter + (byte) displacement);
+    }
 
-            throwawayRead(address);
-            Value input = reader.read(address);
+    private int zpX(int offset)
+    {
+        throwawayRead(offset);
+        return (offset + registers.x) & 0xFF;
+    }
 
-            Value output = function.apply(input);
-            writer.write(address, output);
-        }
+    private int zpY(int offset)
+    {
+        throwawayRead(offset);
+        return (offset + registers.y) & 0xFF;
     }
 
-    private void pushToStack(Register register)
+    private int zpXIndirect(int offset)
     {
-        stack.push(register.value());
+        throwawayRead(offset);
+        return readAddress((offset + registers.x) & 0xFF);
     }
 
-    private void pullFromStack(Register register)
+    private int zpIndirect(int offset)
     {
-        clock.waitCycles(1); // burn a cycle to increment the stack pointer
-        register.load(stack.pop());
+        return readAddress(offset);
     }
 
-    private void branchIf(boolean condition, AddressMode mode)
+    private int zpIndirectY(int offset)
     {
-        if (condition) {
-            Address target = toAddress(mode);
-            clock.waitCycles(1); // burn a cycle when branch is taken
-            programManager.setProgramCounter(target);
-        }
+        int intermediate = readAddress(offset);
+        return waitToCrossPageBoundary(intermediate, intermediate + registers.y);
     }
 
-    private Address waitToCrossPageBoundary(Address source, Function<Address, Address> toTarget)
+    private int waitToCrossPageBoundary(int source, int target)
     {
-        Address target = toTarget.apply(source);
+        target &= 0xFFFF;
 
         // wait one cycle if a page boundary will be crossed
-        if (!source.high().equals(target.high())) {
+        if ((source & 0xFF00) != (target & 0xFF00)) {
             clock.waitCycles(1);
-            log.info("Crossed page boundary");
+            if (tracer.isEnabled()) {
+                log.info("Crossed page boundary");
+            }
         }
 
         return target;
     }
 
-    private boolean isBitSet(Value value, int position)
+    // --------------- End Address Modes ------------------
+
+    // --------------- Start Operations ------------------
+
+    private void adc(int value)
+    {
+        alu.addWithCarry(value);
+        if (registers.isSet(DECIMAL)) {
+            clock.waitCycles(1); // burn a cycle to update status flags
+        }
+    }
+
+    private void sbc(int value)
+    {
+        alu.subtractWithCarry(value);
+        if (registers.isSet(DECIMAL)) {
+            clock.waitCycles(1); // burn a cycle to update status flags
+        }
+    }
+
+    private void and(int value)
+    {
+        registers.a = alu.load(registers.a & value);
+    }
+
+    private void eor(int value)
+    {
+        registers.a = alu.load(registers.a ^ value);
+    }
+
+    private void ora(int value)
+    {
+        registers.a = alu.load(registers.a | value);
+    }
+
+    private void bit(int value)
+    {
+        // negative flag = bit 7
+        registers.set(NEGATIVE, (value & 0x80) != 0);
+        // overflow flag = bit 6
+        registers.set(OVERFLOW, (value & 0x40) != 0);
+
+        testBits(value);
+    }
+
+    private void testBits(int value)
+    {
+        registers.set(ZERO, (registers.a & value) == 0);
+    }
+
+    private int testAndReset(int value)
+    {
+        testBits(value);
+        return ~registers.a & value;
+    }
+
+    private int testAndSet(int value)
+    {
+        testBits(value);
+        return registers.a | value;
+    }
+
+    private void jump(int address)
+    {
+        programManager.setProgramCounter(address);
+    }
+
+    private void jumpToSubroutine(int address)
+    {
+        clock.waitCycles(1); // burn a cycle for internal operation
+        pushAddress(registers.pc - 1);
+        jump(address);
+    }
+
+    private void returnFromSubroutine()
+    {
+        clock.waitCycles(1); // burn a cycle to increment the stack pointer
+        int address = popAddress();
+        clock.waitCycles(1); // burn a cycle to update the PC
+        programManager.setProgramCounter(address + 1);
+    }
+
+    private void returnFromInterrupt()
+    {
+        registers.p = pullFromStack();
+        programManager.setProgramCounter(popAddress());
+    }
+
+    private void stop()
+    {
+        // TODO - STP should put the CPU in an idle state and wait for RESET
+        log.warn("STP triggering CPU shutdown");
+        clock.waitCycles(1); // burn a cycle - reason undetermined
+        throw new HaltException("Stop requested");
+    }
+
+    private void waitForInterrupt()
+    {
+        // TODO - WAI should put the CPU in an idle state waiting for any interrupt
+        log.warn("WAI skipped as NOP");
+        clock.waitCycles(1); // burn a cycle - reason undetermined
+    }
+
+    private void unused(Value code)
+    {
+        log.warn("Unsupported op code detected: {}", code);
+    }
+
+    // --------------- End Operations ------------------
+
+    private int read(int address)
+    {
+        return Byte.toUnsignedInt(reader.read(Address.of(address)).data());
+    }
+
+    private int readAddress(int pointer)
+    {
+        int low = read(pointer);
+        int high = read((pointer + 1) & 0xFFFF);
+
+        return low | high << 8;
+    }
+
+    private void write(int address, int value)
+    {
+        writer.write(Address.of(address), Value.of(value));
+    }
+
+    private void throwawayRead(int address)
+    {
+        if (tracer.isEnabled()) {
+            log.info("Performing throwaway read");
+        }
+        read(address);
+    }
+
+    private void modifyAccumulator(IntUnaryOperator function)
+    {
+        registers.a = function.applyAsInt(registers.a);
+    }
+
+    private void readModifyWrite(int address, IntUnaryOperator function)
+    {
+        throwawayRead(address);
+        int input = read(address);
+
+        int output = function.applyAsInt(input);
+        write(address, output);
+    }
+
+    /**
+     * Push an address to the stack high byte first, so that pulling it returns the low byte first.
+     *
+     * @param address the address to push
+     */
+    private void pushAddress(int address)
+    {
+        stack.push((address >>> 8) & 0xFF);
+        stack.push(address & 0xFF);
+    }
+
+    private int popAddress()
+    {
+        int low = stack.pop();
+        int high = stack.pop();
+
+        return low | high << 8;
+    }
+
+    private int pullFromStack()
+    {
+        clock.waitCycles(1); // burn a cycle to increment the stack pointer
+        return stack.pop();
+    }
+
+    private void branchIf(boolean condition, int displacement)
+    {
+        if (condition) {
+            int target = relative(displacement);
+            clock.waitCycles(1); // burn a cycle when branch is taken
+            jump(target);
+        }
+    }
+
+    private boolean isBitSet(int value, int position)
     {
         clock.waitCycles(1); // burn a cycle performing the bit test
-        return value.isSet(position);
+        return (value & (0x01 << position)) != 0;
     }
 
     @RequiredArgsConstructor
@@ -692,12 +1694,18 @@ public class CPU implements Runnable, ClockListener
 
         public Value read(Address address)
         {
-            return clock.runCycle(() -> {
+            clock.beginCycle();
+            try {
                 Value value = reader.read(address);
                 bus.update(address, value, BusAction.READ);
-                log.info("Read {} from {}", value, address);
+                watchHit = watchpoints.isReadWatched(address.toUnsignedInt());
+                if (tracer.isEnabled()) {
+                    log.info("Read {} from {}", value, address);
+                }
                 return value;
-            });
+            } finally {
+                clock.endCycle();
+            }
         }
     }
 
@@ -709,11 +1717,24 @@ public class CPU implements Runnable, ClockListener
 
         public void write(Address address, Value value)
         {
-            clock.runCycle(() -> {
+            clock.beginCycle();
+            try {
                 writer.write(address, value);
+                stack.written(address);
+                if (instructionCache != null) {
+                    instructionCache.invalidate(address.toUnsignedInt());
+                }
+                if (compiledBlocks != null) {
+                    compiledBlocks.invalidate(address.toUnsignedInt());
+                }
                 bus.update(address, value, BusAction.WRITE);
-                log.info("Wrote {} to {}", value, address);
-            });
+                watchHit = watchpoints.isWriteWatched(address.toUnsignedInt());
+                if (tracer.isEnabled()) {
+                    log.info("Wrote {} to {}", value, address);
+                }
+            } finally {
+                clock.endCycle();
+            }
         }
     }
 }
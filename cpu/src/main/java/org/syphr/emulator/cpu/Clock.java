@@ -16,6 +16,7 @@
 package org.syphr.emulator.cpu;
 
 import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
 import org.slf4j.MDC;
 import org.syphr.emulator.common.clock.ClockEvent;
 import org.syphr.emulator.common.clock.ClockListener;
@@ -28,8 +29,13 @@ import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
-import java.util.stream.IntStream;
 
+/**
+ * Paces the CPU one cycle at a time. By default, every cycle waits for permission from a clock generator via
+ * {@link #allowNextCycle()}. In free-running mode, cycles start immediately without any locking or hand-off between
+ * threads, so the CPU runs as fast as the host allows. Cycles are counted and listeners are notified the same way in
+ * both modes.
+ */
 @Slf4j
 class Clock
 {
@@ -42,21 +48,83 @@ class Clock
 
     private volatile long cycleStartTime;
 
+    @Nullable
+    private Runnable cycleEndedAction;
+
+    private volatile boolean freeRunning;
+    private volatile boolean tracing = true;
+
+    // used only by the thread running cycles
+    private boolean locked;
+
     // used only while locked
-    private boolean newCycle;
+    private long credits;
+
+    /**
+     * Choose whether cycles wait for a clock generator. The change takes effect with the next cycle, so it is safe to
+     * call this from a listener in the middle of a cycle.
+     *
+     * @param freeRunning {@code true} to run cycles without waiting; {@code false} to wait for
+     *                    {@link #allowNextCycle()} before each cycle
+     */
+    public void setFreeRunning(boolean freeRunning)
+    {
+        this.freeRunning = freeRunning;
+        log.info("Clock {}", freeRunning ? "free-running" : "paced");
+    }
+
+    public boolean isFreeRunning()
+    {
+        return freeRunning;
+    }
+
+    /**
+     * Choose whether cycles update the logging context and log their start and completion. With tracing off, a cycle
+     * does not touch the logging framework at all. See {@link Tracer}.
+     *
+     * @param tracing {@code true} to trace cycles; {@code false} to skip all per-cycle logging
+     */
+    public void setTracing(boolean tracing)
+    {
+        this.tracing = tracing;
+    }
+
+    public boolean isTracing()
+    {
+        return tracing;
+    }
 
     /**
      * Signal the clock that it is allowed to start the next cycle as soon as possible.
      */
     public void allowNextCycle()
     {
+        allowCycles(1);
+    }
+
+    /**
+     * Signal the clock that it is allowed to run the given number of cycles as soon as possible. The cycles are
+     * consumed one at a time without waking up the calling thread again, so a generator can pace the clock in bursts.
+     * <p>
+     * Each grant replaces whatever is left of the previous one rather than adding to it. A CPU that falls behind its
+     * generator therefore drops the cycles it missed instead of building up a backlog that it would later run through
+     * at full host speed.
+     *
+     * @param cycles the number of cycles to allow
+     */
+    public void allowCycles(int cycles)
+    {
+        if (freeRunning) {
+            return;
+        }
+
         lock.lock();
         try {
             if (ignorePending.compareAndExchange(true, false)) {
                 return;
             }
 
-            newCycle = true;
+            credits = cycles;
             cycle.signal();
         } finally {
             lock.unlock();
@@ -64,12 +132,34 @@ class Clock
     }
 
     /**
-     * Signal the clock to ignore any pending cycle wake-ups. This is useful just after signaling a clock generator to
-     * pause in case it has already sent another clock pulse to make the pause more reliable.
+     * Signal the clock to discard any cycles it has been allowed to run but has not yet started and to ignore the next
+     * cycle wake-up. This is useful just after signaling a clock generator to pause, in case it has already sent
+     * another clock pulse, to make the pause cycle-exact.
      */
     public void ignorePending()
     {
-        ignorePending.set(true);
+        lock.lock();
+        try {
+            credits = 0;
+            ignorePending.set(true);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Signal the clock to discard any cycles it has been allowed to run but has not yet started. Unlike
+     * {@link #ignorePending()}, the next cycle wake-up is honored, so this is suitable when a clock generator switches
+     * from bursts to single steps.
+     */
+    public void revokeCycles()
+    {
+        lock.lock();
+        try {
+            credits = 0;
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -79,7 +169,16 @@ class Clock
      */
     public void waitCycles(int cycleCount)
     {
-        IntStream.range(0, cycleCount).forEach(this::waitCycle);
+        for (int i = 0; i < cycleCount; i++) {
+            beginCycle();
+            try {
+                if (tracing) {
+                    log.info("Waiting one clock cycle for internal CPU operations");
+                }
+            } finally {
+                endCycle();
+            }
+        }
     }
 
     /**
@@ -94,10 +193,12 @@ class Clock
      */
     public void runCycle(Runnable fn)
     {
-        runCycle((Supplier<Void>) () -> {
+        beginCycle();
+        try {
             fn.run();
-            return null;
-        });
+        } finally {
+            endCycle();
+        }
     }
 
     /**
@@ -113,34 +214,60 @@ class Clock
      */
     public <T> T runCycle(Supplier<T> fn)
     {
-        lock.lock();
+        beginCycle();
         try {
-            while (!newCycle) {
-                cycle.await();
+            return fn.get();
+        } finally {
+            endCycle();
+        }
+    }
+
+    /**
+     * Block until the next cycle is allowed to start and then start it. Every call must be paired with a call to
+     * {@link #endCycle()} in a {@code finally} block on the same thread. This is the allocation-free equivalent of
+     * {@link #runCycle(Runnable)} for callers on the hot path.
+     */
+    public void beginCycle()
+    {
+        locked = !freeRunning;
+        if (locked) {
+            lock.lock();
+            try {
+                awaitCycle();
+            } catch (InterruptedException e) {
+                lock.unlock();
+                throw new HaltException("Program interrupted", e);
             }
+        }
 
-            newCycle = false;
-            incrementCycleCount();
+        incrementCycleCount();
+        if (tracing && log.isInfoEnabled()) {
             updateLoggingContext();
+        }
 
-            fireCycleStarted();
+        fireCycleStarted();
+        if (tracing && log.isTraceEnabled()) {
             log.trace("CPU clock cycle {} started", getCycleCount());
             cycleStartTime = System.nanoTime();
+        }
+    }
 
-            T result = fn.get();
-
-            log.atTrace()
-               .setMessage("CPU clock cycle {} completed; runtime: {} ns")
-               .addArgument(getCycleCount())
-               .addArgument(() -> System.nanoTime() - cycleStartTime)
-               .log();
+    /**
+     * Complete the cycle started by {@link #beginCycle()}.
+     */
+    public void endCycle()
+    {
+        try {
+            if (tracing && log.isTraceEnabled()) {
+                log.trace("CPU clock cycle {} completed; runtime: {} ns",
+                          getCycleCount(),
+                          System.nanoTime() - cycleStartTime);
+            }
             fireCycleEnded();
-
-            return result;
-        } catch (InterruptedException e) {
-            throw new HaltException("Program interrupted", e);
         } finally {
-            lock.unlock();
+            if (locked) {
+                lock.unlock();
+            }
         }
     }
 
@@ -154,13 +281,43 @@ class Clock
         listeners.add(listener);
     }
 
+    /**
+     * Set an action to run at the end of every cycle, before any listeners are notified. Unlike a listener, the action
+     * is run without creating an event.
+     *
+     * @param action the action to run
+     */
+    public void onCycleEnded(Runnable action)
+    {
+        cycleEndedAction = action;
+    }
+
+    /**
+     * Block until the next cycle is allowed to start. Called while holding the clock lock.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    protected void awaitCycle() throws InterruptedException
+    {
+        while (credits == 0) {
+            cycle.await();
+        }
+
+        credits--;
+    }
+
     protected void incrementCycleCount()
     {
-        cycleCount.incrementAndGet();
+        // only the thread running cycles writes the count, so an atomic read-modify-write is not needed
+        cycleCount.setRelease(cycleCount.getPlain() + 1);
     }
 
     protected void fireCycleStarted()
     {
+        if (listeners.isEmpty()) {
+            return;
+        }
+
         ClockEvent event = null;
         for (ClockListener listener : listeners) {
             if (event == null) {
@@ -172,6 +329,15 @@ class Clock
 
     protected void fireCycleEnded()
     {
+        Runnable action = cycleEndedAction;
+        if (action != null) {
+            action.run();
+        }
+
+        if (listeners.isEmpty()) {
+            return;
+        }
+
         ClockEvent event = null;
         for (ClockListener listener : listeners) {
             if (event == null) {
@@ -185,21 +351,4 @@ class Clock
     {
         MDC.put("clock", String.valueOf(getCycleCount()));
     }
-
-    private void waitCycle(int cycle)
-    {
-        runCycle(EmptySupplier.NOP);
-    }
-
-    private static class EmptySupplier implements Supplier<Void>
-    {
-        public static final EmptySupplier NOP = new EmptySupplier();
-
-        @Override
-        public Void get()
-        {
-            log.info("Waiting one clock cycle for internal CPU operations");
-            return null;
-        }
-    }
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright © 2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cpu;
+
+/**
+ * A basic block of 65C02 code translated into JVM bytecode by the {@link BlockCompiler}. Executing a block has exactly
+ * the same effect on registers, memory, the bus and the clock as interpreting each of its instructions in turn.
+ */
+abstract class CompiledBlock
+{
+    /**
+     * The address of the first op code in the block.
+     */
+    final int start;
+
+    /**
+     * The address just past the last byte fetched by the block.
+     */
+    final int end;
+
+    /**
+     * Set once memory under the block has been written. An invalidated block stops at the next instruction boundary
+     * and is never entered again.
+     */
+    boolean invalidated;
+
+    CompiledBlock(int start, int end)
+    {
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Execute the block starting with its first instruction. Execution returns to the caller after the last
+     * instruction, or earlier if the CPU can no longer stay in compiled code (see {@link CPU}).
+     *
+     * @param cpu the CPU whose state the block operates on
+     */
+    public abstract void execute(CPU cpu);
+
+    /**
+     * Determine whether the block covers the given address.
+     *
+     * @param address the address to check
+     * @return {@code true} if any byte of the block was fetched from the address
+     */
+    public boolean contains(int address)
+    {
+        // blocks may wrap around the end of memory
+        return ((address - start) & 0xFFFF) < ((end - start) & 0xFFFF);
+    }
+
+    /**
+     * Determine whether the block covers any address in the given range.
+     *
+     * @param first the first address of the range
+     * @param last  the last address of the range
+     * @return {@code true} if any byte of the block was fetched from the range
+     */
+    public boolean overlaps(int first, int last)
+    {
+        return contains(first) || ((start - first) & 0xFFFF) <= ((last - first) & 0xFFFF);
+    }
+}
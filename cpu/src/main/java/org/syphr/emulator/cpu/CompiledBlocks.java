@@ -0,0 +1,170 @@
+/*
+ * Copyright © 2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cpu;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds hot code and keeps the blocks compiled from it. Every time the interpreter is about to execute an instruction,
+ * the count for its address goes up; once an address becomes hot, the instructions the interpreter has fetched from
+ * there are compiled into a block that is used from then on.
+ * <p>
+ * Blocks are built from the {@link InstructionCache}, so they are subject to the same rules: writes made by the CPU
+ * discard every block that fetched from the written address, but memory modified by anything else will go unnoticed.
+ */
+@Slf4j
+class CompiledBlocks
+{
+    /**
+     * The number of times an address must start an instruction before a block is compiled from it.
+     */
+    public static final int HOT_THRESHOLD = 1_000;
+
+    private final BlockCompiler compiler;
+    private final InstructionCache instructionCache;
+    private final Tracer tracer;
+
+    private final @Nullable CompiledBlock[] blocks = new CompiledBlock[0x10000];
+    private final int[] executions = new int[0x10000];
+    private final List<List<CompiledBlock>> pages = new ArrayList<>(0x100);
+
+    public CompiledBlocks(BlockCompiler compiler, InstructionCache instructionCache, Tracer tracer)
+    {
+        this.compiler = compiler;
+        this.instructionCache = instructionCache;
+        this.tracer = tracer;
+
+        for (int page = 0; page < 0x100; page++) {
+            pages.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Find the block starting at the given address, compiling one if the address has just become hot.
+     *
+     * @param address the address of the next instruction
+     * @return the block, or {@code null} if the instruction should be interpreted
+     */
+    public @Nullable CompiledBlock get(int address)
+    {
+        CompiledBlock block = blocks[address];
+        if (block == null && ++executions[address] == HOT_THRESHOLD) {
+            block = compile(address);
+        }
+
+        return block;
+    }
+
+    /**
+     * Discard every block that fetched from the given address.
+     *
+     * @param address the modified address
+     */
+    public void invalidate(int address)
+    {
+        List<CompiledBlock> page = pages.get(address >>> 8);
+        for (int i = page.size() - 1; i >= 0; i--) {
+            CompiledBlock block = page.get(i);
+            if (block.contains(address)) {
+                discard(block);
+            }
+        }
+    }
+
+    /**
+     * Discard every block that fetched from any address in the given range.
+     *
+     * @param start the first modified address
+     * @param end   the last modified address
+     */
+    public void invalidate(int start, int end)
+    {
+        // a block is listed under its first and last pages, and no block is long enough to skip over a page
+        for (int index = start >>> 8; index <= end >>> 8; index++) {
+            List<CompiledBlock> page = pages.get(index);
+            for (int i = page.size() - 1; i >= 0; i--) {
+                CompiledBlock block = page.get(i);
+                if (block.overlaps(start, end)) {
+                    discard(block);
+                }
+            }
+        }
+    }
+
+    private @Nullable CompiledBlock compile(int start)
+    {
+        int[] instructions = new int[BlockCompiler.MAX_INSTRUCTIONS];
+        int count = 0;
+        int address = start;
+        int end = start;
+
+        while (count < instructions.length) {
+            int instruction = instructionCache.get(address);
+            if (instruction == InstructionCache.MISS) {
+                // the interpreter has never been here, so there is nothing to compile
+                break;
+            }
+
+            int opCode = instruction & 0xFF;
+            int length = 1 + InstructionDecoder.operandLength(opCode);
+            end = (address + length + (InstructionDecoder.hasThrowawayRead(opCode) ? 1 : 0)) & 0xFFFF;
+
+            instructions[count++] = instruction;
+            address = (address + length) & 0xFFFF;
+
+            if (BlockCompiler.endsBlock(opCode)) {
+                break;
+            }
+        }
+
+        if (count == 0) {
+            executions[start] = 0;
+            return null;
+        }
+
+        CompiledBlock block = compiler.compile(start, end, instructions, count);
+        if (tracer.isEnabled()) {
+            log.debug("Compiled {} instructions at {}", count, Address.of(start));
+        }
+
+        blocks[start] = block;
+        pages.get(start >>> 8).add(block);
+        int lastPage = ((end - 1) & 0xFFFF) >>> 8;
+        if (lastPage != start >>> 8) {
+            pages.get(lastPage).add(block);
+        }
+
+        return block;
+    }
+
+    private void discard(CompiledBlock block)
+    {
+        block.invalidated = true;
+
+        blocks[block.start] = null;
+        executions[block.start] = 0;
+        pages.get(block.start >>> 8).remove(block);
+        pages.get(((block.end - 1) & 0xFFFF) >>> 8).remove(block);
+
+        if (tracer.isEnabled()) {
+            log.debug("Discarded block at {}", Address.of(block.start));
+        }
+    }
+}
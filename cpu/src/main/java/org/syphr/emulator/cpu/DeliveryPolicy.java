@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2025-2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cpu;
+
+/**
+ * How events reach a listener that cannot keep up with the CPU. Each listener has its own queue of the given capacity;
+ * the overflow strategy decides what happens when it is full, and sampling passes on only every Nth event in the first
+ * place.
+ *
+ * @param overflow       what to do when the listener's queue is full
+ * @param capacity       the number of events the queue holds; a power of two
+ * @param sampleInterval pass on every event ({@code 1}) or only every Nth one
+ */
+public record DeliveryPolicy(Overflow overflow, int capacity, int sampleInterval)
+{
+    public static final int DEFAULT_CAPACITY = 1 << 12;
+
+    public enum Overflow
+    {
+        /** The CPU waits for the listener, so no event is ever lost. */
+        BLOCK,
+        /** The oldest queued event is discarded to make room for the new one. */
+        DROP_OLDEST,
+        /** The new event is discarded. */
+        DROP_NEWEST
+    }
+
+    public DeliveryPolicy
+    {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        if (sampleInterval <= 0) {
+            throw new IllegalArgumentException("Sample interval must be positive: " + sampleInterval);
+        }
+    }
+
+    /**
+     * Deliver every event, making the CPU wait whenever the listener falls behind.
+     *
+     * @return the policy
+     */
+    public static DeliveryPolicy block()
+    {
+        return block(DEFAULT_CAPACITY);
+    }
+
+    public static DeliveryPolicy block(int capacity)
+    {
+        return new DeliveryPolicy(Overflow.BLOCK, capacity, 1);
+    }
+
+    /**
+     * Never make the CPU wait, keeping the most recent events when the listener falls behind.
+     *
+     * @param capacity the number of events the queue holds; a power of two
+     * @return the policy
+     */
+    public static DeliveryPolicy dropOldest(int capacity)
+    {
+        return new DeliveryPolicy(Overflow.DROP_OLDEST, capacity, 1);
+    }
+
+    /**
+     * Never make the CPU wait, keeping the events already queued when the listener falls behind.
+     *
+     * @param capacity the number of events the queue holds; a power of two
+     * @return the policy
+     */
+    public static DeliveryPolicy dropNewest(int capacity)
+    {
+        return new DeliveryPolicy(Overflow.DROP_NEWEST, capacity, 1);
+    }
+
+    /**
+     * Copy this policy, passing on only the first of every {@code interval} events. Events skipped by sampling are not
+     * counted as dropped.
+     *
+     * @param interval the number of events per sample
+     * @return the new policy
+     */
+    public DeliveryPolicy sampleEvery(int interval)
+    {
+        return new DeliveryPolicy(overflow, capacity, interval);
+    }
+}
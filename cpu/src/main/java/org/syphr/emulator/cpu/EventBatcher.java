@@ -0,0 +1,152 @@
+/*
+ * Copyright © 2025-2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cpu;
+
+import lombok.Getter;
+import org.syphr.emulator.cpu.CPUEvent.ClockCycleEvent;
+import org.syphr.emulator.cpu.CPUEvent.OperationEvent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EventListener;
+import java.util.List;
+
+/**
+ * Collects events for a batch listener on the event consumer thread and hands them over once a batch is full or its
+ * oldest event has waited for the configured interval. Batchers are registered as ordinary listeners, so the CPU
+ * treats a batch listener exactly like any other listener when deciding what to report.
+ *
+ * @param <E> the type of event collected
+ */
+abstract sealed class EventBatcher<E extends CPUEvent>
+{
+    @Getter
+    private final EventListener target;
+    private final int batchSize;
+    private final long intervalNanos;
+
+    private List<E> batch;
+    private long deadline;
+
+    private EventBatcher(EventListener target, int batchSize, Duration interval)
+    {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("Batch interval must be positive: " + interval);
+        }
+
+        this.target = target;
+        this.batchSize = batchSize;
+        this.intervalNanos = interval.toNanos();
+        this.batch = new ArrayList<>(batchSize);
+    }
+
+    protected void add(E event)
+    {
+        if (batch.isEmpty()) {
+            deadline = System.nanoTime() + intervalNanos;
+        }
+
+        batch.add(event);
+        if (batch.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    public boolean isPending()
+    {
+        return !batch.isEmpty();
+    }
+
+    /**
+     * Get the time by which the pending events must be delivered.
+     *
+     * @return a {@link System#nanoTime()} value; only meaningful while {@link #isPending()}
+     */
+    public long getDeadline()
+    {
+        return deadline;
+    }
+
+    public void flushIfDue(long now)
+    {
+        if (isPending() && now - deadline >= 0) {
+            flush();
+        }
+    }
+
+    public void flush()
+    {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<E> events = batch;
+        batch = new ArrayList<>(batchSize);
+        deliver(Collections.unmodifiableList(events));
+    }
+
+    protected abstract void deliver(List<E> events);
+
+    static final class ClockCycles extends EventBatcher<ClockCycleEvent> implements ClockCycleListener
+    {
+        private final ClockCycleBatchListener listener;
+
+        ClockCycles(ClockCycleBatchListener listener, int batchSize, Duration interval)
+        {
+            super(listener, batchSize, interval);
+            this.listener = listener;
+        }
+
+        @Override
+        public void clockCycleCompleted(ClockCycleEvent event)
+        {
+            add(event);
+        }
+
+        @Override
+        protected void deliver(List<ClockCycleEvent> events)
+        {
+            listener.clockCyclesCompleted(events);
+        }
+    }
+
+    static final class Operations extends EventBatcher<OperationEvent> implements OperationListener
+    {
+        private final OperationBatchListener listener;
+
+        Operations(OperationBatchListener listener, int batchSize, Duration interval)
+        {
+            super(listener, batchSize, interval);
+            this.listener = listener;
+        }
+
+        @Override
+        public void operationCompleted(OperationEvent event)
+        {
+            add(event);
+        }
+
+        @Override
+        protected void deliver(List<OperationEvent> events)
+        {
+            listener.operationsCompleted(events);
+        }
+    }
+}
@@ -0,0 +1,346 @@
+/*
+ * Copyright © 2025-2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cpu;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.syphr.emulator.cpu.CPUEvent.ClockCycleEvent;
+import org.syphr.emulator.cpu.CPUEvent.OperationEvent;
+
+import java.util.EventListener;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Delivers {@link ClockCycleListener} or {@link OperationListener} events from the CPU thread to one listener on its
+ * own consumer thread through a preallocated ring of reusable slots. Events are delivered in the order they were
+ * published, and publishing never allocates or starts a thread once the consumer is running. What happens when the
+ * ring is full is up to the listener's {@link DeliveryPolicy}: the CPU either waits for the consumer to catch up or
+ * discards an event, so a slow listener never uses up the heap. Batch listeners are fed through
+ * {@link EventBatcher}s, which the consumer also hands over when their interval expires while the CPU is quiet.
+ * <p>
+ * Only the CPU thread may publish, shut down or close the ring; any thread may retire it.
+ */
+@Slf4j
+final class EventRing implements EventSubscription, AutoCloseable
+{
+    // how long the CPU sleeps between checks for space while the ring is full
+    private static final long FULL_PARK_NANOS = 10_000;
+
+    private static final class Slot
+    {
+        private boolean operation;
+        private @Nullable CPUState state;
+        private int opCode;
+        private int operand;
+        private long startCycle;
+        private long endCycle;
+    }
+
+    // a ClockCycleListener or an OperationListener, matching the events published to this ring
+    private final EventListener listener;
+    @Getter
+    private final DeliveryPolicy policy;
+    private final Slot[] slots;
+    private final int mask;
+
+    // number of events published; written only by the CPU thread
+    private final AtomicLong published = new AtomicLong();
+    // number of events delivered or dropped; advanced by the consumer, and by the CPU when it drops the oldest event
+    private final AtomicLong delivered = new AtomicLong();
+    // last value of delivered seen by the CPU thread, so that it only reads the shared counter when the ring looks full
+    private long knownDelivered;
+    private final AtomicLong dropped = new AtomicLong();
+    private int sampleCountdown;
+
+    private volatile @Nullable Thread consumer;
+    private volatile boolean consumerParked;
+    private volatile boolean shutdown;
+    private volatile boolean retired;
+    private boolean running;
+
+    EventRing(EventListener listener, DeliveryPolicy policy)
+    {
+        if (!(listener instanceof ClockCycleListener || listener instanceof OperationListener)) {
+            throw new IllegalArgumentException("Unsupported listener type: " + listener.getClass().getName());
+        }
+
+        this.listener = listener;
+        this.policy = policy;
+        this.slots = new Slot[policy.capacity()];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = slots.length - 1;
+    }
+
+    /**
+     * Check whether this ring delivers to the given listener, either directly or by collecting batches for it.
+     *
+     * @param target the listener as it was registered
+     * @return {@code true} if the ring delivers to the listener
+     */
+    public boolean isFor(EventListener target)
+    {
+        return listener == target || listener instanceof EventBatcher<?> batcher && batcher.getTarget() == target;
+    }
+
+    @Override
+    public long getDroppedCount()
+    {
+        return dropped.get();
+    }
+
+    public void publishClockCycle(CPUState state)
+    {
+        Slot slot = claim();
+        if (slot == null) {
+            return;
+        }
+
+        slot.operation = false;
+        slot.state = state;
+        commit();
+    }
+
+    public void publishOperation(CPUState state, int opCode, int operand, long startCycle, long endCycle)
+    {
+        Slot slot = claim();
+        if (slot == null) {
+            return;
+        }
+
+        slot.operation = true;
+        slot.state = state;
+        slot.opCode = opCode;
+        slot.operand = operand;
+        slot.startCycle = startCycle;
+        slot.endCycle = endCycle;
+        commit();
+    }
+
+    /**
+     * Find the slot for the next event according to the delivery policy.
+     *
+     * @return the slot, or {@code null} if the event is not to be delivered
+     */
+    private @Nullable Slot claim()
+    {
+        if (retired) {
+            return null;
+        }
+
+        if (sampleCountdown > 0) {
+            sampleCountdown--;
+            return null;
+        }
+        sampleCountdown = policy.sampleInterval() - 1;
+
+        if (!running) {
+            start();
+        }
+
+        long sequence = published.getPlain();
+        if (sequence - knownDelivered >= slots.length && !makeRoom(sequence)) {
+            dropped.incrementAndGet();
+            return null;
+        }
+
+        return slots[(int) sequence & mask];
+    }
+
+    private boolean makeRoom(long sequence)
+    {
+        while (sequence - (knownDelivered = delivered.get()) >= slots.length) {
+            switch (policy.overflow()) {
+                case BLOCK -> LockSupport.parkNanos(FULL_PARK_NANOS);
+                case DROP_NEWEST -> {
+                    return false;
+                }
+                case DROP_OLDEST -> {
+                    // claim the oldest event before the consumer does; if the consumer wins, there is room now anyway
+                    if (delivered.compareAndSet(knownDelivered, knownDelivered + 1)) {
+                        knownDelivered++;
+                        dropped.incrementAndGet();
+                        return true;
+                    }
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private void commit()
+    {
+        // a full fence, paired with the one in consume(), so that a consumer about to park cannot miss this event
+        published.set(published.getPlain() + 1);
+        if (consumerParked) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    private void start()
+    {
+        // a consumer from before a shutdown may still be delivering; it must finish before a new one takes over
+        awaitConsumer();
+
+        shutdown = false;
+        consumer = Thread.ofVirtual().name("cpu-events").start(this::consume);
+        running = true;
+    }
+
+    /**
+     * Let the consumer thread finish delivering the events already published and then exit. Publishing another event
+     * starts a new consumer.
+     */
+    public void shutdown()
+    {
+        running = false;
+        shutdown = true;
+        LockSupport.unpark(consumer);
+    }
+
+    /**
+     * Stop accepting events for good, once the listener has been removed. Events already published are still
+     * delivered.
+     */
+    public void retire()
+    {
+        retired = true;
+        LockSupport.unpark(consumer);
+    }
+
+    /**
+     * Wait until every event published so far has been delivered and stop the consumer thread.
+     */
+    @Override
+    public void close()
+    {
+        shutdown();
+        awaitConsumer();
+    }
+
+    private void awaitConsumer()
+    {
+        Thread thread = consumer;
+        if (thread == null) {
+            return;
+        }
+
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        consumer = null;
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void consume()
+    {
+        long next = delivered.get();
+        long wait = -1;
+        while (true) {
+            long available = published.get();
+            if (next == available) {
+                if ((shutdown || retired) && published.get() == next) {
+                    flushBatch(true);
+                    return;
+                }
+
+                consumerParked = true;
+                if (published.get() == next && !shutdown && !retired) {
+                    // wake up in time for a batch that is waiting for more events
+                    if (wait < 0) {
+                        LockSupport.park(this);
+                    } else {
+                        LockSupport.parkNanos(this, wait);
+                    }
+                }
+                consumerParked = false;
+                wait = flushBatch(false);
+                continue;
+            }
+
+            while (next < available) {
+                Slot slot = slots[(int) next & mask];
+                boolean operation = slot.operation;
+                CPUState state = slot.state;
+                int opCode = slot.opCode;
+                int operand = slot.operand;
+                long startCycle = slot.startCycle;
+                long endCycle = slot.endCycle;
+
+                // the CPU may have dropped this event and reused the slot while it was being copied
+                if (!delivered.compareAndSet(next, next + 1)) {
+                    next = delivered.get();
+                    continue;
+                }
+                next++;
+
+                try {
+                    if (operation) {
+                        // operations are only decoded when someone is listening
+                        Operation op = InstructionDecoder.decode(opCode, operand);
+                        ((OperationListener) listener).operationCompleted(new OperationEvent(state,
+                                                                                              op,
+                                                                                              startCycle,
+                                                                                              endCycle));
+                    } else {
+                        ((ClockCycleListener) listener).clockCycleCompleted(new ClockCycleEvent(state));
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("CPU event listener failed", e);
+                }
+            }
+            wait = flushBatch(false);
+        }
+    }
+
+    /**
+     * Hand over the batch collected for a batch listener if it is due.
+     *
+     * @param all {@code true} to hand over a pending batch regardless of its deadline
+     * @return nanoseconds until the pending batch is due, or {@code -1} if none is pending
+     */
+    private long flushBatch(boolean all)
+    {
+        if (!(listener instanceof EventBatcher<?> batcher)) {
+            return -1;
+        }
+
+        long now = System.nanoTime();
+        try {
+            if (all) {
+                batcher.flush();
+            } else {
+                batcher.flushIfDue(now);
+            }
+        } catch (RuntimeException e) {
+            log.warn("CPU event listener failed", e);
+        }
+
+        return batcher.isPending() ? batcher.getDeadline() - now : -1;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright © 2025-2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cpu;
+
+import java.util.EventListener;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The {@link ClockCycleListener}s and {@link OperationListener}s registered with a CPU, each behind its own
+ * {@link EventRing} so that every listener gets its own {@link DeliveryPolicy} and a slow one only holds up the CPU if
+ * its policy says so.
+ * <p>
+ * Only the CPU thread may publish, shut down or close; any thread may add or remove listeners.
+ */
+final class EventSubscribers implements AutoCloseable
+{
+    private final List<EventRing> clockCycleRings = new CopyOnWriteArrayList<>();
+    private final List<EventRing> operationRings = new CopyOnWriteArrayList<>();
+
+    public EventSubscription add(ClockCycleListener listener, DeliveryPolicy policy)
+    {
+        var ring = new EventRing(listener, policy);
+        clockCycleRings.add(ring);
+        return ring;
+    }
+
+    public EventSubscription add(OperationListener listener, DeliveryPolicy policy)
+    {
+        var ring = new EventRing(listener, policy);
+        operationRings.add(ring);
+        return ring;
+    }
+
+    /**
+     * Remove every registration of the given listener. Events already queued for it are still delivered.
+     *
+     * @param listener the listener as it was registered
+     */
+    public void remove(EventListener listener)
+    {
+        remove(clockCycleRings, listener);
+        remove(operationRings, listener);
+    }
+
+    private static void remove(List<EventRing> rings, EventListener listener)
+    {
+        for (EventRing ring : rings) {
+            if (ring.isFor(listener) && rings.remove(ring)) {
+                ring.retire();
+            }
+        }
+    }
+
+    public boolean hasClockCycleListeners()
+    {
+        return !clockCycleRings.isEmpty();
+    }
+
+    public boolean hasOperationListeners()
+    {
+        return !operationRings.isEmpty();
+    }
+
+    public void publishClockCycle(CPUState state)
+    {
+        for (EventRing ring : clockCycleRings) {
+            ring.publishClockCycle(state);
+        }
+    }
+
+    public void publishOperation(CPUState state, int opCode, int operand, long startCycle, long endCycle)
+    {
+        for (EventRing ring : operationRings) {
+            ring.publishOperation(state, opCode, operand, startCycle, endCycle);
+        }
+    }
+
+    /**
+     * Let every consumer thread finish delivering the events already published and then exit.
+     *
+     * @see EventRing#shutdown()
+     */
+    public void shutdown()
+    {
+        clockCycleRings.forEach(EventRing::shutdown);
+        operationRings.forEach(EventRing::shutdown);
+    }
+
+    /**
+     * Wait until every event published so far has been delivered and stop the consumer threads.
+     */
+    @Override
+    public void close()
+    {
+        clockCycleRings.forEach(EventRing::close);
+        operationRings.forEach(EventRing::close);
+    }
+}
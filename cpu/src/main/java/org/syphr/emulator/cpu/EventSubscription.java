@@ -0,0 +1,32 @@
+/*
+ * Copyright © 2025-2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cpu;
+
+/**
+ * A listener registered with a {@link DeliveryPolicy}, used to watch how well it is keeping up.
+ */
+public interface EventSubscription
+{
+    DeliveryPolicy getPolicy();
+
+    /**
+     * Get the number of events discarded because the listener's queue was full. Events skipped by sampling are not
+     * included.
+     *
+     * @return the number of dropped events
+     */
+    long getDroppedCount();
+}
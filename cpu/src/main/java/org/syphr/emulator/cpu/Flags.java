@@ -25,4 +25,32 @@ public record Flags(boolean negative,
                     boolean decimal,
                     boolean irqDisable,
                     boolean zero,
-                    boolean carry) {}
+                    boolean carry)
+{
+    private static final Flags[] FLAGS = new Flags[256];
+
+    static {
+        for (int status = 0; status < FLAGS.length; status++) {
+            FLAGS[status] = new Flags((status & Registers.NEGATIVE) != 0,
+                                      (status & Registers.OVERFLOW) != 0,
+                                      (status & Registers.USER) != 0,
+                                      (status & Registers.BREAK_COMMAND) != 0,
+                                      (status & Registers.DECIMAL) != 0,
+                                      (status & Registers.IRQ_DISABLE) != 0,
+                                      (status & Registers.ZERO) != 0,
+                                      (status & Registers.CARRY) != 0);
+        }
+    }
+
+    /**
+     * Get the flags for the given status register contents. Instances are shared, so capturing the flags does not
+     * allocate.
+     *
+     * @param status the unsigned status register
+     * @return the flags
+     */
+    static Flags of(int status)
+    {
+        return FLAGS[status & 0xFF];
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright © 2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cpu;
+
+/**
+ * The execution of a {@link Superinstruction}. Both instructions have already been decoded from the instruction cache,
+ * so the implementation replays both fetches and is responsible for every remaining cycle and event of the pair,
+ * exactly as if the instructions had been executed one at a time.
+ */
+@FunctionalInterface
+interface FusedInstruction
+{
+    /**
+     * Execute the pair.
+     *
+     * @param first  the instruction at the program counter, packed as described by {@link InstructionCache}
+     * @param second the instruction that follows it, packed the same way
+     * @return {@code true} if both instructions were executed; {@code false} if execution stopped after the first
+     */
+    boolean execute(int first, int second);
+}
@@ -42,6 +42,17 @@ class HardwareInterruptState
         irq.set(state);
     }
 
+    /**
+     * Determine whether {@link #poll()} would return an interrupt that needs to be serviced, without consuming it.
+     *
+     * @param irqDisabled {@code true} if the CPU is currently ignoring IRQ
+     * @return {@code true} if an interrupt is waiting
+     */
+    public boolean isPending(boolean irqDisabled)
+    {
+        return reset.get() || nmi.get() || (irq.get() && !irqDisabled);
+    }
+
     public Optional<Interrupt.HarwareInterrupt> poll()
     {
         if (reset.compareAndExchange(true, false)) {
@@ -0,0 +1,31 @@
+/*
+ * Copyright © 2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cpu;
+
+/**
+ * The execution half of a single op code. By the time an instruction executes, the op code and its operand bytes
+ * have already been fetched, so the implementation is only responsible for the remaining cycles.
+ */
+@FunctionalInterface
+interface Instruction
+{
+    /**
+     * Execute the instruction.
+     *
+     * @param operand the operand bytes in little-endian order (low byte first); 0 for single-byte instructions
+     */
+    void execute(int operand);
+}
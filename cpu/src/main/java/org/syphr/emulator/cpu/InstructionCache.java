@@ -0,0 +1,75 @@
+/*
+ * Copyright © 2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cpu;
+
+import java.util.Arrays;
+
+/**
+ * Remembers the bytes fetched for the instruction at each address so that executing it again does not require reading
+ * and decoding memory. An entry packs the op code in bits 0-7, the operand in bits 8-23 and, for single-byte
+ * instructions, the value of the throwaway read in bits 24-31.
+ * <p>
+ * Entries must be invalidated whenever one of the cached bytes may have changed. Writes performed by the CPU take care
+ * of this automatically, but memory modified behind the CPU's back will not be noticed.
+ */
+class InstructionCache
+{
+    public static final int MISS = -1;
+
+    private final int[] entries = new int[0x10000];
+
+    public InstructionCache()
+    {
+        Arrays.fill(entries, MISS);
+    }
+
+    public int get(int address)
+    {
+        return entries[address];
+    }
+
+    public void put(int address, int instruction)
+    {
+        entries[address] = instruction;
+    }
+
+    /**
+     * Forget every instruction that may include the given address. Instructions span at most three bytes (counting the
+     * throwaway read of single-byte instructions as the second), so the two preceding entries are cleared as well.
+     *
+     * @param address the modified address
+     */
+    public void invalidate(int address)
+    {
+        entries[address] = MISS;
+        entries[(address - 1) & 0xFFFF] = MISS;
+        entries[(address - 2) & 0xFFFF] = MISS;
+    }
+
+    /**
+     * Forget every instruction that may include any address in the given range.
+     *
+     * @param start the first modified address
+     * @param end   the last modified address
+     * @see #invalidate(int)
+     */
+    public void invalidate(int start, int end)
+    {
+        for (int address = start - 2; address <= end; address++) {
+            entries[address & 0xFFFF] = MISS;
+        }
+    }
+}
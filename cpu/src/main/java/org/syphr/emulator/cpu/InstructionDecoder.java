@@ -15,182 +15,253 @@
  */
 package org.syphr.emulator.cpu;
 
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.syphr.emulator.common.Value;
 
 import static org.syphr.emulator.cpu.AddressMode.*;
 import static org.syphr.emulator.cpu.Operation.*;
 
-@Slf4j
-@RequiredArgsConstructor
-class InstructionDecoder
+/**
+ * Translates raw instruction bytes into {@link Operation} descriptions. Execution does not depend on this class (see
+ * {@link Instruction}); operations are only built when something asks to see them.
+ */
+final class InstructionDecoder
 {
-    public Operation nextOp(ProgramManager programManager)
+    private static final int[] OPERAND_LENGTHS = new int[256];
+    private static final boolean[] THROWAWAY_READS = new boolean[256];
+    private static final String[] MNEMONICS = new String[256];
+
+    static {
+        for (int opCode = 0; opCode < 256; opCode++) {
+            var operands = new CountingOperands();
+            Operation op = decode(Value.of(opCode), operands);
+
+            OPERAND_LENGTHS[opCode] = operands.count;
+            THROWAWAY_READS[opCode] = operands.count == 0 && !(op instanceof UNUSED);
+            MNEMONICS[opCode] = op.getClass().getSimpleName();
+        }
+    }
+
+    private InstructionDecoder()
+    {
+    }
+
+    /**
+     * Determine how many operand bytes follow the given op code in memory.
+     *
+     * @param opCode the unsigned op code
+     * @return 0, 1 or 2
+     */
+    public static int operandLength(int opCode)
+    {
+        return OPERAND_LENGTHS[opCode];
+    }
+
+    /**
+     * Determine whether the given op code performs a throwaway read of the program counter while decoding. This
+     * happens on all single-byte addressing modes (except the unused op codes).
+     *
+     * @param opCode the unsigned op code
+     * @return {@code true} if the instruction reads the byte following the op code without consuming it
+     */
+    public static boolean hasThrowawayRead(int opCode)
+    {
+        return THROWAWAY_READS[opCode];
+    }
+
+    public static String mnemonic(int opCode)
+    {
+        return MNEMONICS[opCode];
+    }
+
+    /**
+     * Build the operation described by the given instruction bytes.
+     *
+     * @param opCode  the unsigned op code
+     * @param operand the operand bytes in little-endian order (low byte first), ignored beyond
+     *                {@link #operandLength(int)}
+     * @return the operation
+     */
+    public static Operation decode(int opCode, int operand)
+    {
+        return decode(Value.of(opCode), new Operands()
+        {
+            private int remaining = operand;
+
+            @Override
+            public Value nextValue()
+            {
+                Value value = Value.of(remaining);
+                remaining >>>= 8;
+
+                return value;
+            }
+        });
+    }
+
+    private static Operation decode(Value opCode, Operands operands)
     {
-        Value opCode = programManager.nextValue();
         Operation op = switch (opCode.data()) {
             // @formatter:off
-            case ADC.ABSOLUTE -> adc(absolute(programManager.nextAddress()));
-            case ADC.ABSOLUTE_X -> adc(absoluteX(programManager.nextAddress()));
-            case ADC.ABSOLUTE_Y -> adc(absoluteY(programManager.nextAddress()));
-            case ADC.IMMEDIATE -> adc(immediate(programManager.nextValue()));
-            case ADC.ZP -> adc(zp(programManager.nextValue()));
-            case ADC.ZP_X_INDIRECT -> adc(zpXIndirect(programManager.nextValue()));
-            case ADC.ZP_X -> adc(zpX(programManager.nextValue()));
-            case ADC.ZP_INDIRECT -> adc(zpIndirect(programManager.nextValue()));
-            case ADC.ZP_INDIRECT_Y -> adc(zpIndirectY(programManager.nextValue()));
-
-            case AND.ABSOLUTE -> and(absolute(programManager.nextAddress()));
-            case AND.ABSOLUTE_X -> and(absoluteX(programManager.nextAddress()));
-            case AND.ABSOLUTE_Y -> and(absoluteY(programManager.nextAddress()));
-            case AND.IMMEDIATE -> and(immediate(programManager.nextValue()));
-            case AND.ZP -> and(zp(programManager.nextValue()));
-            case AND.ZP_X_INDIRECT -> and(zpXIndirect(programManager.nextValue()));
-            case AND.ZP_X -> and(zpX(programManager.nextValue()));
-            case AND.ZP_INDIRECT -> and(zpIndirect(programManager.nextValue()));
-            case AND.ZP_INDIRECT_Y -> and(zpIndirectY(programManager.nextValue()));
-
-            case ASL.ABSOLUTE -> asl(absolute(programManager.nextAddress()));
-            case ASL.ABSOLUTE_X -> asl(absoluteX(programManager.nextAddress()));
+            case ADC.ABSOLUTE -> adc(absolute(operands.nextAddress()));
+            case ADC.ABSOLUTE_X -> adc(absoluteX(operands.nextAddress()));
+            case ADC.ABSOLUTE_Y -> adc(absoluteY(operands.nextAddress()));
+            case ADC.IMMEDIATE -> adc(immediate(operands.nextValue()));
+            case ADC.ZP -> adc(zp(operands.nextValue()));
+            case ADC.ZP_X_INDIRECT -> adc(zpXIndirect(operands.nextValue()));
+            case ADC.ZP_X -> adc(zpX(operands.nextValue()));
+            case ADC.ZP_INDIRECT -> adc(zpIndirect(operands.nextValue()));
+            case ADC.ZP_INDIRECT_Y -> adc(zpIndirectY(operands.nextValue()));
+
+            case AND.ABSOLUTE -> and(absolute(operands.nextAddress()));
+            case AND.ABSOLUTE_X -> and(absoluteX(operands.nextAddress()));
+            case AND.ABSOLUTE_Y -> and(absoluteY(operands.nextAddress()));
+            case AND.IMMEDIATE -> and(immediate(operands.nextValue()));
+            case AND.ZP -> and(zp(operands.nextValue()));
+            case AND.ZP_X_INDIRECT -> and(zpXIndirect(operands.nextValue()));
+            case AND.ZP_X -> and(zpX(operands.nextValue()));
+            case AND.ZP_INDIRECT -> and(zpIndirect(operands.nextValue()));
+            case AND.ZP_INDIRECT_Y -> and(zpIndirectY(operands.nextValue()));
+
+            case ASL.ABSOLUTE -> asl(absolute(operands.nextAddress()));
+            case ASL.ABSOLUTE_X -> asl(absoluteX(operands.nextAddress()));
             case ASL.ACCUMULATOR -> asl(accumulator());
-            case ASL.ZP -> asl(zp(programManager.nextValue()));
-            case ASL.ZP_X -> asl(zpX(programManager.nextValue()));
-
-            case BBR0.ZP_RELATIVE -> bbr0(zpRelative(zp(programManager.nextValue()), relative(programManager.nextValue())));
-            case BBR1.ZP_RELATIVE -> bbr1(zpRelative(zp(programManager.nextValue()), relative(programManager.nextValue())));
-            case BBR2.ZP_RELATIVE -> bbr2(zpRelative(zp(programManager.nextValue()), relative(programManager.nextValue())));
-            case BBR3.ZP_RELATIVE -> bbr3(zpRelative(zp(programManager.nextValue()), relative(programManager.nextValue())));
-            case BBR4.ZP_RELATIVE -> bbr4(zpRelative(zp(programManager.nextValue()), relative(programManager.nextValue())));
-            case BBR5.ZP_RELATIVE -> bbr5(zpRelative(zp(programManager.nextValue()), relative(programManager.nextValue())));
-            case BBR6.ZP_RELATIVE -> bbr6(zpRelative(zp(programManager.nextValue()), relative(programManager.nextValue())));
-            case BBR7.ZP_RELATIVE -> bbr7(zpRelative(zp(programManager.nextValue()), relative(programManager.nextValue())));
-
-            case BBS0.ZP_RELATIVE -> bbs0(zpRelative(zp(programManager.nextValue()), relative(programManager.nextValue())));
-            case BBS1.ZP_RELATIVE -> bbs1(zpRelative(zp(programManager.nextValue()), relative(programManager.nextValue())));
-            case BBS2.ZP_RELATIVE -> bbs2(zpRelative(zp(programManager.nextValue()), relative(programManager.nextValue())));
-            case BBS3.ZP_RELATIVE -> bbs3(zpRelative(zp(programManager.nextValue()), relative(programManager.nextValue())));
-            case BBS4.ZP_RELATIVE -> bbs4(zpRelative(zp(programManager.nextValue()), relative(programManager.nextValue())));
-            case BBS5.ZP_RELATIVE -> bbs5(zpRelative(zp(programManager.nextValue()), relative(programManager.nextValue())));
-            case BBS6.ZP_RELATIVE -> bbs6(zpRelative(zp(programManager.nextValue()), relative(programManager.nextValue())));
-            case BBS7.ZP_RELATIVE -> bbs7(zpRelative(zp(programManager.nextValue()), relative(programManager.nextValue())));
-
-            case BCC.RELATIVE -> bcc(relative(programManager.nextValue()));
-            case BCS.RELATIVE -> bcs(relative(programManager.nextValue()));
-            case BEQ.RELATIVE -> beq(relative(programManager.nextValue()));
-
-            case BIT.ABSOLUTE -> bit(absolute(programManager.nextAddress()));
-            case BIT.ABSOLUTE_X -> bit(absoluteX(programManager.nextAddress()));
-            case BIT.IMMEDIATE -> bit(immediate(programManager.nextValue()));
-            case BIT.ZP -> bit(zp(programManager.nextValue()));
-            case BIT.ZP_X -> bit(zpX(programManager.nextValue()));
-
-            case BMI.RELATIVE -> bmi(relative(programManager.nextValue()));
-            case BNE.RELATIVE -> bne(relative(programManager.nextValue()));
-            case BPL.RELATIVE -> bpl(relative(programManager.nextValue()));
-            case BRA.RELATIVE -> bra(relative(programManager.nextValue()));
+            case ASL.ZP -> asl(zp(operands.nextValue()));
+            case ASL.ZP_X -> asl(zpX(operands.nextValue()));
+
+            case BBR0.ZP_RELATIVE -> bbr0(zpRelative(zp(operands.nextValue()), relative(operands.nextValue())));
+            case BBR1.ZP_RELATIVE -> bbr1(zpRelative(zp(operands.nextValue()), relative(operands.nextValue())));
+            case BBR2.ZP_RELATIVE -> bbr2(zpRelative(zp(operands.nextValue()), relative(operands.nextValue())));
+            case BBR3.ZP_RELATIVE -> bbr3(zpRelative(zp(operands.nextValue()), relative(operands.nextValue())));
+            case BBR4.ZP_RELATIVE -> bbr4(zpRelative(zp(operands.nextValue()), relative(operands.nextValue())));
+            case BBR5.ZP_RELATIVE -> bbr5(zpRelative(zp(operands.nextValue()), relative(operands.nextValue())));
+            case BBR6.ZP_RELATIVE -> bbr6(zpRelative(zp(operands.nextValue()), relative(operands.nextValue())));
+            case BBR7.ZP_RELATIVE -> bbr7(zpRelative(zp(operands.nextValue()), relative(operands.nextValue())));
+
+            case BBS0.ZP_RELATIVE -> bbs0(zpRelative(zp(operands.nextValue()), relative(operands.nextValue())));
+            case BBS1.ZP_RELATIVE -> bbs1(zpRelative(zp(operands.nextValue()), relative(operands.nextValue())));
+            case BBS2.ZP_RELATIVE -> bbs2(zpRelative(zp(operands.nextValue()), relative(operands.nextValue())));
+            case BBS3.ZP_RELATIVE -> bbs3(zpRelative(zp(operands.nextValue()), relative(operands.nextValue())));
+            case BBS4.ZP_RELATIVE -> bbs4(zpRelative(zp(operands.nextValue()), relative(operands.nextValue())));
+            case BBS5.ZP_RELATIVE -> bbs5(zpRelative(zp(operands.nextValue()), relative(operands.nextValue())));
+            case BBS6.ZP_RELATIVE -> bbs6(zpRelative(zp(operands.nextValue()), relative(operands.nextValue())));
+            case BBS7.ZP_RELATIVE -> bbs7(zpRelative(zp(operands.nextValue()), relative(operands.nextValue())));
+
+            case BCC.RELATIVE -> bcc(relative(operands.nextValue()));
+            case BCS.RELATIVE -> bcs(relative(operands.nextValue()));
+            case BEQ.RELATIVE -> beq(relative(operands.nextValue()));
+
+            case BIT.ABSOLUTE -> bit(absolute(operands.nextAddress()));
+            case BIT.ABSOLUTE_X -> bit(absoluteX(operands.nextAddress()));
+            case BIT.IMMEDIATE -> bit(immediate(operands.nextValue()));
+            case BIT.ZP -> bit(zp(operands.nextValue()));
+            case BIT.ZP_X -> bit(zpX(operands.nextValue()));
+
+            case BMI.RELATIVE -> bmi(relative(operands.nextValue()));
+            case BNE.RELATIVE -> bne(relative(operands.nextValue()));
+            case BPL.RELATIVE -> bpl(relative(operands.nextValue()));
+            case BRA.RELATIVE -> bra(relative(operands.nextValue()));
 
             case BRK.STACK -> brk();
 
-            case BVC.RELATIVE -> bvc(relative(programManager.nextValue()));
-            case BVS.RELATIVE -> bvs(relative(programManager.nextValue()));
+            case BVC.RELATIVE -> bvc(relative(operands.nextValue()));
+            case BVS.RELATIVE -> bvs(relative(operands.nextValue()));
 
             case CLC.IMPLIED -> clc();
             case CLD.IMPLIED -> cld();
             case CLI.IMPLIED -> cli();
             case CLV.IMPLIED -> clv();
 
-            case CMP.ABSOLUTE -> cmp(absolute(programManager.nextAddress()));
-            case CMP.ABSOLUTE_X -> cmp(absoluteX(programManager.nextAddress()));
-            case CMP.ABSOLUTE_Y -> cmp(absoluteY(programManager.nextAddress()));
-            case CMP.IMMEDIATE -> cmp(immediate(programManager.nextValue()));
-            case CMP.ZP -> cmp(zp(programManager.nextValue()));
-            case CMP.ZP_X_INDIRECT -> cmp(zpXIndirect(programManager.nextValue()));
-            case CMP.ZP_X -> cmp(zpX(programManager.nextValue()));
-            case CMP.ZP_INDIRECT -> cmp(zpIndirect(programManager.nextValue()));
-            case CMP.ZP_INDIRECT_Y -> cmp(zpIndirectY(programManager.nextValue()));
-
-            case CPX.ABSOLUTE -> cpx(absolute(programManager.nextAddress()));
-            case CPX.IMMEDIATE -> cpx(immediate(programManager.nextValue()));
-            case CPX.ZP -> cpx(zp(programManager.nextValue()));
-
-            case CPY.ABSOLUTE -> cpy(absolute(programManager.nextAddress()));
-            case CPY.IMMEDIATE -> cpy(immediate(programManager.nextValue()));
-            case CPY.ZP -> cpy(zp(programManager.nextValue()));
-
-            case DEC.ABSOLUTE -> dec(absolute(programManager.nextAddress()));
-            case DEC.ABSOLUTE_X -> dec(absoluteX(programManager.nextAddress()));
+            case CMP.ABSOLUTE -> cmp(absolute(operands.nextAddress()));
+            case CMP.ABSOLUTE_X -> cmp(absoluteX(operands.nextAddress()));
+            case CMP.ABSOLUTE_Y -> cmp(absoluteY(operands.nextAddress()));
+            case CMP.IMMEDIATE -> cmp(immediate(operands.nextValue()));
+            case CMP.ZP -> cmp(zp(operands.nextValue()));
+            case CMP.ZP_X_INDIRECT -> cmp(zpXIndirect(operands.nextValue()));
+            case CMP.ZP_X -> cmp(zpX(operands.nextValue()));
+            case CMP.ZP_INDIRECT -> cmp(zpIndirect(operands.nextValue()));
+            case CMP.ZP_INDIRECT_Y -> cmp(zpIndirectY(operands.nextValue()));
+
+            case CPX.ABSOLUTE -> cpx(absolute(operands.nextAddress()));
+            case CPX.IMMEDIATE -> cpx(immediate(operands.nextValue()));
+            case CPX.ZP -> cpx(zp(operands.nextValue()));
+
+            case CPY.ABSOLUTE -> cpy(absolute(operands.nextAddress()));
+            case CPY.IMMEDIATE -> cpy(immediate(operands.nextValue()));
+            case CPY.ZP -> cpy(zp(operands.nextValue()));
+
+            case DEC.ABSOLUTE -> dec(absolute(operands.nextAddress()));
+            case DEC.ABSOLUTE_X -> dec(absoluteX(operands.nextAddress()));
             case DEC.ACCUMULATOR -> dec(accumulator());
-            case DEC.ZP -> dec(zp(programManager.nextValue()));
-            case DEC.ZP_X -> dec(zpX(programManager.nextValue()));
+            case DEC.ZP -> dec(zp(operands.nextValue()));
+            case DEC.ZP_X -> dec(zpX(operands.nextValue()));
 
             case DEX.IMPLIED -> dex();
             case DEY.IMPLIED -> dey();
 
-            case EOR.ABSOLUTE -> eor(absolute(programManager.nextAddress()));
-            case EOR.ABSOLUTE_X -> eor(absoluteX(programManager.nextAddress()));
-            case EOR.ABSOLUTE_Y -> eor(absoluteY(programManager.nextAddress()));
-            case EOR.IMMEDIATE -> eor(immediate(programManager.nextValue()));
-            case EOR.ZP -> eor(zp(programManager.nextValue()));
-            case EOR.ZP_X_INDIRECT -> eor(zpXIndirect(programManager.nextValue()));
-            case EOR.ZP_X -> eor(zpX(programManager.nextValue()));
-            case EOR.ZP_INDIRECT -> eor(zpIndirect(programManager.nextValue()));
-            case EOR.ZP_INDIRECT_Y -> eor(zpIndirectY(programManager.nextValue()));
-
-            case INC.ABSOLUTE -> inc(absolute(programManager.nextAddress()));
-            case INC.ABSOLUTE_X -> inc(absoluteX(programManager.nextAddress()));
+            case EOR.ABSOLUTE -> eor(absolute(operands.nextAddress()));
+            case EOR.ABSOLUTE_X -> eor(absoluteX(operands.nextAddress()));
+            case EOR.ABSOLUTE_Y -> eor(absoluteY(operands.nextAddress()));
+            case EOR.IMMEDIATE -> eor(immediate(operands.nextValue()));
+            case EOR.ZP -> eor(zp(operands.nextValue()));
+            case EOR.ZP_X_INDIRECT -> eor(zpXIndirect(operands.nextValue()));
+            case EOR.ZP_X -> eor(zpX(operands.nextValue()));
+            case EOR.ZP_INDIRECT -> eor(zpIndirect(operands.nextValue()));
+            case EOR.ZP_INDIRECT_Y -> eor(zpIndirectY(operands.nextValue()));
+
+            case INC.ABSOLUTE -> inc(absolute(operands.nextAddress()));
+            case INC.ABSOLUTE_X -> inc(absoluteX(operands.nextAddress()));
             case INC.ACCUMULATOR -> inc(accumulator());
-            case INC.ZP -> inc(zp(programManager.nextValue()));
-            case INC.ZP_X -> inc(zpX(programManager.nextValue()));
+            case INC.ZP -> inc(zp(operands.nextValue()));
+            case INC.ZP_X -> inc(zpX(operands.nextValue()));
 
             case INX.IMPLIED -> inx();
             case INY.IMPLIED -> iny();
 
-            case JMP.ABSOLUTE -> jmp(absolute(programManager.nextAddress()));
-            case JMP.ABSOLUTE_X_INDIRECT -> jmp(absoluteXIndirect(programManager.nextAddress()));
-            case JMP.ABSOLUTE_INDIRECT -> jmp(absoluteIndirect(programManager.nextAddress()));
-
-            case JSR.ABSOLUTE -> jsr(absolute(programManager.nextAddress()));
-
-            case LDA.ABSOLUTE -> lda(absolute(programManager.nextAddress()));
-            case LDA.ABSOLUTE_X -> lda(absoluteX(programManager.nextAddress()));
-            case LDA.ABSOLUTE_Y -> lda(absoluteY(programManager.nextAddress()));
-            case LDA.IMMEDIATE -> lda(immediate(programManager.nextValue()));
-            case LDA.ZP -> lda(zp(programManager.nextValue()));
-            case LDA.ZP_X_INDIRECT -> lda(zpXIndirect(programManager.nextValue()));
-            case LDA.ZP_X -> lda(zpX(programManager.nextValue()));
-            case LDA.ZP_INDIRECT -> lda(zpIndirect(programManager.nextValue()));
-            case LDA.ZP_INDIRECT_Y -> lda(zpIndirectY(programManager.nextValue()));
-
-            case LDX.ABSOLUTE -> ldx(absolute(programManager.nextAddress()));
-            case LDX.ABSOLUTE_Y -> ldx(absoluteY(programManager.nextAddress()));
-            case LDX.IMMEDIATE -> ldx(immediate(programManager.nextValue()));
-            case LDX.ZP -> ldx(zp(programManager.nextValue()));
-            case LDX.ZP_Y -> ldx(zpY(programManager.nextValue()));
-
-            case LDY.ABSOLUTE -> ldy(absolute(programManager.nextAddress()));
-            case LDY.ABSOLUTE_X -> ldy(absoluteX(programManager.nextAddress()));
-            case LDY.IMMEDIATE -> ldy(immediate(programManager.nextValue()));
-            case LDY.ZP -> ldy(zp(programManager.nextValue()));
-            case LDY.ZP_X -> ldy(zpX(programManager.nextValue()));
-
-            case LSR.ABSOLUTE -> lsr(absolute(programManager.nextAddress()));
-            case LSR.ABSOLUTE_X -> lsr(absoluteX(programManager.nextAddress()));
+            case JMP.ABSOLUTE -> jmp(absolute(operands.nextAddress()));
+            case JMP.ABSOLUTE_X_INDIRECT -> jmp(absoluteXIndirect(operands.nextAddress()));
+            case JMP.ABSOLUTE_INDIRECT -> jmp(absoluteIndirect(operands.nextAddress()));
+
+            case JSR.ABSOLUTE -> jsr(absolute(operands.nextAddress()));
+
+            case LDA.ABSOLUTE -> lda(absolute(operands.nextAddress()));
+            case LDA.ABSOLUTE_X -> lda(absoluteX(operands.nextAddress()));
+            case LDA.ABSOLUTE_Y -> lda(absoluteY(operands.nextAddress()));
+            case LDA.IMMEDIATE -> lda(immediate(operands.nextValue()));
+            case LDA.ZP -> lda(zp(operands.nextValue()));
+            case LDA.ZP_X_INDIRECT -> lda(zpXIndirect(operands.nextValue()));
+            case LDA.ZP_X -> lda(zpX(operands.nextValue()));
+            case LDA.ZP_INDIRECT -> lda(zpIndirect(operands.nextValue()));
+            case LDA.ZP_INDIRECT_Y -> lda(zpIndirectY(operands.nextValue()));
+
+            case LDX.ABSOLUTE -> ldx(absolute(operands.nextAddress()));
+            case LDX.ABSOLUTE_Y -> ldx(absoluteY(operands.nextAddress()));
+            case LDX.IMMEDIATE -> ldx(immediate(operands.nextValue()));
+            case LDX.ZP -> ldx(zp(operands.nextValue()));
+            case LDX.ZP_Y -> ldx(zpY(operands.nextValue()));
+
+            case LDY.ABSOLUTE -> ldy(absolute(operands.nextAddress()));
+            case LDY.ABSOLUTE_X -> ldy(absoluteX(operands.nextAddress()));
+            case LDY.IMMEDIATE -> ldy(immediate(operands.nextValue()));
+            case LDY.ZP -> ldy(zp(operands.nextValue()));
+            case LDY.ZP_X -> ldy(zpX(operands.nextValue()));
+
+            case LSR.ABSOLUTE -> lsr(absolute(operands.nextAddress()));
+            case LSR.ABSOLUTE_X -> lsr(absoluteX(operands.nextAddress()));
             case LSR.ACCUMULATOR -> lsr(accumulator());
-            case LSR.ZP -> lsr(zp(programManager.nextValue()));
-            case LSR.ZP_X -> lsr(zpX(programManager.nextValue()));
+            case LSR.ZP -> lsr(zp(operands.nextValue()));
+            case LSR.ZP_X -> lsr(zpX(operands.nextValue()));
 
             case NOP.IMPLIED -> nop();
 
-            case ORA.ABSOLUTE -> ora(absolute(programManager.nextAddress()));
-            case ORA.ABSOLUTE_X -> ora(absoluteX(programManager.nextAddress()));
-            case ORA.ABSOLUTE_Y -> ora(absoluteY(programManager.nextAddress()));
-            case ORA.IMMEDIATE -> ora(immediate(programManager.nextValue()));
-            case ORA.ZP -> ora(zp(programManager.nextValue()));
-            case ORA.ZP_X_INDIRECT -> ora(zpXIndirect(programManager.nextValue()));
-            case ORA.ZP_X -> ora(zpX(programManager.nextValue()));
-            case ORA.ZP_INDIRECT -> ora(zpIndirect(programManager.nextValue()));
-            case ORA.ZP_INDIRECT_Y -> ora(zpIndirectY(programManager.nextValue()));
+            case ORA.ABSOLUTE -> ora(absolute(operands.nextAddress()));
+            case ORA.ABSOLUTE_X -> ora(absoluteX(operands.nextAddress()));
+            case ORA.ABSOLUTE_Y -> ora(absoluteY(operands.nextAddress()));
+            case ORA.IMMEDIATE -> ora(immediate(operands.nextValue()));
+            case ORA.ZP -> ora(zp(operands.nextValue()));
+            case ORA.ZP_X_INDIRECT -> ora(zpXIndirect(operands.nextValue()));
+            case ORA.ZP_X -> ora(zpX(operands.nextValue()));
+            case ORA.ZP_INDIRECT -> ora(zpIndirect(operands.nextValue()));
+            case ORA.ZP_INDIRECT_Y -> ora(zpIndirectY(operands.nextValue()));
 
             case PHA.STACK -> pha();
             case PHP.STACK -> php();
@@ -202,85 +273,85 @@ class InstructionDecoder
             case PLX.STACK -> plx();
             case PLY.STACK -> ply();
 
-            case RMB0.ZP -> rmb0(zp(programManager.nextValue()));
-            case RMB1.ZP -> rmb1(zp(programManager.nextValue()));
-            case RMB2.ZP -> rmb2(zp(programManager.nextValue()));
-            case RMB3.ZP -> rmb3(zp(programManager.nextValue()));
-            case RMB4.ZP -> rmb4(zp(programManager.nextValue()));
-            case RMB5.ZP -> rmb5(zp(programManager.nextValue()));
-            case RMB6.ZP -> rmb6(zp(programManager.nextValue()));
-            case RMB7.ZP -> rmb7(zp(programManager.nextValue()));
-
-            case ROL.ABSOLUTE -> rol(absolute(programManager.nextAddress()));
-            case ROL.ABSOLUTE_X -> rol(absoluteX(programManager.nextAddress()));
+            case RMB0.ZP -> rmb0(zp(operands.nextValue()));
+            case RMB1.ZP -> rmb1(zp(operands.nextValue()));
+            case RMB2.ZP -> rmb2(zp(operands.nextValue()));
+            case RMB3.ZP -> rmb3(zp(operands.nextValue()));
+            case RMB4.ZP -> rmb4(zp(operands.nextValue()));
+            case RMB5.ZP -> rmb5(zp(operands.nextValue()));
+            case RMB6.ZP -> rmb6(zp(operands.nextValue()));
+            case RMB7.ZP -> rmb7(zp(operands.nextValue()));
+
+            case ROL.ABSOLUTE -> rol(absolute(operands.nextAddress()));
+            case ROL.ABSOLUTE_X -> rol(absoluteX(operands.nextAddress()));
             case ROL.ACCUMULATOR -> rol(accumulator());
-            case ROL.ZP -> rol(zp(programManager.nextValue()));
-            case ROL.ZP_X -> rol(zpX(programManager.nextValue()));
+            case ROL.ZP -> rol(zp(operands.nextValue()));
+            case ROL.ZP_X -> rol(zpX(operands.nextValue()));
 
-            case ROR.ABSOLUTE -> ror(absolute(programManager.nextAddress()));
-            case ROR.ABSOLUTE_X -> ror(absoluteX(programManager.nextAddress()));
+            case ROR.ABSOLUTE -> ror(absolute(operands.nextAddress()));
+            case ROR.ABSOLUTE_X -> ror(absoluteX(operands.nextAddress()));
             case ROR.ACCUMULATOR -> ror(accumulator());
-            case ROR.ZP -> ror(zp(programManager.nextValue()));
-            case ROR.ZP_X -> ror(zpX(programManager.nextValue()));
+            case ROR.ZP -> ror(zp(operands.nextValue()));
+            case ROR.ZP_X -> ror(zpX(operands.nextValue()));
 
             case RTI.STACK -> rti();
             case RTS.STACK -> rts();
 
-            case SBC.ABSOLUTE -> sbc(absolute(programManager.nextAddress()));
-            case SBC.ABSOLUTE_X -> sbc(absoluteX(programManager.nextAddress()));
-            case SBC.ABSOLUTE_Y -> sbc(absoluteY(programManager.nextAddress()));
-            case SBC.IMMEDIATE -> sbc(immediate(programManager.nextValue()));
-            case SBC.ZP -> sbc(zp(programManager.nextValue()));
-            case SBC.ZP_X_INDIRECT -> sbc(zpXIndirect(programManager.nextValue()));
-            case SBC.ZP_X -> sbc(zpX(programManager.nextValue()));
-            case SBC.ZP_INDIRECT -> sbc(zpIndirect(programManager.nextValue()));
-            case SBC.ZP_INDIRECT_Y -> sbc(zpIndirectY(programManager.nextValue()));
+            case SBC.ABSOLUTE -> sbc(absolute(operands.nextAddress()));
+            case SBC.ABSOLUTE_X -> sbc(absoluteX(operands.nextAddress()));
+            case SBC.ABSOLUTE_Y -> sbc(absoluteY(operands.nextAddress()));
+            case SBC.IMMEDIATE -> sbc(immediate(operands.nextValue()));
+            case SBC.ZP -> sbc(zp(operands.nextValue()));
+            case SBC.ZP_X_INDIRECT -> sbc(zpXIndirect(operands.nextValue()));
+            case SBC.ZP_X -> sbc(zpX(operands.nextValue()));
+            case SBC.ZP_INDIRECT -> sbc(zpIndirect(operands.nextValue()));
+            case SBC.ZP_INDIRECT_Y -> sbc(zpIndirectY(operands.nextValue()));
 
             case SEC.IMPLIED -> sec();
             case SED.IMPLIED -> sed();
             case SEI.IMPLIED -> sei();
 
-            case SMB0.ZP -> smb0(zp(programManager.nextValue()));
-            case SMB1.ZP -> smb1(zp(programManager.nextValue()));
-            case SMB2.ZP -> smb2(zp(programManager.nextValue()));
-            case SMB3.ZP -> smb3(zp(programManager.nextValue()));
-            case SMB4.ZP -> smb4(zp(programManager.nextValue()));
-            case SMB5.ZP -> smb5(zp(programManager.nextValue()));
-            case SMB6.ZP -> smb6(zp(programManager.nextValue()));
-            case SMB7.ZP -> smb7(zp(programManager.nextValue()));
-
-            case STA.ABSOLUTE -> sta(absolute(programManager.nextAddress()));
-            case STA.ABSOLUTE_X -> sta(absoluteX(programManager.nextAddress()));
-            case STA.ABSOLUTE_Y -> sta(absoluteY(programManager.nextAddress()));
-            case STA.ZP -> sta(zp(programManager.nextValue()));
-            case STA.ZP_X_INDIRECT -> sta(zpXIndirect(programManager.nextValue()));
-            case STA.ZP_X -> sta(zpX(programManager.nextValue()));
-            case STA.ZP_INDIRECT -> sta(zpIndirect(programManager.nextValue()));
-            case STA.ZP_INDIRECT_Y -> sta(zpIndirectY(programManager.nextValue()));
+            case SMB0.ZP -> smb0(zp(operands.nextValue()));
+            case SMB1.ZP -> smb1(zp(operands.nextValue()));
+            case SMB2.ZP -> smb2(zp(operands.nextValue()));
+            case SMB3.ZP -> smb3(zp(operands.nextValue()));
+            case SMB4.ZP -> smb4(zp(operands.nextValue()));
+            case SMB5.ZP -> smb5(zp(operands.nextValue()));
+            case SMB6.ZP -> smb6(zp(operands.nextValue()));
+            case SMB7.ZP -> smb7(zp(operands.nextValue()));
+
+            case STA.ABSOLUTE -> sta(absolute(operands.nextAddress()));
+            case STA.ABSOLUTE_X -> sta(absoluteX(operands.nextAddress()));
+            case STA.ABSOLUTE_Y -> sta(absoluteY(operands.nextAddress()));
+            case STA.ZP -> sta(zp(operands.nextValue()));
+            case STA.ZP_X_INDIRECT -> sta(zpXIndirect(operands.nextValue()));
+            case STA.ZP_X -> sta(zpX(operands.nextValue()));
+            case STA.ZP_INDIRECT -> sta(zpIndirect(operands.nextValue()));
+            case STA.ZP_INDIRECT_Y -> sta(zpIndirectY(operands.nextValue()));
 
             case STP.IMPLIED -> stp();
 
-            case STX.ABSOLUTE -> stx(absolute(programManager.nextAddress()));
-            case STX.ZP -> stx(zp(programManager.nextValue()));
-            case STX.ZP_Y -> stx(zpY(programManager.nextValue()));
+            case STX.ABSOLUTE -> stx(absolute(operands.nextAddress()));
+            case STX.ZP -> stx(zp(operands.nextValue()));
+            case STX.ZP_Y -> stx(zpY(operands.nextValue()));
 
-            case STY.ABSOLUTE -> sty(absolute(programManager.nextAddress()));
-            case STY.ZP -> sty(zp(programManager.nextValue()));
-            case STY.ZP_X -> sty(zpX(programManager.nextValue()));
+            case STY.ABSOLUTE -> sty(absolute(operands.nextAddress()));
+            case STY.ZP -> sty(zp(operands.nextValue()));
+            case STY.ZP_X -> sty(zpX(operands.nextValue()));
 
-            case STZ.ABSOLUTE -> stz(absolute(programManager.nextAddress()));
-            case STZ.ABSOLUTE_X -> stz(absoluteX(programManager.nextAddress()));
-            case STZ.ZP -> stz(zp(programManager.nextValue()));
-            case STZ.ZP_X -> stz(zpX(programManager.nextValue()));
+            case STZ.ABSOLUTE -> stz(absolute(operands.nextAddress()));
+            case STZ.ABSOLUTE_X -> stz(absoluteX(operands.nextAddress()));
+            case STZ.ZP -> stz(zp(operands.nextValue()));
+            case STZ.ZP_X -> stz(zpX(operands.nextValue()));
 
             case TAX.IMPLIED -> tax();
             case TAY.IMPLIED -> tay();
 
-            case TRB.ABSOLUTE -> trb(absolute(programManager.nextAddress()));
-            case TRB.ZP -> trb(zp(programManager.nextValue()));
+            case TRB.ABSOLUTE -> trb(absolute(operands.nextAddress()));
+            case TRB.ZP -> trb(zp(operands.nextValue()));
 
-            case TSB.ABSOLUTE -> tsb(absolute(programManager.nextAddress()));
-            case TSB.ZP -> tsb(zp(programManager.nextValue()));
+            case TSB.ABSOLUTE -> tsb(absolute(operands.nextAddress()));
+            case TSB.ZP -> tsb(zp(operands.nextValue()));
 
             case TSX.IMPLIED -> tsx();
             case TXA.IMPLIED -> txa();
@@ -289,28 +360,36 @@ class InstructionDecoder
 
             case WAI.IMPLIED -> wai();
 
-            case UNUSED.X02, UNUSED.X22, UNUSED.X42, UNUSED.X62, UNUSED.X82, UNUSED.XC2, UNUSED.XE2 -> unused(opCode, immediate(programManager.nextValue()));
-            case UNUSED.X44 -> unused(opCode, zp(programManager.nextValue()));
-            case UNUSED.X54, UNUSED.XD4, UNUSED.XF4 -> unused(opCode, zpX(programManager.nextValue()));
-            case UNUSED.X5C -> {
-                programManager.nextAddress(); // perform a 2-byte read advancing the program counter
-                // $5C on real hardware actually reads from some valid address using an unknown address mode
-                Address target = Address.of((int)(Math.random() * 0x10000)); // pick a random address to read from
-                yield unused(opCode, absolute(target));
-            }
-            case UNUSED.XDC, UNUSED.XFC -> unused(opCode, absolute(programManager.nextAddress()));
+            case UNUSED.X02, UNUSED.X22, UNUSED.X42, UNUSED.X62, UNUSED.X82, UNUSED.XC2, UNUSED.XE2 -> unused(opCode, immediate(operands.nextValue()));
+            case UNUSED.X44 -> unused(opCode, zp(operands.nextValue()));
+            case UNUSED.X54, UNUSED.XD4, UNUSED.XF4 -> unused(opCode, zpX(operands.nextValue()));
+            case UNUSED.X5C, UNUSED.XDC, UNUSED.XFC -> unused(opCode, absolute(operands.nextAddress()));
             default -> unused(opCode, implied());
             // @formatter:on
         };
 
-        // a throwaway read occurs on all single-byte addressing modes (except the unused op codes)
-        if (!(op instanceof UNUSED)) {
-            switch (op.mode()) {
-                case Accumulator _, Implied _, AddressMode.Stack _ -> programManager.read();
-                default -> {}
-            }
+        return op;
+    }
+
+    private interface Operands
+    {
+        Value nextValue();
+
+        default Address nextAddress()
+        {
+            return Address.of(nextValue(), nextValue());
         }
+    }
 
-        return op;
+    private static class CountingOperands implements Operands
+    {
+        private int count;
+
+        @Override
+        public Value nextValue()
+        {
+            count++;
+            return Value.ZERO;
+        }
     }
 }
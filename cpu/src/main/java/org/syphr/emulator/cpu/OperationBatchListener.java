@@ -0,0 +1,38 @@
+/*
+ * Copyright © 2025-2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cpu;
+
+import org.syphr.emulator.cpu.CPUEvent.OperationEvent;
+
+import java.util.EventListener;
+import java.util.List;
+
+/**
+ * Receives completed operations in blocks rather than one at a time, so that a consumer can spread its own dispatch,
+ * locking and rendering costs over many events. Blocks are delivered in order, and together they contain every event a
+ * {@link OperationListener} would have received.
+ *
+ * @see CPU#addListener(OperationBatchListener, int, java.time.Duration)
+ */
+public interface OperationBatchListener extends EventListener
+{
+    /**
+     * Receive the next block of events. The list is never empty, cannot be modified and may be kept by the listener.
+     *
+     * @param events consecutive events in the order they occurred
+     */
+    void operationsCompleted(List<OperationEvent> events);
+}
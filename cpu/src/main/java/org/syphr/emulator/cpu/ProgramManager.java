@@ -15,42 +15,65 @@
  */
 package org.syphr.emulator.cpu;
 
-import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.syphr.emulator.common.Value;
 
 @Slf4j
-@RequiredArgsConstructor
 class ProgramManager
 {
+    private final Registers registers;
     private final Reader reader;
+    private final Tracer tracer;
 
-    @Getter
-    private Address programCounter = Address.of(0x00FF);
+    public ProgramManager(Registers registers, Reader reader, Tracer tracer)
+    {
+        this.registers = registers;
+        this.reader = reader;
+        this.tracer = tracer;
+
+        registers.pc = 0x00FF;
+    }
 
-    public void read()
+    public int read()
     {
-        log.info("Performing throwaway read at program counter");
-        reader.read(programCounter);
+        if (tracer.isEnabled()) {
+            log.info("Performing throwaway read at program counter");
+        }
+        return Byte.toUnsignedInt(reader.read(getProgramCounter()).data());
     }
 
-    public Value nextValue()
+    public int nextByte()
     {
-        Value value = reader.read(programCounter);
-        programCounter = programCounter.increment();
+        int value = Byte.toUnsignedInt(reader.read(getProgramCounter()).data());
+        advance();
 
         return value;
     }
 
-    public Address nextAddress()
+    public int nextWord()
+    {
+        return nextByte() | nextByte() << 8;
+    }
+
+    public void advance()
     {
-        return Address.of(nextValue(), nextValue());
+        registers.pc = (registers.pc + 1) & 0xFFFF;
+    }
+
+    public Address getProgramCounter()
+    {
+        return Address.of(registers.pc);
     }
 
     public void setProgramCounter(Address address)
     {
-        programCounter = address;
-        log.info("Program counter set to {}", address);
+        setProgramCounter(address.toUnsignedInt());
+    }
+
+    public void setProgramCounter(int address)
+    {
+        registers.pc = address & 0xFFFF;
+        if (tracer.isEnabled()) {
+            log.info("Program counter set to {}", getProgramCounter());
+        }
     }
 }
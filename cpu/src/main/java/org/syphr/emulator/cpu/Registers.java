@@ -0,0 +1,127 @@
+/*
+ * Copyright © 2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cpu;
+
+import org.syphr.emulator.common.Register;
+import org.syphr.emulator.common.Value;
+
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+
+/**
+ * The programmer-visible registers held as primitive fields so that executing instructions does not allocate. Every
+ * field holds an unsigned value: 8 bits for the accumulator, index registers, stack pointer and status and 16 bits for
+ * the program counter.
+ * <p>
+ * The {@link CPU}, {@link ALU}, {@link Stack} and {@link ProgramManager} work on the fields directly. Code that only
+ * observes or sets up state can use the {@link Register} and {@link StatusRegister} views instead.
+ */
+final class Registers
+{
+    static final int CARRY = 0x01;
+    static final int ZERO = 0x02;
+    static final int IRQ_DISABLE = 0x04;
+    static final int DECIMAL = 0x08;
+    static final int BREAK_COMMAND = 0x10;
+    static final int USER = 0x20;
+    static final int OVERFLOW = 0x40;
+    static final int NEGATIVE = 0x80;
+
+    int a;
+    int x;
+    int y;
+    int sp;
+    int p;
+    int pc;
+
+    private final Register accumulator = new View(() -> a, v -> a = v);
+    private final Register xView = new View(() -> x, v -> x = v);
+    private final Register yView = new View(() -> y, v -> y = v);
+    private final StatusRegister status = new StatusRegister()
+    {
+        @Override
+        public void load(Value value)
+        {
+            p = Byte.toUnsignedInt(value.data());
+        }
+
+        @Override
+        public Value value()
+        {
+            return Value.of(p);
+        }
+    };
+
+    public boolean isSet(int flag)
+    {
+        return (p & flag) != 0;
+    }
+
+    public void set(int flag, boolean state)
+    {
+        p = state ? p | flag : p & ~flag;
+    }
+
+    public Register accumulator()
+    {
+        return accumulator;
+    }
+
+    public Register x()
+    {
+        return xView;
+    }
+
+    public Register y()
+    {
+        return yView;
+    }
+
+    public StatusRegister status()
+    {
+        return status;
+    }
+
+    private static class View extends Register
+    {
+        private final IntSupplier getter;
+        private final IntConsumer setter;
+
+        View(IntSupplier getter, IntConsumer setter)
+        {
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        public void load(Value value)
+        {
+            setter.accept(Byte.toUnsignedInt(value.data()));
+        }
+
+        @Override
+        public Value value()
+        {
+            return Value.of(getter.getAsInt());
+        }
+
+        @Override
+        public String toString()
+        {
+            return "Register(value=" + value() + ")";
+        }
+    }
+}
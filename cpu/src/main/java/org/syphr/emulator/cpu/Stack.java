@@ -15,93 +15,169 @@
  */
 package org.syphr.emulator.cpu;
 
-import lombok.Setter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
 import org.syphr.emulator.common.Value;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
 import java.util.List;
-
+import java.util.Objects;
+
+/**
+ * The hardware stack in page one. The only state is the stack pointer and memory itself; the stack holds the bytes
+ * between the stack pointer and {@code $01FF}, so a stack set up with {@code TXS} or by writing page one directly is
+ * reported the same way as one built by pushing.
+ * <p>
+ * When a debugger or event consumer asks for the contents, they are read straight from memory without spending any
+ * cycles or touching the bus, so they match what the next {@code PLA} or {@code RTS} would see. The result is kept and
+ * handed out again until the stack pointer moves or page one is {@link #written(Address) written}, so a run of
+ * operations that leave the stack alone does not re-read it for every event.
+ */
 @Slf4j
 @ToString(onlyExplicitlyIncluded = true)
 class Stack
 {
-    private static final Value PAGE_ONE = Value.of(0x01);
-    private static final int SIZE = 256;
+    private static final int PAGE_ONE = 0x0100;
 
+    private final Registers registers;
     private final Reader reader;
     private final Writer writer;
 
-    @ToString.Include
-    private final Deque<Value> data = new ArrayDeque<>(SIZE);
+    // reads memory without spending cycles, for inspecting the stack
+    private final Reader memory;
+    private final Tracer tracer;
 
-    @Setter
-    @ToString.Include
-    private Value pointer = Value.ZERO;
+    // the contents as of the last request and the pointer they were read at
+    @Nullable
+    private List<Value> snapshot;
+    private int snapshotPointer;
 
-    public Stack(Reader reader, Writer writer)
+    public Stack(Registers registers, Reader reader, Writer writer, Reader memory, Tracer tracer)
     {
+        this.registers = registers;
         this.reader = reader;
         this.writer = writer;
+        this.memory = memory;
+        this.tracer = tracer;
     }
 
+    @ToString.Include
     public Address getPointer()
     {
-        return Address.of(pointer, PAGE_ONE);
+        return Address.of(PAGE_ONE | registers.sp);
+    }
+
+    public void setPointer(Value pointer)
+    {
+        registers.sp = Byte.toUnsignedInt(pointer.data());
     }
 
-    public void push(Value value)
+    public void push(int value)
     {
-        if (isFull()) {
-            log.warn("Stack is full; data being pushed will overwrite oldest");
-            data.removeLast();
+        Address address = getPointer();
+        Value data = Value.of(value);
+
+        writer.write(address, data);
+        if (tracer.isEnabled()) {
+            log.info("{} pushed to stack at {}", data, address);
         }
-        data.push(value);
+
+        registers.sp = (registers.sp - 1) & 0xFF;
+    }
+
+    public int pop()
+    {
+        registers.sp = (registers.sp + 1) & 0xFF;
 
         Address address = getPointer();
+        Value value = reader.read(address);
+        if (tracer.isEnabled()) {
+            log.info("{} popped from stack at {}", value, address);
+        }
 
-        writer.write(address, value);
-        log.info("{} pushed to stack at {}", value, address);
+        return Byte.toUnsignedInt(value.data());
+    }
 
-        pointer = pointer.decrement();
+    /**
+     * Get the number of bytes between the stack pointer and the top of page one.
+     *
+     * @return the number of bytes on the stack
+     */
+    public int getSize()
+    {
+        return 0xFF - registers.sp;
     }
 
-    public void pushAll(List<Value> values)
+    public boolean isEmpty()
     {
-        values.forEach(this::push);
+        return getSize() == 0;
     }
 
-    public Value pop()
+    /**
+     * Look at a byte on the stack without spending a cycle or allocating.
+     *
+     * @param depth the position from the top of the stack, where zero is the most recently pushed byte
+     * @return the unsigned byte
+     * @throws IndexOutOfBoundsException if the depth is not less than {@link #getSize()}
+     */
+    public int peek(int depth)
     {
-        if (isEmpty()) {
-            log.warn("Value requested from the stack, but no data has been pushed");
-        } else {
-            data.pop();
-        }
+        Objects.checkIndex(depth, getSize());
+        return Byte.toUnsignedInt(read(depth).data());
+    }
 
-        pointer = pointer.increment();
+    /**
+     * Get the data on the stack, most recently pushed first.
+     *
+     * @return the stack data
+     */
+    @ToString.Include
+    public List<Value> getData()
+    {
+        List<Value> data = snapshot;
+        if (data != null && snapshotPointer == registers.sp) {
+            return data;
+        }
 
-        Address address = getPointer();
-        Value value = reader.read(address);
-        log.info("{} popped from stack at {}", value, address);
+        var values = new Value[getSize()];
+        for (int depth = 0; depth < values.length; depth++) {
+            values[depth] = read(depth);
+        }
 
-        return value;
+        data = List.of(values);
+        snapshot = data;
+        snapshotPointer = registers.sp;
+        return data;
     }
 
-    public boolean isEmpty()
+    /**
+     * Note that memory has changed at the given address, so that the contents are read again if it is in page one.
+     *
+     * @param address the address that changed
+     */
+    public void written(Address address)
     {
-        return data.isEmpty();
+        if ((address.toUnsignedInt() & 0xFF00) == PAGE_ONE) {
+            snapshot = null;
+        }
     }
 
-    public boolean isFull()
+    /**
+     * Note that memory has changed somewhere in the given range, so that the contents are read again if the range
+     * overlaps page one.
+     *
+     * @param start the first changed address
+     * @param end   the last changed address
+     */
+    public void written(Address start, Address end)
     {
-        return data.size() == SIZE;
+        if (start.toUnsignedInt() <= (PAGE_ONE | 0xFF) && end.toUnsignedInt() >= PAGE_ONE) {
+            snapshot = null;
+        }
     }
 
-    public List<Value> getData()
+    private Value read(int depth)
     {
-        return List.copyOf(data);
+        return memory.read(Address.of(PAGE_ONE | (registers.sp + 1 + depth)));
     }
 }
@@ -46,16 +46,7 @@ class StatusRegister extends Register
 
     public Flags flags()
     {
-        return Flags.builder()
-                    .negative(negative())
-                    .overflow(overflow())
-                    .user(user())
-                    .breakCommand(breakCommand())
-                    .decimal(decimal())
-                    .irqDisable(irqDisable())
-                    .zero(zero())
-                    .carry(carry())
-                    .build();
+        return Flags.of(Byte.toUnsignedInt(value().data()));
     }
 
     @ToString.Include
@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cpu;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.function.IntPredicate;
+
+import static org.syphr.emulator.cpu.Operation.*;
+
+/**
+ * Pairs of instructions that show up back to back often enough in real programs to be worth executing as a single
+ * unit. Only the addressing modes that the CPU's combined handler for a pair knows are matched; any other pair is
+ * executed one instruction at a time as usual. See {@link CPU.Builder#fuseInstructions(boolean)}.
+ */
+public enum Superinstruction
+{
+    DEX_BNE(opCode(DEX.IMPLIED), opCode(BNE.RELATIVE)),
+    DEY_BNE(opCode(DEY.IMPLIED), opCode(BNE.RELATIVE)),
+    LDA_STA(opCode(LDA.IMMEDIATE, LDA.ZP, LDA.ABSOLUTE), opCode(STA.ZP, STA.ABSOLUTE, STA.ABSOLUTE_X, STA.ABSOLUTE_Y)),
+    CMP_BEQ(opCode(CMP.IMMEDIATE, CMP.ZP, CMP.ABSOLUTE), opCode(BEQ.RELATIVE)),
+    CMP_BNE(opCode(CMP.IMMEDIATE, CMP.ZP, CMP.ABSOLUTE), opCode(BNE.RELATIVE)),
+    INC_BNE(opCode(INC.ZP), opCode(BNE.RELATIVE));
+
+    private static final @Nullable Superinstruction[] PAIRS = createPairs();
+
+    private final IntPredicate first;
+    private final IntPredicate second;
+
+    Superinstruction(IntPredicate first, IntPredicate second)
+    {
+        this.first = first;
+        this.second = second;
+    }
+
+    /**
+     * Find the superinstruction made up of the given instructions.
+     *
+     * @param opCode     the unsigned op code of the instruction at the program counter
+     * @param nextOpCode the unsigned op code of the instruction that follows it in memory
+     * @return the matching superinstruction or {@code null} if the pair is not fused
+     */
+    static @Nullable Superinstruction match(int opCode, int nextOpCode)
+    {
+        return PAIRS[opCode << 8 | nextOpCode];
+    }
+
+    private static @Nullable Superinstruction[] createPairs()
+    {
+        var table = new Superinstruction[0x10000];
+        for (Superinstruction superinstruction : values()) {
+            for (int opCode = 0; opCode < 256; opCode++) {
+                if (!superinstruction.first.test(opCode)) {
+                    continue;
+                }
+
+                for (int nextOpCode = 0; nextOpCode < 256; nextOpCode++) {
+                    if (superinstruction.second.test(nextOpCode)) {
+                        table[opCode << 8 | nextOpCode] = superinstruction;
+                    }
+                }
+            }
+        }
+
+        return table;
+    }
+
+    private static IntPredicate opCode(byte... codes)
+    {
+        var opCodes = new boolean[256];
+        for (byte code : codes) {
+            opCodes[Byte.toUnsignedInt(code)] = true;
+        }
+        return o -> opCodes[o];
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright © 2025-2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cpu;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static org.syphr.emulator.cpu.TraceWriter.*;
+
+/**
+ * Streams the records of a trace file written by {@link TraceWriter}. The reader is a cursor: {@link #next()} moves to
+ * the next record, whose fields are then available as primitives, so iterating a trace allocates nothing beyond one
+ * buffer per block size. Fields that do not apply to the current kind of record keep their last value.
+ * <p>
+ * A reader is not thread safe.
+ */
+public final class TraceReader implements AutoCloseable
+{
+    private static final BusAction[] BUS_ACTIONS = BusAction.values();
+
+    private final InputStream in;
+    private final Inflater inflater = new Inflater(true);
+    private final byte[] frame = new byte[3 * Integer.BYTES];
+
+    private byte[] compressed = new byte[BLOCK_BYTES];
+    private byte[] block = new byte[BLOCK_BYTES];
+    private int position;
+    private int limit;
+    private int remaining;
+
+    private boolean operation;
+    private long cycle;
+    private int addressBus;
+    private int dataBus;
+    private int busAction;
+    private int pc;
+    private int accumulator;
+    private int x;
+    private int y;
+    private int stackPointer;
+    private int status;
+    private long startCycle;
+    private long endCycle;
+    private int opCode;
+    private int operand;
+
+    private TraceReader(InputStream in)
+    {
+        this.in = in;
+    }
+
+    /**
+     * Open a trace file.
+     *
+     * @param file the trace file
+     * @return a reader positioned before the first record
+     * @throws IOException if the file cannot be read or is not a trace
+     */
+    public static TraceReader open(Path file) throws IOException
+    {
+        InputStream in = new BufferedInputStream(Files.newInputStream(file));
+        try {
+            byte[] magic = in.readNBytes(MAGIC.length);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException("Not a version " + MAGIC[MAGIC.length - 1] + " trace file: " + file);
+            }
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+
+        return new TraceReader(in);
+    }
+
+    /**
+     * Move to the next record.
+     *
+     * @return {@code true} if there is a record; {@code false} at the end of the trace
+     * @throws IOException if the file cannot be read or is damaged
+     */
+    public boolean next() throws IOException
+    {
+        if (remaining == 0 && !readBlock()) {
+            return false;
+        }
+        remaining--;
+
+        int header = get();
+        operation = (header & HEADER_OPERATION) != 0;
+        if (operation) {
+            startCycle = endCycle + getVarint();
+            endCycle = startCycle + getVarint();
+            opCode = get();
+
+            operand = 0;
+            for (int i = 0; i < (header & 0x03); i++) {
+                operand |= get() << (8 * i);
+            }
+        } else {
+            busAction = (header & HEADER_BUS_ACTION) == 0 ? 0 : 1;
+            cycle += getVarint();
+            addressBus = (addressBus + unzigzag(getVarint())) & 0xFFFF;
+            dataBus = get();
+            if ((header & CHANGED_PC) != 0) {
+                pc = (pc + unzigzag(getVarint())) & 0xFFFF;
+            }
+            accumulator = getIfChanged(header, CHANGED_A, accumulator);
+            x = getIfChanged(header, CHANGED_X, x);
+            y = getIfChanged(header, CHANGED_Y, y);
+            stackPointer = getIfChanged(header, CHANGED_SP, stackPointer);
+            status = getIfChanged(header, CHANGED_P, status);
+        }
+
+        return true;
+    }
+
+    private boolean readBlock() throws IOException
+    {
+        int read = in.readNBytes(frame, 0, frame.length);
+        if (read == 0) {
+            return false;
+        }
+        if (read < frame.length) {
+            throw new EOFException("Trace ends inside a block header");
+        }
+
+        int records = getInt(0);
+        int length = getInt(Integer.BYTES);
+        int compressedLength = getInt(2 * Integer.BYTES);
+
+        // every record takes at least one byte, and deflate never comes close to doubling its input
+        if (length < 0 || length > MAX_BLOCK_BYTES
+            || records < 0 || records > length
+            || compressedLength < 0 || compressedLength > 2 * MAX_BLOCK_BYTES) {
+            throw new IOException("Trace block header is damaged: " + records + " records, " + length + " bytes, " +
+                                  compressedLength + " bytes compressed");
+        }
+
+        if (compressed.length < compressedLength) {
+            compressed = new byte[compressedLength];
+        }
+        if (in.readNBytes(compressed, 0, compressedLength) < compressedLength) {
+            throw new EOFException("Trace ends inside a block");
+        }
+
+        if (block.length < length) {
+            block = new byte[length];
+        }
+        inflater.reset();
+        inflater.setInput(compressed, 0, compressedLength);
+        try {
+            if (inflater.inflate(block, 0, length) != length) {
+                throw new IOException("Trace block is shorter than its header says");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Trace block is damaged", e);
+        }
+
+        // each block starts from the same state as the writer
+        position = 0;
+        limit = length;
+        remaining = records;
+        cycle = 0;
+        addressBus = 0;
+        pc = 0xFFFF;
+        endCycle = 0;
+
+        return records > 0 || readBlock();
+    }
+
+    private int getInt(int offset)
+    {
+        int value = 0;
+        for (int i = Integer.BYTES - 1; i >= 0; i--) {
+            value = value << 8 | Byte.toUnsignedInt(frame[offset + i]);
+        }
+
+        return value;
+    }
+
+    private int get() throws IOException
+    {
+        if (position == limit) {
+            throw new IOException("Trace block ends inside a record");
+        }
+
+        return Byte.toUnsignedInt(block[position++]);
+    }
+
+    private long getVarint() throws IOException
+    {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            if (shift >= Long.SIZE) {
+                throw new IOException("Trace block holds a number that is too long");
+            }
+            b = get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+
+        return value;
+    }
+
+    private static int unzigzag(long value)
+    {
+        int encoded = (int) value;
+        return encoded >>> 1 ^ -(encoded & 1);
+    }
+
+    private int getIfChanged(int header, int flag, int value) throws IOException
+    {
+        return (header & flag) != 0 ? get() : value;
+    }
+
+    /**
+     * Check whether the current record is an operation rather than a clock cycle.
+     *
+     * @return {@code true} for an operation record
+     */
+    public boolean isOperation()
+    {
+        return operation;
+    }
+
+    public long cycle()
+    {
+        return cycle;
+    }
+
+    public int programCounter()
+    {
+        return pc;
+    }
+
+    public int accumulator()
+    {
+        return accumulator;
+    }
+
+    public int x()
+    {
+        return x;
+    }
+
+    public int y()
+    {
+        return y;
+    }
+
+    public int stackPointer()
+    {
+        return stackPointer;
+    }
+
+    public int status()
+    {
+        return status;
+    }
+
+    public int addressBus()
+    {
+        return addressBus;
+    }
+
+    public int dataBus()
+    {
+        return dataBus;
+    }
+
+    public BusAction busAction()
+    {
+        return BUS_ACTIONS[busAction];
+    }
+
+    public long startCycle()
+    {
+        return startCycle;
+    }
+
+    public long endCycle()
+    {
+        return endCycle;
+    }
+
+    public int opCode()
+    {
+        return opCode;
+    }
+
+    public int operand()
+    {
+        return operand;
+    }
+
+    /**
+     * Decode the operation of the current operation record. Unlike the other accessors, this allocates.
+     *
+     * @return the operation
+     */
+    public Operation operation()
+    {
+        return InstructionDecoder.decode(opCode, operand);
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        try (in) {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,372 @@
+/*
+ * Copyright © 2025-2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cpu;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Records the CPU state at the end of every cycle into off-heap column buffers and spills each full buffer to a file on
+ * a background thread, so that runs of billions of cycles can be traced without holding them on the heap. Recording a
+ * cycle is a handful of primitive stores; nothing is allocated until a buffer fills. If the disk cannot keep up, the
+ * CPU waits for a buffer to be written rather than losing cycles.
+ * <p>
+ * The file starts with the eight ASCII bytes {@code 6502COLS} followed by chunks. Each chunk is a little-endian
+ * {@code int} row count {@code n} followed by one column after another, each holding {@code n} little-endian values:
+ * <ol>
+ * <li>clock cycle, {@code long}</li>
+ * <li>program counter, {@code short}</li>
+ * <li>address bus, {@code short}</li>
+ * <li>accumulator, X, Y, stack pointer, processor status and data bus, one {@code byte} column each</li>
+ * <li>bus action, the {@link BusAction} ordinal as a {@code byte}</li>
+ * </ol>
+ *
+ * @see CPU#setTraceRecorder(TraceRecorder)
+ */
+@Slf4j
+public final class TraceRecorder implements AutoCloseable
+{
+    public static final int DEFAULT_CHUNK_ROWS = 1 << 16;
+    public static final int DEFAULT_CHUNK_COUNT = 4;
+
+    static final byte[] MAGIC = "6502COLS".getBytes(StandardCharsets.US_ASCII);
+
+    // total width of one row across all columns
+    static final int ROW_BYTES = Long.BYTES + 2 * Short.BYTES + 7;
+
+    private static final ValueLayout.OfLong CYCLE = ValueLayout.JAVA_LONG.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfShort WORD = ValueLayout.JAVA_SHORT.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfByte BYTE = ValueLayout.JAVA_BYTE;
+
+    private static final class Chunk
+    {
+        private final MemorySegment data;
+        private final long pc;
+        private final long addressBus;
+        private final long accumulator;
+        private final long x;
+        private final long y;
+        private final long stackPointer;
+        private final long status;
+        private final long dataBus;
+        private final long busAction;
+        private int rows;
+
+        private Chunk(Arena arena, int capacity)
+        {
+            data = arena.allocate((long) capacity * ROW_BYTES, Long.BYTES);
+            pc = (long) capacity * Long.BYTES;
+            addressBus = pc + (long) capacity * Short.BYTES;
+            accumulator = addressBus + (long) capacity * Short.BYTES;
+            x = accumulator + capacity;
+            y = x + capacity;
+            stackPointer = y + capacity;
+            status = stackPointer + capacity;
+            dataBus = status + capacity;
+            busAction = dataBus + capacity;
+        }
+    }
+
+    private final FileChannel channel;
+    private final Arena arena = Arena.ofShared();
+    private final int chunkRows;
+    private final BlockingQueue<Chunk> free;
+    private final BlockingQueue<Chunk> full;
+    // handed to the writer thread after the last chunk to make it finish
+    private final Chunk end;
+    private final Thread writer;
+
+    private Chunk current;
+    private long recorded;
+    private volatile @Nullable IOException failure;
+    private boolean closed;
+
+    private TraceRecorder(FileChannel channel, int chunkRows, int chunkCount)
+    {
+        this.channel = channel;
+        this.chunkRows = chunkRows;
+        this.free = new ArrayBlockingQueue<>(chunkCount);
+        this.full = new ArrayBlockingQueue<>(chunkCount + 1);
+        for (int i = 1; i < chunkCount; i++) {
+            free.add(new Chunk(arena, chunkRows));
+        }
+        this.current = new Chunk(arena, chunkRows);
+        this.end = new Chunk(arena, 0);
+        this.writer = Thread.ofVirtual().name("trace-writer").start(this::write);
+    }
+
+    /**
+     * Create or replace a trace file using the default buffer sizes.
+     *
+     * @param file the trace file
+     * @return a recorder writing to the file
+     * @throws IOException if the file cannot be opened
+     */
+    public static TraceRecorder open(Path file) throws IOException
+    {
+        return open(file, DEFAULT_CHUNK_ROWS, DEFAULT_CHUNK_COUNT);
+    }
+
+    /**
+     * Create or replace a trace file.
+     *
+     * @param file       the trace file
+     * @param chunkRows  the number of cycles held by each buffer
+     * @param chunkCount the number of buffers, which bounds the memory used to {@code chunkCount * chunkRows * }
+     *                   {@value #ROW_BYTES} bytes
+     * @return a recorder writing to the file
+     * @throws IOException if the file cannot be opened
+     */
+    public static TraceRecorder open(Path file, int chunkRows, int chunkCount) throws IOException
+    {
+        if (chunkRows <= 0) {
+            throw new IllegalArgumentException("Chunk rows must be positive: " + chunkRows);
+        }
+        if (chunkCount < 2) {
+            throw new IllegalArgumentException("At least two chunks are needed to record while writing: " + chunkCount);
+        }
+
+        FileChannel channel = FileChannel.open(file, CREATE, WRITE, TRUNCATE_EXISTING);
+        try {
+            writeFully(channel, ByteBuffer.wrap(MAGIC));
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+
+        return new TraceRecorder(channel, chunkRows, chunkCount);
+    }
+
+    /**
+     * Get the number of cycles recorded so far, including those not yet written.
+     *
+     * @return the number of cycles
+     */
+    public long getRecordedCount()
+    {
+        return recorded;
+    }
+
+    /**
+     * Record the state at the end of one cycle. Only the CPU thread may call this.
+     *
+     * @throws UncheckedIOException if an earlier chunk could not be written
+     */
+    void record(int pc,
+                int accumulator,
+                int x,
+                int y,
+                int stackPointer,
+                int status,
+                int addressBus,
+                int dataBus,
+                BusAction busAction,
+                long cycle)
+    {
+        Chunk chunk = current;
+        int row = chunk.rows;
+
+        chunk.data.setAtIndex(CYCLE, row, cycle);
+        chunk.data.set(WORD, chunk.pc + (long) row * Short.BYTES, (short) pc);
+        chunk.data.set(WORD, chunk.addressBus + (long) row * Short.BYTES, (short) addressBus);
+        chunk.data.set(BYTE, chunk.accumulator + row, (byte) accumulator);
+        chunk.data.set(BYTE, chunk.x + row, (byte) x);
+        chunk.data.set(BYTE, chunk.y + row, (byte) y);
+        chunk.data.set(BYTE, chunk.stackPointer + row, (byte) stackPointer);
+        chunk.data.set(BYTE, chunk.status + row, (byte) status);
+        chunk.data.set(BYTE, chunk.dataBus + row, (byte) dataBus);
+        chunk.data.set(BYTE, chunk.busAction + row, (byte) busAction.ordinal());
+
+        chunk.rows = row + 1;
+        recorded++;
+        if (chunk.rows == chunkRows) {
+            spill(chunk);
+            current = takeFree();
+        }
+    }
+
+    private void spill(Chunk chunk)
+    {
+        checkFailure();
+        putUninterruptibly(full, chunk);
+    }
+
+    private Chunk takeFree()
+    {
+        // the CPU is interrupted to stop it, but the cycles in progress must still be recorded
+        return takeUninterruptibly(free);
+    }
+
+    private void checkFailure()
+    {
+        IOException e = failure;
+        if (e != null) {
+            throw new UncheckedIOException("Failed to write trace", e);
+        }
+    }
+
+    /**
+     * Write the cycles recorded so far, wait for the writer to finish and close the file.
+     *
+     * @throws IOException if any part of the trace could not be written
+     */
+    @Override
+    public void close() throws IOException
+    {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            if (current.rows > 0) {
+                putUninterruptibly(full, current);
+            }
+            putUninterruptibly(full, end);
+            joinUninterruptibly(writer);
+        } finally {
+            channel.close();
+            arena.close();
+        }
+
+        IOException e = failure;
+        if (e != null) {
+            throw e;
+        }
+    }
+
+    private void write()
+    {
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        while (true) {
+            Chunk chunk = takeUninterruptibly(full);
+            if (chunk == end) {
+                return;
+            }
+
+            // keep draining after a failure so that the CPU never waits for a buffer that will not come back
+            if (failure == null) {
+                try {
+                    writeChunk(chunk, header);
+                } catch (IOException e) {
+                    log.error("Failed to write trace", e);
+                    failure = e;
+                }
+            }
+
+            chunk.rows = 0;
+            free.add(chunk);
+        }
+    }
+
+    private void writeChunk(Chunk chunk, ByteBuffer header) throws IOException
+    {
+        int rows = chunk.rows;
+        writeFully(channel, header.clear().putInt(rows).flip());
+        writeColumn(chunk, 0, rows * (long) Long.BYTES);
+        writeColumn(chunk, chunk.pc, rows * (long) Short.BYTES);
+        writeColumn(chunk, chunk.addressBus, rows * (long) Short.BYTES);
+        for (long column : new long[] {chunk.accumulator,
+                                       chunk.x,
+                                       chunk.y,
+                                       chunk.stackPointer,
+                                       chunk.status,
+                                       chunk.dataBus,
+                                       chunk.busAction}) {
+            writeColumn(chunk, column, rows);
+        }
+    }
+
+    private void writeColumn(Chunk chunk, long offset, long length) throws IOException
+    {
+        writeFully(channel, chunk.data.asSlice(offset, length).asByteBuffer());
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException
+    {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static <T> void putUninterruptibly(BlockingQueue<T> queue, T element)
+    {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(element);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static <T> T takeUninterruptibly(BlockingQueue<T> queue)
+    {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return queue.take();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void joinUninterruptibly(Thread thread)
+    {
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
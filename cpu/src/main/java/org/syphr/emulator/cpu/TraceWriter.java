@@ -0,0 +1,349 @@
+/*
+ * Copyright © 2025-2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cpu;
+
+import org.syphr.emulator.common.Value;
+import org.syphr.emulator.cpu.CPUEvent.ClockCycleEvent;
+import org.syphr.emulator.cpu.CPUEvent.OperationEvent;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * Writes clock cycle and operation events to a compact binary trace file that can be streamed back with
+ * {@link TraceReader}. Register it as both a {@link ClockCycleListener} and an {@link OperationListener}, or call the
+ * write methods directly.
+ * <p>
+ * The file starts with the eight bytes {@code 6502TRC} and format version {@code 1}, followed by blocks. Each block is
+ * three little-endian {@code int}s, the record count, the uncompressed length and the compressed length, followed by
+ * the records compressed with Deflate (no zlib header). Every block starts with a clean slate, so blocks can be decoded
+ * independently. Numbers marked varint are unsigned LEB128; signed deltas are zigzag encoded first, and 16-bit deltas
+ * wrap around.
+ * <p>
+ * A record starts with a header byte. A clear bit 7 marks a clock cycle record:
+ * <ol>
+ * <li>header: bits 0 to 5 are set when the program counter, accumulator, X, Y, stack pointer or processor status
+ * changed since the previous cycle record in the block (bits 1 to 5 are always set on the first one); bit 6 is the
+ * {@link BusAction} ordinal</li>
+ * <li>varint cycle count since the previous cycle record (the block starts from zero)</li>
+ * <li>signed varint 16-bit address bus delta (the block starts from zero)</li>
+ * <li>data bus byte</li>
+ * <li>if changed, signed varint 16-bit program counter delta (the block starts from {@code 0xFFFF})</li>
+ * <li>if changed, one byte each for the accumulator, X, Y, stack pointer and processor status, in that order</li>
+ * </ol>
+ * A set bit 7 marks an operation record:
+ * <ol>
+ * <li>header: bits 0 and 1 hold the number of operand bytes</li>
+ * <li>varint start cycle since the end cycle of the previous operation record (the block starts from zero)</li>
+ * <li>varint cycle count from start to end</li>
+ * <li>op code byte, followed by the operand bytes, low byte first</li>
+ * </ol>
+ * Cycle and operation records each form their own delta chain, so the two kinds may be interleaved in any order.
+ */
+public final class TraceWriter implements ClockCycleListener, OperationListener, AutoCloseable
+{
+    static final byte[] MAGIC = "6502TRC\1".getBytes(StandardCharsets.US_ASCII);
+
+    static final int HEADER_OPERATION = 0x80;
+    static final int HEADER_BUS_ACTION = 0x40;
+    static final int CHANGED_PC = 0x01;
+    static final int CHANGED_A = 0x02;
+    static final int CHANGED_X = 0x04;
+    static final int CHANGED_Y = 0x08;
+    static final int CHANGED_SP = 0x10;
+    static final int CHANGED_P = 0x20;
+
+    static final int BLOCK_BYTES = 1 << 16;
+
+    // the longest record: header, two 10-byte varints, a 3-byte varint and six single bytes
+    private static final int MAX_RECORD_BYTES = 32;
+
+    // a block is written once it reaches BLOCK_BYTES, so the record that crosses the mark is the last one
+    static final int MAX_BLOCK_BYTES = BLOCK_BYTES + MAX_RECORD_BYTES;
+
+    private final OutputStream out;
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+
+    private final byte[] block = new byte[MAX_BLOCK_BYTES];
+    private byte[] compressed = new byte[BLOCK_BYTES];
+    private final byte[] frame = new byte[3 * Integer.BYTES];
+    private int length;
+    private int records;
+
+    // what the previous records in this block left behind; -1 never matches a register, so the first record is full
+    private long lastCycle;
+    private int lastAddressBus;
+    private int lastPc;
+    private int lastA;
+    private int lastX;
+    private int lastY;
+    private int lastSp;
+    private int lastP;
+    private long lastOperationEnd;
+
+    private boolean closed;
+
+    private TraceWriter(OutputStream out)
+    {
+        this.out = out;
+        resetBlock();
+    }
+
+    /**
+     * Create or replace a trace file.
+     *
+     * @param file the trace file
+     * @return a writer for the file
+     * @throws IOException if the file cannot be created
+     */
+    public static TraceWriter open(Path file) throws IOException
+    {
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(file));
+        try {
+            out.write(MAGIC);
+        } catch (IOException e) {
+            out.close();
+            throw e;
+        }
+
+        return new TraceWriter(out);
+    }
+
+    @Override
+    public void clockCycleCompleted(ClockCycleEvent event)
+    {
+        CPUState state = event.state();
+        writeCycle(state.clockCycle(),
+                   state.programCounter().toUnsignedInt(),
+                   Byte.toUnsignedInt(state.accumulator().data()),
+                   Byte.toUnsignedInt(state.x().data()),
+                   Byte.toUnsignedInt(state.y().data()),
+                   state.stackPointer().toUnsignedInt() & 0xFF,
+                   Byte.toUnsignedInt(StatusRegister.of(state.flags()).value().data()),
+                   state.addressBus().toUnsignedInt(),
+                   Byte.toUnsignedInt(state.dataBus().data()),
+                   state.lastBusAction());
+    }
+
+    @Override
+    public void operationCompleted(OperationEvent event)
+    {
+        List<Value> values = Operation.toValues(event.op());
+
+        int operand = 0;
+        for (int i = values.size() - 1; i > 0; i--) {
+            operand = operand << 8 | Byte.toUnsignedInt(values.get(i).data());
+        }
+
+        writeOperation(event.startCycle(),
+                       event.endCycle(),
+                       Byte.toUnsignedInt(values.getFirst().data()),
+                       operand);
+    }
+
+    /**
+     * Append a clock cycle record. Register values are unsigned bytes, and the program counter and address bus are
+     * unsigned 16-bit addresses.
+     *
+     * @throws UncheckedIOException if a full block cannot be written
+     */
+    public synchronized void writeCycle(long cycle,
+                                        int pc,
+                                        int accumulator,
+                                        int x,
+                                        int y,
+                                        int stackPointer,
+                                        int status,
+                                        int addressBus,
+                                        int dataBus,
+                                        BusAction busAction)
+    {
+        if (closed) {
+            return;
+        }
+
+        int header = busAction.ordinal() == 0 ? 0 : HEADER_BUS_ACTION;
+        header |= pc != lastPc ? CHANGED_PC : 0;
+        header |= accumulator != lastA ? CHANGED_A : 0;
+        header |= x != lastX ? CHANGED_X : 0;
+        header |= y != lastY ? CHANGED_Y : 0;
+        header |= stackPointer != lastSp ? CHANGED_SP : 0;
+        header |= status != lastP ? CHANGED_P : 0;
+
+        block[length++] = (byte) header;
+        putVarint(cycle - lastCycle);
+        putVarint(zigzag((short) (addressBus - lastAddressBus)));
+        block[length++] = (byte) dataBus;
+        if ((header & CHANGED_PC) != 0) {
+            putVarint(zigzag((short) (pc - lastPc)));
+        }
+        length = putIfChanged(header, CHANGED_A, accumulator);
+        length = putIfChanged(header, CHANGED_X, x);
+        length = putIfChanged(header, CHANGED_Y, y);
+        length = putIfChanged(header, CHANGED_SP, stackPointer);
+        length = putIfChanged(header, CHANGED_P, status);
+
+        lastCycle = cycle;
+        lastAddressBus = addressBus;
+        lastPc = pc;
+        lastA = accumulator;
+        lastX = x;
+        lastY = y;
+        lastSp = stackPointer;
+        lastP = status;
+
+        recordWritten();
+    }
+
+    /**
+     * Append an operation record.
+     *
+     * @param operand the operand bytes in little-endian order, as many as the op code takes
+     * @throws UncheckedIOException if a full block cannot be written
+     */
+    public synchronized void writeOperation(long startCycle, long endCycle, int opCode, int operand)
+    {
+        if (closed) {
+            return;
+        }
+
+        int operandLength = InstructionDecoder.operandLength(opCode);
+        block[length++] = (byte) (HEADER_OPERATION | operandLength);
+        putVarint(startCycle - lastOperationEnd);
+        putVarint(endCycle - startCycle);
+        block[length++] = (byte) opCode;
+        for (int i = 0; i < operandLength; i++) {
+            block[length++] = (byte) (operand >>> (8 * i));
+        }
+
+        lastOperationEnd = endCycle;
+
+        recordWritten();
+    }
+
+    private int putIfChanged(int header, int flag, int value)
+    {
+        if ((header & flag) != 0) {
+            block[length++] = (byte) value;
+        }
+
+        return length;
+    }
+
+    private void putVarint(long value)
+    {
+        while ((value & ~0x7FL) != 0) {
+            block[length++] = (byte) (value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        block[length++] = (byte) value;
+    }
+
+    private static long zigzag(int value)
+    {
+        return Integer.toUnsignedLong(value << 1 ^ value >> 31);
+    }
+
+    private void recordWritten()
+    {
+        records++;
+        if (length >= BLOCK_BYTES) {
+            try {
+                writeBlock();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write trace", e);
+            }
+        }
+    }
+
+    private void writeBlock() throws IOException
+    {
+        if (records == 0) {
+            return;
+        }
+
+        deflater.reset();
+        deflater.setInput(block, 0, length);
+        deflater.finish();
+
+        int compressedLength = 0;
+        while (!deflater.finished()) {
+            if (compressedLength == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+        }
+
+        putInt(frame, 0, records);
+        putInt(frame, Integer.BYTES, length);
+        putInt(frame, 2 * Integer.BYTES, compressedLength);
+        out.write(frame);
+        out.write(compressed, 0, compressedLength);
+
+        resetBlock();
+    }
+
+    private void resetBlock()
+    {
+        length = 0;
+        records = 0;
+        lastCycle = 0;
+        lastAddressBus = 0;
+        lastPc = 0xFFFF;
+        lastA = -1;
+        lastX = -1;
+        lastY = -1;
+        lastSp = -1;
+        lastP = -1;
+        lastOperationEnd = 0;
+    }
+
+    private static void putInt(byte[] bytes, int offset, int value)
+    {
+        for (int i = 0; i < Integer.BYTES; i++) {
+            bytes[offset + i] = (byte) (value >>> (8 * i));
+        }
+    }
+
+    /**
+     * Write the records collected so far and close the file. Records written afterwards are ignored, so a listener
+     * that is still draining cannot fail once the trace is closed.
+     *
+     * @throws IOException if the records cannot be written
+     */
+    @Override
+    public synchronized void close() throws IOException
+    {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try (out) {
+            writeBlock();
+        } finally {
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright © 2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cpu;
+
+/**
+ * Switch for the diagnostic logging done on every cycle, memory access and instruction. While tracing is off, the CPU
+ * and its components skip those log statements without consulting the logging framework, so neither level checks nor
+ * log arguments cost anything on the hot path. While it is on, messages go to SLF4J as usual and the configured log
+ * levels still apply.
+ * <p>
+ * The switch may be flipped from any thread; the CPU notices with its next access.
+ */
+final class Tracer
+{
+    private volatile boolean enabled;
+
+    public Tracer(boolean enabled)
+    {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled)
+    {
+        this.enabled = enabled;
+    }
+}
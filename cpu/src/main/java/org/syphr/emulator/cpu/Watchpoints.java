@@ -0,0 +1,65 @@
+/*
+ * Copyright © 2025-2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cpu;
+
+import java.util.Collection;
+
+/**
+ * Bitmaps of the addresses watched by {@link AddressBreakpoint}s, one bit per address for reads and another for
+ * writes. The CPU tests the bit for every bus access, so address breakpoints are only evaluated when an access could
+ * trigger one, no matter how many are registered.
+ */
+final class Watchpoints
+{
+    private static final int WORDS = 0x10000 / Long.SIZE;
+
+    // read bits in the first half and write bits in the second; replaced as a whole so that the CPU thread never sees
+    // a partially updated map
+    private volatile long[] bits = new long[WORDS * 2];
+
+    /**
+     * Rebuild the bitmaps from the given breakpoints. Breakpoints other than {@link AddressBreakpoint}s are ignored.
+     *
+     * @param breakpoints all current breakpoints
+     */
+    public void update(Collection<Breakpoint> breakpoints)
+    {
+        var next = new long[WORDS * 2];
+        for (Breakpoint breakpoint : breakpoints) {
+            if (breakpoint instanceof AddressBreakpoint(Address address, boolean onRead, boolean onWrite)) {
+                int location = address.toUnsignedInt();
+                if (onRead) {
+                    next[location >>> 6] |= 1L << location;
+                }
+                if (onWrite) {
+                    next[WORDS + (location >>> 6)] |= 1L << location;
+                }
+            }
+        }
+
+        bits = next;
+    }
+
+    public boolean isReadWatched(int address)
+    {
+        return (bits[address >>> 6] & 1L << address) != 0;
+    }
+
+    public boolean isWriteWatched(int address)
+    {
+        return (bits[WORDS + (address >>> 6)] & 1L << address) != 0;
+    }
+}
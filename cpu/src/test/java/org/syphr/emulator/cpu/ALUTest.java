@@ -18,7 +18,6 @@ package org.syphr.emulator.cpu;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvFileSource;
-import org.syphr.emulator.common.Register;
 import org.syphr.emulator.common.Value;
 
 import java.io.BufferedWriter;
@@ -44,17 +43,16 @@ class ALUTest
                                 boolean expectedCarry)
     {
         // given
-        var status = new StatusRegister();
+        var registers = new Registers();
+        var status = registers.status();
         status.setDecimal(false).setCarry(givenCarry != 0);
-        var alu = new ALU(status);
+        var alu = new ALU(registers);
 
-        var accumulator = new Register();
+        var accumulator = registers.accumulator();
         accumulator.load(Value.of(givenAccumulator));
 
-        var value = Value.of(input);
-
         // when
-        alu.addWithCarry(accumulator, value);
+        alu.addWithCarry(input);
 
         // then
         assertAll(
@@ -80,17 +78,16 @@ class ALUTest
                                  boolean expectedCarry)
     {
         // given
-        var status = new StatusRegister();
+        var registers = new Registers();
+        var status = registers.status();
         status.setDecimal(true).setCarry(givenCarry != 0);
-        var alu = new ALU(status);
+        var alu = new ALU(registers);
 
-        var accumulator = new Register();
+        var accumulator = registers.accumulator();
         accumulator.load(Value.of(givenAccumulator));
 
-        var value = Value.of(input);
-
         // when
-        alu.addWithCarry(accumulator, value);
+        alu.addWithCarry(input);
 
         // then
         assertAll(
@@ -116,17 +113,16 @@ class ALUTest
                                      boolean expectedCarry)
     {
         // given
-        var status = new StatusRegister();
+        var registers = new Registers();
+        var status = registers.status();
         status.setDecimal(false).setCarry(givenCarry != 0);
-        var alu = new ALU(status);
+        var alu = new ALU(registers);
 
-        var accumulator = new Register();
+        var accumulator = registers.accumulator();
         accumulator.load(Value.of(givenAccumulator));
 
-        var value = Value.of(input);
-
         // when
-        alu.subtractWithCarry(accumulator, value);
+        alu.subtractWithCarry(input);
 
         // then
         assertAll(
@@ -152,17 +148,16 @@ class ALUTest
                                       boolean expectedCarry)
     {
         // given
-        var status = new StatusRegister();
+        var registers = new Registers();
+        var status = registers.status();
         status.setDecimal(true).setCarry(givenCarry != 0);
-        var alu = new ALU(status);
+        var alu = new ALU(registers);
 
-        var accumulator = new Register();
+        var accumulator = registers.accumulator();
         accumulator.load(Value.of(givenAccumulator));
 
-        var value = Value.of(input);
-
         // when
-        alu.subtractWithCarry(accumulator, value);
+        alu.subtractWithCarry(input);
 
         // then
         assertAll(
@@ -192,16 +187,17 @@ class ALUTest
                         Value n1Value = Value.of(n1);
                         Value n2Value = Value.of(n2);
 
-                        var status = new StatusRegister().setDecimal(decimal).setCarry(carry != 0);
-                        var alu = new ALU(status);
+                        var registers = new Registers();
+                        var status = registers.status().setDecimal(decimal).setCarry(carry != 0);
+                        var alu = new ALU(registers);
 
-                        var accumulator = new Register();
+                        var accumulator = registers.accumulator();
                         accumulator.load(n1Value);
 
                         if (add) {
-                            alu.addWithCarry(accumulator, n2Value);
+                            alu.addWithCarry(n2);
                         } else {
-                            alu.subtractWithCarry(accumulator, n2Value);
+                            alu.subtractWithCarry(n2);
                         }
 
                         out.write("%s,%d,%s,%d,%b,%b,%b,%b".formatted(n1Value,
@@ -15,11 +15,15 @@
  */
 package org.syphr.emulator.cpu;
 
-import org.jspecify.annotations.NullMarked;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
 import org.jspecify.annotations.Nullable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.CsvSource;
@@ -27,13 +31,27 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.LoggerFactory;
 import org.syphr.emulator.common.Register;
 import org.syphr.emulator.common.Value;
-
+import org.syphr.emulator.cpu.CPUEvent.BreakpointEvent;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.function.Supplier;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -46,23 +64,7 @@ import static org.syphr.emulator.cpu.Operation.*;
 @ExtendWith(MockitoExtension.class)
 class CPUTest
 {
-    private static final class RecordingClock extends Clock
-    {
-        @Override
-        @NullMarked
-        public <T> T runCycle(Supplier<T> fn)
-        {
-            incrementCycleCount();
-            fireCycleStarted();
-            try {
-                return fn.get();
-            } finally {
-                fireCycleEnded();
-            }
-        }
-    }
-
-    Clock clock = new RecordingClock();
+    Clock clock = new Clock();
 
     @Mock
     Reader reader;
@@ -82,6 +84,8 @@ class CPUTest
     @BeforeEach
     void beforeEach()
     {
+        clock.setFreeRunning(true);
+
         // set pc clear of the zero page and stack for testing
         cpu = new CPU(clock, reader, writer, Address.of(0x8000), List.of());
 
@@ -91,6 +95,9 @@ class CPUTest
         status = cpu.getStatus();
         stack = cpu.getStack();
         programManager = cpu.getProgramManager();
+
+        // start with an empty stack
+        stack.setPointer(Value.of(0xFF));
     }
 
     @Test
@@ -106,6 +113,450 @@ class CPUTest
         assertThat(cpu.getProgramManager().getProgramCounter()).isEqualTo(start);
     }
 
+    @Test
+    void executeNext_InstructionCached_ReplaysFetchWithoutReading()
+    {
+        // given
+        var cpu = new CPU(clock, reader, writer, Address.of(0x8000), List.of(), true, false, false);
+        when(reader.read(Address.of(0x8000))).thenReturn(Value.of(LDA.IMMEDIATE));
+        when(reader.read(Address.of(0x8001))).thenReturn(Value.of(0x42));
+        cpu.executeNext();
+        cpu.getProgramManager().setProgramCounter(Address.of(0x8000));
+
+        // when
+        cpu.executeNext();
+
+        // then
+        verify(reader).read(Address.of(0x8000));
+        verify(reader).read(Address.of(0x8001));
+        assertAll(() -> assertThat(clock.getCycleCount()).isEqualTo(4),
+                  () -> assertThat(cpu.getState()).extracting(CPUState::accumulator,
+                                                              CPUState::programCounter,
+                                                              CPUState::addressBus,
+                                                              CPUState::dataBus)
+                                                  .containsExactly(Value.of(0x42),
+                                                                   Address.of(0x8002),
+                                                                   Address.of(0x8001),
+                                                                   Value.of(0x42)));
+    }
+
+    @Test
+    void executeNext_TraceRecorderSet_RecordsEveryCycle(@TempDir Path dir) throws IOException
+    {
+        // given
+        when(reader.read(Address.of(0x8000))).thenReturn(Value.of(LDA.IMMEDIATE));
+        when(reader.read(Address.of(0x8001))).thenReturn(Value.of(0x42));
+        Path file = dir.resolve("trace.bin");
+        var recorder = TraceRecorder.open(file);
+        cpu.setTraceRecorder(recorder);
+
+        // when
+        cpu.executeNext();
+        cpu.setTraceRecorder(null);
+        recorder.close();
+
+        // then
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position(TraceRecorder.MAGIC.length);
+        int rows = buffer.getInt();
+        long[] cycles = {buffer.getLong(), buffer.getLong()};
+        buffer.position(buffer.position() + Short.BYTES * rows);
+        int[] addresses = {Short.toUnsignedInt(buffer.getShort()), Short.toUnsignedInt(buffer.getShort())};
+        // skip the register columns to reach the data bus
+        buffer.position(buffer.position() + 5 * rows);
+        var data = new byte[rows];
+        buffer.get(data);
+
+        assertAll(() -> assertThat(rows).isEqualTo(2),
+                  () -> assertThat(cycles).containsExactly(1, 2),
+                  () -> assertThat(addresses).containsExactly(0x8000, 0x8001),
+                  () -> assertThat(data).containsExactly(LDA.IMMEDIATE, 0x42));
+    }
+
+    @Test
+    void executeNext_CachedInstructionOverwritten_ReadsMemoryAgain()
+    {
+        // given
+        var cpu = new CPU(clock, reader, writer, Address.of(0x8000), List.of(), true, false, false);
+        when(reader.read(Address.of(0x8000))).thenReturn(Value.of(LDA.IMMEDIATE));
+        when(reader.read(Address.of(0x8001))).thenReturn(Value.of(0x42), Value.of(0x24));
+        cpu.executeNext();
+        cpu.getWriter().write(Address.of(0x8001), Value.of(0x24));
+        cpu.getProgramManager().setProgramCounter(Address.of(0x8000));
+
+        // when
+        cpu.executeNext();
+
+        // then
+        verify(reader, times(2)).read(Address.of(0x8000));
+        assertThat(cpu.getAccumulator().value()).isEqualTo(Value.of(0x24));
+    }
+
+    @Test
+    void invalidateCode_CachedInstructionChangedElsewhere_ReadsMemoryAgain()
+    {
+        // given
+        var cpu = new CPU(clock, reader, writer, Address.of(0x8000), List.of(), true, false, false);
+        when(reader.read(Address.of(0x8000))).thenReturn(Value.of(LDA.IMMEDIATE));
+        when(reader.read(Address.of(0x8001))).thenReturn(Value.of(0x42), Value.of(0x24));
+        cpu.executeNext();
+        cpu.invalidateCode(Address.of(0x8000), Address.of(0x80FF));
+        cpu.getProgramManager().setProgramCounter(Address.of(0x8000));
+
+        // when
+        cpu.executeNext();
+
+        // then
+        verify(reader, times(2)).read(Address.of(0x8000));
+        assertThat(cpu.getAccumulator().value()).isEqualTo(Value.of(0x24));
+    }
+
+    @Test
+    void executeNext_SteadyState_DoesNotAllocate()
+    {
+        // given
+        var memory = new byte[0x10000];
+        loadLoopProgram(memory);
+        var addressable = addressable(memory);
+        var cpu = new CPU(clock, addressable, addressable, Address.of(0x8000), List.of());
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        // informational logging allocates by design, so measure with it turned off
+        var logger = (Logger) LoggerFactory.getLogger("org.syphr.emulator");
+        Level level = logger.getLevel();
+        logger.setLevel(Level.WARN);
+        try {
+            // give the JIT a chance to compile the hot path
+            for (int i = 0; i < 100_000; i++) {
+                cpu.executeNext();
+            }
+
+            // when
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < 100_000; i++) {
+                cpu.executeNext();
+            }
+            long after = threads.getCurrentThreadAllocatedBytes();
+
+            // then
+            assertThat(after - before).isZero();
+        } finally {
+            logger.setLevel(level);
+        }
+    }
+
+    @Test
+    void setTracing_Off_NothingLoggedUntilTurnedOn()
+    {
+        // given
+        var memory = new byte[0x10000];
+        loadLoopProgram(memory);
+        var addressable = addressable(memory);
+        var cpu = new CPU(clock, addressable, addressable, Address.of(0x8000), List.of());
+
+        var appender = new ListAppender<ILoggingEvent>();
+        appender.start();
+        var logger = (Logger) LoggerFactory.getLogger("org.syphr.emulator");
+        Level level = logger.getLevel();
+        logger.setLevel(Level.TRACE);
+        logger.addAppender(appender);
+
+        // when
+        List<ILoggingEvent> untraced;
+        List<ILoggingEvent> traced;
+        try {
+            cpu.setTracing(false);
+            for (int i = 0; i < 100; i++) {
+                cpu.executeNext();
+            }
+            untraced = List.copyOf(appender.list);
+
+            cpu.setTracing(true);
+            cpu.executeNext();
+            traced = List.copyOf(appender.list);
+        } finally {
+            logger.detachAppender(appender);
+            logger.setLevel(level);
+        }
+
+        // then
+        assertAll(() -> assertThat(untraced).isEmpty(),
+                  () -> assertThat(traced).isNotEmpty(),
+                  () -> assertThat(cpu.isTracing()).isTrue());
+    }
+
+    @Test
+    void interrupt_TracingOff_NothingLogged()
+    {
+        // given
+        var memory = new byte[0x10000];
+        loadLoopProgram(memory);
+        var addressable = addressable(memory);
+        var cpu = new CPU(clock, addressable, addressable, Address.of(0x8000), List.of());
+        cpu.setTracing(false);
+
+        var appender = new ListAppender<ILoggingEvent>();
+        appender.start();
+        var logger = (Logger) LoggerFactory.getLogger("org.syphr.emulator");
+        Level level = logger.getLevel();
+        logger.setLevel(Level.TRACE);
+        logger.addAppender(appender);
+
+        // when
+        try {
+            cpu.reset();
+            cpu.interrupt(true);
+            cpu.nonMaskableInterrupt();
+            cpu.executeInterrupt(Interrupt.SoftwareInterrupt.BREAK);
+            cpu.executeInterrupt(Interrupt.HarwareInterrupt.NMI);
+        } finally {
+            logger.detachAppender(appender);
+            logger.setLevel(level);
+        }
+
+        // then
+        assertThat(appender.list).isEmpty();
+    }
+
+    @Test
+    void addBreakpoint_ManyAddressesWatched_FiresOnlyOnWatchedAccess()
+    {
+        // given
+        var memory = new byte[0x10000];
+        loadLoopProgram(memory);
+        var addressable = addressable(memory);
+        var cpu = new CPU(clock, addressable, addressable, Address.of(0x8000), List.of());
+
+        for (int address = 0x1000; address < 0x1040; address++) {
+            cpu.addBreakpoint(new AddressBreakpoint(Address.of(address), true, true));
+        }
+        var watched = new AddressBreakpoint(Address.of(0x0300), false, true);
+        cpu.addBreakpoint(watched);
+
+        List<BreakpointEvent> events = new ArrayList<>();
+        cpu.addListener((BreakpointListener) events::add);
+
+        // when
+        for (int i = 0; i < 13; i++) {
+            cpu.executeNext();
+        }
+
+        // then
+        assertThat(events).singleElement()
+                          .satisfies(event -> assertAll(() -> assertThat(event.breakpoint()).isSameAs(watched),
+                                                        () -> assertThat(event.state().addressBus())
+                                                                .isEqualTo(Address.of(0x0300)),
+                                                        () -> assertThat(event.state().lastBusAction())
+                                                                .isEqualTo(BusAction.WRITE)));
+    }
+
+    @Test
+    void addBreakpoint_FromSeveralThreads_KeepsEveryWatchpoint() throws InterruptedException
+    {
+        // given
+        var memory = new byte[0x10000];
+        loadLoopProgram(memory);
+        var addressable = addressable(memory);
+        var cpu = new CPU(clock, addressable, addressable, Address.of(0x8000), List.of());
+        var watched = new AddressBreakpoint(Address.of(0x0300), false, true);
+
+        List<BreakpointEvent> events = new ArrayList<>();
+        cpu.addListener((BreakpointListener) events::add);
+
+        // when
+        var threads = new ArrayList<Thread>();
+        for (int t = 0; t < 4; t++) {
+            int first = 0x1000 + t * 0x100;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int address = first; address < first + 0x100; address++) {
+                    cpu.addBreakpoint(new AddressBreakpoint(Address.of(address), true, true));
+                    if (address == first + 0x80 && first == 0x1000) {
+                        cpu.addBreakpoint(watched);
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (int i = 0; i < 13; i++) {
+            cpu.executeNext();
+        }
+
+        // then
+        assertThat(events).singleElement().extracting(BreakpointEvent::breakpoint).isSameAs(watched);
+    }
+
+    @Test
+    void executeNext_FreeRunning_MatchesPacedExecution()
+    {
+        // given
+        var pacedMemory = new byte[0x10000];
+        loadLoopProgram(pacedMemory);
+        var pacedClock = new Clock();
+        var pacedCpu = new CPU(pacedClock,
+                               addressable(pacedMemory),
+                               addressable(pacedMemory),
+                               Address.of(0x8000),
+                               List.of());
+
+        var freeRunningMemory = new byte[0x10000];
+        loadLoopProgram(freeRunningMemory);
+        var freeRunningCpu = new CPU(clock,
+                                     addressable(freeRunningMemory),
+                                     addressable(freeRunningMemory),
+                                     Address.of(0x8000),
+                                     List.of());
+
+        Thread clockSignal = Thread.ofVirtual().start(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                pacedClock.allowNextCycle();
+            }
+        });
+
+        // when
+        try {
+            for (int i = 0; i < 1_000; i++) {
+                pacedCpu.executeNext();
+                freeRunningCpu.executeNext();
+            }
+        } finally {
+            clockSignal.interrupt();
+        }
+
+        // then
+        assertAll(() -> assertThat(freeRunningCpu.getState()).isEqualTo(pacedCpu.getState()),
+                  () -> assertThat(freeRunningMemory).isEqualTo(pacedMemory));
+    }
+
+    @Test
+    void run_HotBlocksCompiled_MatchesInterpretedExecution()
+    {
+        // given
+        var interpretedMemory = new byte[0x10000];
+        loadCountdownProgram(interpretedMemory);
+        var interpretedCpu = new CPU(clock,
+                                     addressable(interpretedMemory),
+                                     addressable(interpretedMemory),
+                                     Address.of(0x8000),
+                                     List.of(),
+                                     true,
+                                     false,
+                                     false);
+
+        var compiledMemory = new byte[0x10000];
+        loadCountdownProgram(compiledMemory);
+        var compiledClock = new Clock();
+        compiledClock.setFreeRunning(true);
+        var compiledCpu = new CPU(compiledClock,
+                                  addressable(compiledMemory),
+                                  addressable(compiledMemory),
+                                  Address.of(0x8000),
+                                  List.of(),
+                                  false,
+                                  true,
+                                  false);
+
+        // compiled code only runs when nothing is logging individual operations
+        var logger = (Logger) LoggerFactory.getLogger("org.syphr.emulator");
+        Level level = logger.getLevel();
+        logger.setLevel(Level.WARN);
+
+        // when
+        try {
+            interpretedCpu.run();
+            compiledCpu.run();
+        } finally {
+            logger.setLevel(level);
+        }
+
+        // then
+        assertAll(() -> assertThat(compiledCpu.getCompiledBlocks().get(0x8004)).isNotNull(),
+                  () -> assertThat(compiledCpu.getState()).isEqualTo(interpretedCpu.getState()),
+                  () -> assertThat(compiledMemory).isEqualTo(interpretedMemory));
+    }
+
+    static Stream<Arguments> run_InstructionsFused_MatchesSeparateExecution()
+    {
+        // a pair only fuses once both instructions are cached, which takes one pass through the loop
+        return Stream.of(Arguments.of((Consumer<byte[]>) CPUTest::loadFusionProgram,
+                                      Map.of(Superinstruction.LDA_STA, 31L,
+                                             Superinstruction.CMP_BEQ, 31L,
+                                             Superinstruction.CMP_BNE, 0L,
+                                             Superinstruction.INC_BNE, 31L,
+                                             Superinstruction.DEX_BNE, 31L,
+                                             Superinstruction.DEY_BNE, 3L)),
+                         Arguments.of((Consumer<byte[]>) CPUTest::loadFusionAddressModesProgram,
+                                      Map.of(Superinstruction.LDA_STA, 94L,
+                                             Superinstruction.CMP_BEQ, 47L,
+                                             Superinstruction.CMP_BNE, 47L,
+                                             Superinstruction.INC_BNE, 47L,
+                                             Superinstruction.DEX_BNE, 47L,
+                                             Superinstruction.DEY_BNE, 2L)));
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void run_InstructionsFused_MatchesSeparateExecution(Consumer<byte[]> program, Map<Superinstruction, Long> expected)
+    {
+        // given
+        var separateMemory = new byte[0x10000];
+        program.accept(separateMemory);
+        var separateCpu = new CPU(clock,
+                                  addressable(separateMemory),
+                                  addressable(separateMemory),
+                                  Address.of(0x8000),
+                                  List.of(),
+                                  true,
+                                  false,
+                                  false);
+        Queue<CPUEvent.OperationEvent> separateEvents = new ConcurrentLinkedQueue<>();
+        separateCpu.addListener((OperationListener) separateEvents::add);
+        Queue<CPUEvent.ClockCycleEvent> separateCycles = new ConcurrentLinkedQueue<>();
+        separateCpu.addListener((ClockCycleListener) separateCycles::add);
+
+        var fusedMemory = new byte[0x10000];
+        program.accept(fusedMemory);
+        var fusedClock = new Clock();
+        fusedClock.setFreeRunning(true);
+        var fusedCpu = new CPU(fusedClock,
+                               addressable(fusedMemory),
+                               addressable(fusedMemory),
+                               Address.of(0x8000),
+                               List.of(),
+                               false,
+                               false,
+                               true);
+        Queue<CPUEvent.OperationEvent> fusedEvents = new ConcurrentLinkedQueue<>();
+        fusedCpu.addListener((OperationListener) fusedEvents::add);
+        Queue<CPUEvent.ClockCycleEvent> fusedCycles = new ConcurrentLinkedQueue<>();
+        fusedCpu.addListener((ClockCycleListener) fusedCycles::add);
+
+        // instructions are only fused when nothing is logging individual operations
+        var logger = (Logger) LoggerFactory.getLogger("org.syphr.emulator");
+        Level level = logger.getLevel();
+        logger.setLevel(Level.WARN);
+
+        // when
+        try {
+            separateCpu.run();
+            fusedCpu.run();
+        } finally {
+            logger.setLevel(level);
+        }
+
+        // listeners are notified on another thread, so wait for the outstanding events
+        separateCpu.getEvents().close();
+        fusedCpu.getEvents().close();
+
+        // then
+        assertAll(() -> assertThat(fusedCpu.getFusionReport()).isEqualTo(expected),
+                  () -> assertThat(fusedEvents).containsExactlyElementsOf(separateEvents),
+                  () -> assertThat(fusedCycles).containsExactlyElementsOf(separateCycles),
+                  () -> assertThat(fusedCpu.getState()).isEqualTo(separateCpu.getState()),
+                  () -> assertThat(fusedMemory).isEqualTo(separateMemory));
+    }
+
     static Stream<Arguments> executeInterrupt_IRQ_NMI()
     {
         return Stream.of(interruptInputs(Interrupt.HarwareInterrupt.IRQ, Address.IRQ),
@@ -151,6 +602,7 @@ class CPUTest
         Address target = Address.of(0x1234);
         when(reader.read(vector)).thenReturn(target.low());
         when(reader.read(vector.increment())).thenReturn(target.high());
+        stubPageOne();
 
         // when
         CPUState state = cpu.getState();
@@ -202,7 +654,7 @@ class CPUTest
                                          .build(),
                                     target,
                                     offsetLow(state.stackPointer(), -3),
-                                    state.stackData()));
+                                    List.of(Value.ZERO, Value.ZERO, Value.ZERO)));
     }
 
     static Stream<Arguments> execute_ADC()
@@ -1293,6 +1745,7 @@ class CPUTest
         when(reader.read(Address.IRQ)).thenReturn(irq.low());
         when(reader.read(Address.IRQ.increment())).thenReturn(irq.high());
 
+        stubPageOne();
         setNextOp(brk());
 
         // when
@@ -1961,6 +2414,7 @@ class CPUTest
         programManager.setProgramCounter(start);
 
         var target = Address.of(0x3000);
+        stubPageOne();
         setNextOp(jsr(absolute(target)));
 
         // when
@@ -2275,6 +2729,7 @@ class CPUTest
         // given
         accumulator.load(Value.ofHex(acc));
 
+        stubPageOne();
         setNextOp(pha());
 
         // when
@@ -2321,6 +2776,7 @@ class CPUTest
               .setZero(isZero)
               .setCarry(isCarry);
 
+        stubPageOne();
         setNextOp(php());
 
         // when
@@ -2350,6 +2806,7 @@ class CPUTest
         // given
         x.load(Value.ofHex(xVal));
 
+        stubPageOne();
         setNextOp(phx());
 
         // when
@@ -2374,6 +2831,7 @@ class CPUTest
         // given
         y.load(Value.ofHex(yVal));
 
+        stubPageOne();
         setNextOp(phy());
 
         // when
@@ -2396,6 +2854,7 @@ class CPUTest
     void execute_PLA_Stack(String input, boolean isNegative, boolean isZero)
     {
         // given
+        stack.setPointer(Value.of(0xFE));
         Value value = Value.ofHex(input);
         when(reader.read(offsetLow(stack.getPointer(), 1))).thenReturn(value);
 
@@ -2437,6 +2896,7 @@ class CPUTest
                            boolean isCarry)
     {
         // given
+        stack.setPointer(Value.of(0xFE));
         Value value = Value.ofBits(input);
         when(reader.read(offsetLow(stack.getPointer(), 1))).thenReturn(value);
 
@@ -2469,6 +2929,7 @@ class CPUTest
     void execute_PLX_Stack(String input, boolean isNegative, boolean isZero)
     {
         // given
+        stack.setPointer(Value.of(0xFE));
         Value value = Value.ofHex(input);
 
         when(reader.read(offsetLow(stack.getPointer(), 1))).thenReturn(value);
@@ -2494,6 +2955,7 @@ class CPUTest
     void execute_PLY_Stack(String input, boolean isNegative, boolean isZero)
     {
         // given
+        stack.setPointer(Value.of(0xFE));
         Value value = Value.ofHex(input);
         when(reader.read(offsetLow(stack.getPointer(), 1))).thenReturn(value);
 
@@ -2887,6 +3349,7 @@ class CPUTest
                            boolean isCarry)
     {
         // given
+        stack.setPointer(Value.of(0xFC));
         when(reader.read(offsetLow(stack.getPointer(), 1))).thenReturn(Value.ofBits(status));
         when(reader.read(offsetLow(stack.getPointer(), 2))).thenReturn(Value.of(0x34));
         when(reader.read(offsetLow(stack.getPointer(), 3))).thenReturn(Value.of(0x12));
@@ -2919,6 +3382,7 @@ class CPUTest
     void execute_RTS_Stack()
     {
         // given
+        stack.setPointer(Value.of(0xFD));
         when(reader.read(offsetLow(stack.getPointer(), 1))).thenReturn(Value.of(0x33));
         when(reader.read(offsetLow(stack.getPointer(), 2))).thenReturn(Value.of(0x12));
 
@@ -3671,6 +4135,7 @@ class CPUTest
         // given
         stack.setPointer(Value.ofHex(input));
 
+        stubPageOne();
         setNextOp(tsx());
 
         // when
@@ -3718,6 +4183,7 @@ class CPUTest
         // given
         x.load(Value.of(0x12));
 
+        stubPageOne();
         setNextOp(txs());
 
         // when
@@ -3732,7 +4198,7 @@ class CPUTest
                                     state.flags(),
                                     state.programCounter().plus(Value.of(1)),
                                     Address.of(Value.of(0x12), state.stackPointer().high()),
-                                    state.stackData()));
+                                    IntStream.rangeClosed(0x13, 0xFF).mapToObj(Value::of).toList()));
     }
 
     @ParameterizedTest
@@ -3853,6 +4319,31 @@ class CPUTest
                                   state.stackData()));
     }
 
+    /**
+     * Back page one with memory that starts out holding the low byte of each address and keeps whatever the CPU writes
+     * there, so that stack contents can be read back.
+     */
+    private void stubPageOne()
+    {
+        var page = new Value[0x100];
+        Arrays.setAll(page, Value::of);
+
+        lenient().doAnswer(invocation -> {
+                     Address address = invocation.getArgument(0);
+                     page[address.toUnsignedInt() & 0xFF] = invocation.getArgument(1);
+                     return null;
+                 })
+                 .when(writer)
+                 .write(argThat(CPUTest::isPageOne), any());
+        lenient().when(reader.read(argThat(CPUTest::isPageOne)))
+                 .thenAnswer(invocation -> page[invocation.<Address>getArgument(0).toUnsignedInt() & 0xFF]);
+    }
+
+    private static boolean isPageOne(Address address)
+    {
+        return (address.toUnsignedInt() & 0xFF00) == 0x0100;
+    }
+
     private void setNextOp(Operation op)
     {
         Address pc = programManager.getProgramCounter();
@@ -3868,6 +4359,150 @@ class CPUTest
         }
     }
 
+    /**
+     * Load a program at $8000 that loops forever over a mix of instructions, including a subroutine at $8020.
+     */
+    private static void loadLoopProgram(byte[] memory)
+    {
+        load(memory,
+             0x8000,
+             ldx(immediate(Value.of(0x00))),
+             lda(immediate(Value.of(0x05))),
+             clc(),
+             adc(immediate(Value.of(0x03))),
+             sta(zpX(Value.of(0x10))),
+             inc(zp(Value.of(0x20))),
+             pha(),
+             pla(),
+             jsr(absolute(Address.of(0x8020))),
+             inx(),
+             bne(relative(Value.of(-17))),
+             jmp(absolute(Address.of(0x8000))));
+        load(memory,
+             0x8020,
+             sed(),
+             adc(immediate(Value.of(0x19))),
+             cld(),
+             asl(absolute(Address.of(0x0300))),
+             bit(zp(Value.of(0x20))),
+             rts());
+    }
+
+    /**
+     * Two nested loops that stop after 32 passes and contain one of each {@link Superinstruction} except
+     * {@link Superinstruction#CMP_BNE}, along with a call to a subroutine that returns immediately, which is not fused.
+     */
+    private static void loadFusionProgram(byte[] memory)
+    {
+        load(memory,
+             0x8000,
+             ldy(immediate(Value.of(0x04))),
+             ldx(immediate(Value.of(0x08))),
+             lda(immediate(Value.of(0x05))),
+             sta(absoluteX(Address.of(0x0400))),
+             cmp(immediate(Value.of(0x05))),
+             beq(relative(Value.of(0x00))),
+             jsr(absolute(Address.of(0x8030))),
+             inc(zp(Value.of(0x20))),
+             bne(relative(Value.of(0x00))),
+             dex(),
+             bne(relative(Value.of(-19))),
+             dey(),
+             bne(relative(Value.of(-24))),
+             stp());
+        load(memory, 0x8030, rts());
+    }
+
+    /**
+     * Two nested loops that stop after 48 passes and fuse each {@link Superinstruction} with addressing modes other
+     * than those in {@link #loadFusionProgram(byte[])}.
+     */
+    private static void loadFusionAddressModesProgram(byte[] memory)
+    {
+        memory[0x0010] = 0x42;
+        memory[0x0300] = 0x42;
+        load(memory,
+             0x8000,
+             ldy(immediate(Value.of(0x03))),
+             ldx(immediate(Value.of(0x10))),
+             lda(zp(Value.of(0x10))),
+             sta(absoluteY(Address.of(0x04FE))),
+             cmp(zp(Value.of(0x10))),
+             bne(relative(Value.of(0x02))),
+             lda(absolute(Address.of(0x0300))),
+             sta(zp(Value.of(0x30))),
+             cmp(absolute(Address.of(0x0300))),
+             beq(relative(Value.of(0x00))),
+             inc(zp(Value.of(0x31))),
+             bne(relative(Value.of(0x00))),
+             dex(),
+             bne(relative(Value.of(-26))),
+             dey(),
+             bne(relative(Value.of(-31))),
+             stp());
+    }
+
+    /**
+     * A nested loop that stops after 4096 passes. Each pass rewrites an operand in the subroutine, so compiled copies of
+     * it keep being discarded.
+     */
+    private static void loadCountdownProgram(byte[] memory)
+    {
+        load(memory,
+             0x8000,
+             ldy(immediate(Value.of(0x10))),
+             ldx(immediate(Value.of(0x00))),
+             lda(immediate(Value.of(0x05))),
+             clc(),
+             adc(immediate(Value.of(0x03))),
+             sta(zpX(Value.of(0x10))),
+             inc(zp(Value.of(0x20))),
+             pha(),
+             pla(),
+             jsr(absolute(Address.of(0x8030))),
+             sta(absolute(Address.of(0x8032))),
+             inx(),
+             bne(relative(Value.of(-20))),
+             dey(),
+             bne(relative(Value.of(-25))),
+             stp());
+        load(memory,
+             0x8030,
+             sed(),
+             adc(immediate(Value.of(0x19))),
+             cld(),
+             asl(absolute(Address.of(0x0300))),
+             bit(zp(Value.of(0x20))),
+             rts());
+    }
+
+    private static Addressable addressable(byte[] memory)
+    {
+        return new Addressable()
+        {
+            @Override
+            public Value read(Address address)
+            {
+                return Value.of(memory[address.toUnsignedInt()]);
+            }
+
+            @Override
+            public void write(Address address, Value value)
+            {
+                memory[address.toUnsignedInt()] = value.data();
+            }
+        };
+    }
+
+    private static void load(byte[] memory, int address, Operation... operations)
+    {
+        for (Operation operation : operations) {
+            for (Value value : toValues(operation)) {
+                memory[address++] = value.data();
+            }
+        }
+    }
+
     private Address offsetLow(Address address, int offset)
     {
         return Address.of(address.low().plus(Value.of(offset)), address.high());
@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cpu;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClockTest
+{
+    private final Clock clock = new Clock();
+
+    @Test
+    void allowCycles_Burst_RunsEveryCycleWithoutWaiting()
+    {
+        // given
+        clock.allowCycles(3);
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            clock.runCycle(() -> null);
+        }
+
+        // then
+        assertThat(clock.getCycleCount()).isEqualTo(3);
+    }
+
+    @Test
+    void ignorePending_RemainingCredits_WaitsForNextPulse() throws InterruptedException
+    {
+        // given
+        clock.allowCycles(3);
+        clock.runCycle(() -> null);
+
+        // when
+        clock.ignorePending();
+        clock.allowCycles(5);
+        Thread cycle = Thread.ofVirtual().start(() -> clock.runCycle(() -> null));
+
+        // then
+        assertThat(cycle.join(Duration.ofMillis(100))).isFalse();
+
+        clock.allowNextCycle();
+        assertThat(cycle.join(Duration.ofSeconds(5))).isTrue();
+        assertThat(clock.getCycleCount()).isEqualTo(2);
+    }
+
+    @Test
+    void allowCycles_GrantedAgainBeforeUsed_DoesNotAccumulate() throws InterruptedException
+    {
+        // given
+        clock.allowCycles(3);
+
+        // when
+        clock.allowCycles(3);
+        for (int i = 0; i < 3; i++) {
+            clock.runCycle(() -> null);
+        }
+        Thread cycle = Thread.ofVirtual().start(() -> clock.runCycle(() -> null));
+
+        // then
+        assertThat(cycle.join(Duration.ofMillis(100))).isFalse();
+
+        clock.allowNextCycle();
+        assertThat(cycle.join(Duration.ofSeconds(5))).isTrue();
+        assertThat(clock.getCycleCount()).isEqualTo(4);
+    }
+
+    @Test
+    void revokeCycles_MidBurst_RunsNextStepOnly() throws InterruptedException
+    {
+        // given
+        clock.allowCycles(1000);
+        clock.runCycle(() -> null);
+
+        // when
+        clock.revokeCycles();
+        Thread cycle = Thread.ofVirtual().start(() -> clock.runCycle(() -> null));
+
+        // then
+        assertThat(cycle.join(Duration.ofMillis(100))).isFalse();
+
+        clock.allowNextCycle();
+        assertThat(cycle.join(Duration.ofSeconds(5))).isTrue();
+        assertThat(clock.getCycleCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright © 2025-2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cpu;
+
+import org.junit.jupiter.api.Test;
+import org.syphr.emulator.cpu.DeliveryPolicy.Overflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeliveryPolicyTest
+{
+    @Test
+    void constructor_CapacityNotPowerOfTwo_Throws()
+    {
+        // when / then
+        assertThatThrownBy(() -> DeliveryPolicy.dropOldest(100)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void constructor_ZeroSampleInterval_Throws()
+    {
+        // when / then
+        assertThatThrownBy(() -> DeliveryPolicy.block().sampleEvery(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void sampleEvery_DropPolicy_KeepsOverflowAndCapacity()
+    {
+        // when
+        DeliveryPolicy result = DeliveryPolicy.dropNewest(64).sampleEvery(10);
+
+        // then
+        assertThat(result).isEqualTo(new DeliveryPolicy(Overflow.DROP_NEWEST, 64, 10));
+    }
+}
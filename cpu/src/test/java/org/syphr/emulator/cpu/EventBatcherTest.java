@@ -0,0 +1,123 @@
+/*
+ * Copyright © 2025-2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cpu;
+
+import org.junit.jupiter.api.Test;
+import org.syphr.emulator.common.Value;
+import org.syphr.emulator.cpu.CPUEvent.ClockCycleEvent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class EventBatcherTest
+{
+    final List<List<ClockCycleEvent>> batches = new ArrayList<>();
+
+    @Test
+    void constructor_ZeroBatchSize_Throws()
+    {
+        // when / then
+        assertThatThrownBy(() -> new EventBatcher.ClockCycles(batches::add, 0, Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void constructor_ZeroInterval_Throws()
+    {
+        // when / then
+        assertThatThrownBy(() -> new EventBatcher.ClockCycles(batches::add, 10, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void clockCycleCompleted_BatchFull_DeliversBatch()
+    {
+        // given
+        var batcher = new EventBatcher.ClockCycles(batches::add, 2, Duration.ofHours(1));
+
+        // when
+        for (long cycle = 1; cycle <= 5; cycle++) {
+            batcher.clockCycleCompleted(event(cycle));
+        }
+
+        // then
+        assertAll(() -> assertThat(batches).containsExactly(List.of(event(1), event(2)), List.of(event(3), event(4))),
+                  () -> assertThat(batcher.isPending()).isTrue());
+    }
+
+    @Test
+    void flushIfDue_BeforeDeadline_KeepsPending()
+    {
+        // given
+        var batcher = new EventBatcher.ClockCycles(batches::add, 10, Duration.ofHours(1));
+        batcher.clockCycleCompleted(event(1));
+
+        // when
+        batcher.flushIfDue(System.nanoTime());
+
+        // then
+        assertAll(() -> assertThat(batches).isEmpty(), () -> assertThat(batcher.isPending()).isTrue());
+    }
+
+    @Test
+    void flushIfDue_AfterDeadline_DeliversPartialBatch()
+    {
+        // given
+        var batcher = new EventBatcher.ClockCycles(batches::add, 10, Duration.ofMillis(1));
+        batcher.clockCycleCompleted(event(1));
+
+        // when
+        batcher.flushIfDue(batcher.getDeadline());
+
+        // then
+        assertAll(() -> assertThat(batches).containsExactly(List.of(event(1))),
+                  () -> assertThat(batcher.isPending()).isFalse());
+    }
+
+    @Test
+    void flush_BatchDelivered_CannotBeModified()
+    {
+        // given
+        var batcher = new EventBatcher.ClockCycles(batches::add, 10, Duration.ofHours(1));
+        batcher.clockCycleCompleted(event(1));
+
+        // when
+        batcher.flush();
+
+        // then
+        assertThatThrownBy(() -> batches.getFirst().add(event(2))).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    private static ClockCycleEvent event(long cycle)
+    {
+        return new ClockCycleEvent(new CPUState(Address.of(0x8000),
+                                                Value.ZERO,
+                                                Value.ZERO,
+                                                Value.ZERO,
+                                                Address.of(0x01FF),
+                                                List.of(),
+                                                Flags.of(0),
+                                                Address.of(0x8000),
+                                                Value.ZERO,
+                                                BusAction.READ,
+                                                cycle));
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright © 2025-2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cpu;
+
+import org.junit.jupiter.api.Test;
+import org.syphr.emulator.common.Value;
+import org.syphr.emulator.cpu.CPUEvent.ClockCycleEvent;
+import org.syphr.emulator.cpu.CPUEvent.OperationEvent;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class EventRingTest
+{
+    @Test
+    void close_MoreEventsThanCapacity_DeliversAllInOrder()
+    {
+        // given
+        Queue<Long> cycles = new ConcurrentLinkedQueue<>();
+        var ring = new EventRing((ClockCycleListener) event -> cycles.add(event.state().clockCycle()),
+                                 DeliveryPolicy.block(8));
+
+        // when
+        for (long cycle = 0; cycle < 1000; cycle++) {
+            ring.publishClockCycle(state(cycle));
+        }
+        ring.close();
+
+        // then
+        assertThat(cycles).containsExactlyElementsOf(LongStream.range(0, 1000).boxed().toList());
+    }
+
+    @Test
+    void close_OperationListener_DeliversDecodedOperations()
+    {
+        // given
+        Queue<OperationEvent> delivered = new ConcurrentLinkedQueue<>();
+        var ring = new EventRing((OperationListener) delivered::add, DeliveryPolicy.block(8));
+
+        // when
+        ring.publishOperation(state(2), 0xA9, 0x12, 1, 2);
+        ring.close();
+
+        // then
+        assertThat(delivered).containsExactly(new OperationEvent(state(2), InstructionDecoder.decode(0xA9, 0x12), 1, 2));
+    }
+
+    @Test
+    void close_BatchListener_DeliversPartialBatch()
+    {
+        // given
+        List<List<ClockCycleEvent>> batches = new CopyOnWriteArrayList<>();
+        var ring = new EventRing(new EventBatcher.ClockCycles(batches::add, 4, Duration.ofHours(1)),
+                                 DeliveryPolicy.block(8));
+
+        // when
+        for (long cycle = 0; cycle < 10; cycle++) {
+            ring.publishClockCycle(state(cycle));
+        }
+        ring.close();
+
+        // then
+        assertThat(batches).extracting(List::size).containsExactly(4, 4, 2);
+    }
+
+    @Test
+    void publishClockCycle_BatchIntervalElapsed_DeliversPartialBatch() throws InterruptedException
+    {
+        // given
+        var delivered = new CountDownLatch(1);
+        var ring = new EventRing(new EventBatcher.ClockCycles(events -> delivered.countDown(),
+                                                              100,
+                                                              Duration.ofMillis(10)),
+                                 DeliveryPolicy.block(8));
+
+        // when
+        ring.publishClockCycle(state(1));
+        boolean result = delivered.await(10, TimeUnit.SECONDS);
+        ring.close();
+
+        // then
+        assertThat(result).isTrue();
+    }
+
+    @Test
+    void publishClockCycle_AfterShutdown_StartsNewConsumer()
+    {
+        // given
+        Queue<Long> cycles = new ConcurrentLinkedQueue<>();
+        var ring = new EventRing((ClockCycleListener) event -> cycles.add(event.state().clockCycle()),
+                                 DeliveryPolicy.block(8));
+        ring.publishClockCycle(state(1));
+        ring.shutdown();
+
+        // when
+        ring.publishClockCycle(state(2));
+        ring.close();
+
+        // then
+        assertThat(cycles).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void close_ListenerThrows_KeepsDelivering()
+    {
+        // given
+        Queue<Long> cycles = new ConcurrentLinkedQueue<>();
+        ClockCycleListener listener = event -> {
+            if (event.state().clockCycle() == 1) {
+                throw new IllegalStateException("listener failure");
+            }
+            cycles.add(event.state().clockCycle());
+        };
+        var ring = new EventRing(listener, DeliveryPolicy.block(8));
+
+        // when
+        ring.publishClockCycle(state(1));
+        ring.publishClockCycle(state(2));
+        ring.close();
+
+        // then
+        assertThat(cycles).containsExactly(2L);
+    }
+
+    @Test
+    void publishClockCycle_DropNewestWhileListenerBusy_KeepsQueuedEvents() throws InterruptedException
+    {
+        // given
+        var listener = new BusyListener();
+        var ring = new EventRing(listener, DeliveryPolicy.dropNewest(4));
+
+        // when
+        publishWhileBusy(ring, listener);
+
+        // then
+        assertAll(() -> assertThat(listener.cycles).containsExactly(0L, 1L, 2L, 3L, 4L),
+                  () -> assertThat(ring.getDroppedCount()).isEqualTo(6));
+    }
+
+    @Test
+    void publishClockCycle_DropOldestWhileListenerBusy_KeepsLatestEvents() throws InterruptedException
+    {
+        // given
+        var listener = new BusyListener();
+        var ring = new EventRing(listener, DeliveryPolicy.dropOldest(4));
+
+        // when
+        publishWhileBusy(ring, listener);
+
+        // then
+        assertAll(() -> assertThat(listener.cycles).containsExactly(0L, 7L, 8L, 9L, 10L),
+                  () -> assertThat(ring.getDroppedCount()).isEqualTo(6));
+    }
+
+    @Test
+    void publishClockCycle_Sampled_DeliversEveryNthEvent()
+    {
+        // given
+        Queue<Long> cycles = new ConcurrentLinkedQueue<>();
+        var ring = new EventRing((ClockCycleListener) event -> cycles.add(event.state().clockCycle()),
+                                 DeliveryPolicy.block(8).sampleEvery(3));
+
+        // when
+        for (long cycle = 0; cycle < 10; cycle++) {
+            ring.publishClockCycle(state(cycle));
+        }
+        ring.close();
+
+        // then
+        assertAll(() -> assertThat(cycles).containsExactly(0L, 3L, 6L, 9L),
+                  () -> assertThat(ring.getDroppedCount()).isZero());
+    }
+
+    @Test
+    void publishClockCycle_Retired_IgnoresEvent()
+    {
+        // given
+        Queue<Long> cycles = new ConcurrentLinkedQueue<>();
+        var ring = new EventRing((ClockCycleListener) event -> cycles.add(event.state().clockCycle()),
+                                 DeliveryPolicy.block(8));
+        ring.publishClockCycle(state(1));
+        ring.retire();
+
+        // when
+        ring.publishClockCycle(state(2));
+        ring.close();
+
+        // then
+        assertThat(cycles).containsExactly(1L);
+    }
+
+    /**
+     * Publish cycle 0, wait for the listener to start on it and publish cycles 1 through 10 while it is still busy.
+     */
+    private static void publishWhileBusy(EventRing ring, BusyListener listener) throws InterruptedException
+    {
+        ring.publishClockCycle(state(0));
+        listener.started.await();
+        for (long cycle = 1; cycle <= 10; cycle++) {
+            ring.publishClockCycle(state(cycle));
+        }
+        listener.release.countDown();
+        ring.close();
+    }
+
+    private static class BusyListener implements ClockCycleListener
+    {
+        final Queue<Long> cycles = new ConcurrentLinkedQueue<>();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void clockCycleCompleted(ClockCycleEvent event)
+        {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            cycles.add(event.state().clockCycle());
+        }
+    }
+
+    private static CPUState state(long cycle)
+    {
+        return new CPUState(Address.of(0x8000),
+                            Value.ZERO,
+                            Value.ZERO,
+                            Value.ZERO,
+                            Address.of(0x01FF),
+                            List.of(),
+                            Flags.of(0),
+                            Address.of(0x8000),
+                            Value.ZERO,
+                            BusAction.READ,
+                            cycle);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cpu;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.syphr.emulator.common.Value;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.syphr.emulator.cpu.AddressMode.*;
+import static org.syphr.emulator.cpu.Operation.*;
+
+class InstructionDecoderTest
+{
+    @Test
+    void decode_AllOpCodes_RoundTripInstructionBytes()
+    {
+        // given
+        int operand = 0xBEEF;
+
+        // when/then
+        assertAll(IntStream.range(0x00, 0x100).mapToObj(opCode -> () -> {
+            List<Value> bytes = Operation.toValues(InstructionDecoder.decode(opCode, operand));
+            assertThat(bytes).as("op code %02X", opCode)
+                             .hasSize(1 + InstructionDecoder.operandLength(opCode))
+                             .startsWith(Value.of(opCode));
+        }));
+    }
+
+    @Test
+    void decode_AbsoluteOperand_IsLittleEndian()
+    {
+        // when
+        Operation result = InstructionDecoder.decode(Byte.toUnsignedInt(LDA.ABSOLUTE_X), 0x1234);
+
+        // then
+        assertThat(result).isEqualTo(lda(absoluteX(Address.of(0x1234))));
+    }
+
+    @Test
+    void decode_ZeroPageRelativeOperand_SplitsBytes()
+    {
+        // when
+        Operation result = InstructionDecoder.decode(Byte.toUnsignedInt(BBS3.ZP_RELATIVE), 0xFE42);
+
+        // then
+        assertThat(result).isEqualTo(bbs3(zpRelative(zp(Value.of(0x42)), relative(Value.of(0xFE)))));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0x00, 0x0A, 0x18, 0x48, 0xEA})
+    void hasThrowawayRead_SingleByteOperations_IsTrue(int opCode)
+    {
+        // when
+        boolean result = InstructionDecoder.hasThrowawayRead(opCode);
+
+        // then
+        assertThat(result).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0x03, 0x02, 0x44, 0x5C, 0xA9, 0xAD})
+    void hasThrowawayRead_UnusedOrMultiByteOperations_IsFalse(int opCode)
+    {
+        // when
+        boolean result = InstructionDecoder.hasThrowawayRead(opCode);
+
+        // then
+        assertThat(result).isFalse();
+    }
+}
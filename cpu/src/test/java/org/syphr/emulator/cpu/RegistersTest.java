@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cpu;
+
+import org.junit.jupiter.api.Test;
+import org.syphr.emulator.common.Register;
+import org.syphr.emulator.common.Value;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class RegistersTest
+{
+    @Test
+    void equals_ViewAndRegisterHoldSameValue_AreEqual()
+    {
+        // given
+        var registers = new Registers();
+        registers.a = 0x12;
+        Register register = Register.with(Value.of(0x12));
+
+        // when
+        Register result = registers.accumulator();
+
+        // then
+        assertAll(() -> assertThat(result).isEqualTo(register).hasSameHashCodeAs(register),
+                  () -> assertThat(register).isEqualTo(result));
+    }
+
+    @Test
+    void equals_FieldChangedUnderView_ComparesCurrentValue()
+    {
+        // given
+        var registers = new Registers();
+        Register before = Register.with(registers.x().value());
+
+        // when
+        registers.x = 0x34;
+
+        // then
+        assertAll(() -> assertThat(registers.x()).isNotEqualTo(before),
+                  () -> assertThat(registers.x()).isEqualTo(Register.with(Value.of(0x34))));
+    }
+}
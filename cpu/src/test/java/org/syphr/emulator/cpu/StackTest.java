@@ -15,16 +15,17 @@
  */
 package org.syphr.emulator.cpu;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.syphr.emulator.common.Value;
 
-import java.util.stream.IntStream;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.mockito.Mockito.*;
 
@@ -37,9 +38,17 @@ class StackTest
     @Mock
     Writer writer;
 
-    @InjectMocks
+    @Mock
+    Reader memory;
+
     Stack stack;
 
+    @BeforeEach
+    void beforeEach()
+    {
+        stack = new Stack(new Registers(), reader, writer, memory, new Tracer(true));
+    }
+
     @Test
     void getPointer_InitialState_IsZero()
     {
@@ -54,102 +63,196 @@ class StackTest
     void push_EmptyStack_WritesValueDecrementsPointer()
     {
         // given
+        stack.setPointer(Value.of(0xFF));
         var pointerStart = stack.getPointer();
-        var value = Value.of(0x12);
 
         // when
-        stack.push(value);
+        stack.push(0x12);
 
         // then
-        verify(writer).write(pointerStart, value);
-        assertAll(() -> assertThat(stack.getPointer()).isEqualTo(decrement(pointerStart)),
-                  () -> assertThat(stack).extracting(Stack::isEmpty, Stack::isFull).containsExactly(false, false));
+        verify(writer).write(pointerStart, Value.of(0x12));
+        assertThat(stack.getPointer()).isEqualTo(decrement(pointerStart));
     }
 
     @Test
-    void push_OneSlotOpen_ReportsNotFull()
+    void push_PointerAtBottom_WrapsToTop()
     {
         // given
-        IntStream.rangeClosed(0x00, 0xFE).mapToObj(Value::of).forEach(stack::push);
+        var pointerStart = stack.getPointer();
 
         // when
-        boolean result = stack.isFull();
+        stack.push(0x12);
 
         // then
-        assertThat(result).isFalse();
+        verify(writer).write(pointerStart, Value.of(0x12));
+        assertAll(() -> assertThat(stack.getPointer()).isEqualTo(Address.of(0x01FF)),
+                  () -> assertThat(stack.isEmpty()).isTrue());
     }
 
     @Test
-    void push_Full_ReportsFull()
+    void pop_StackEmpty_ReadsAnyway()
     {
         // given
-        IntStream.rangeClosed(0x00, 0xFF).mapToObj(Value::of).forEach(stack::push);
+        stack.setPointer(Value.of(0xFF));
+        var pointerStart = stack.getPointer();
+
+        Value value = Value.of(0x12);
+        when(reader.read(Address.of(0x0100))).thenReturn(value);
 
         // when
-        boolean result = stack.isFull();
+        int result = stack.pop();
 
         // then
-        assertThat(result).isTrue();
+        verify(reader).read(Address.of(0x0100));
+        assertAll(() -> assertThat(result).isEqualTo(0x12),
+                  () -> assertThat(stack.getPointer()).isEqualTo(increment(pointerStart)));
     }
 
     @Test
-    void push_FullStack_OverwritesFirstValue()
+    void pop_AfterPush_ReturnsOriginalValue()
     {
         // given
+        var value = Value.of(0x12);
+        stack.push(0x12);
+
         var pointerStart = stack.getPointer();
 
-        IntStream.rangeClosed(0x00, 0xFF).mapToObj(Value::of).forEach(stack::push);
-        reset(writer);
+        when(reader.read(increment(pointerStart))).thenReturn(value);
 
-        var value = Value.of(0x12);
+        // when
+        int result = stack.pop();
+
+        // then
+        verify(reader).read(increment(pointerStart));
+        assertAll(() -> assertThat(result).isEqualTo(0x12),
+                  () -> assertThat(stack.getPointer()).isEqualTo(increment(pointerStart)));
+    }
+
+    @Test
+    void getData_PointerSet_ReturnsPageOneAbovePointer()
+    {
+        // given
+        when(memory.read(Address.of(0x01FE))).thenReturn(Value.of(0x34));
+        when(memory.read(Address.of(0x01FF))).thenReturn(Value.of(0x12));
 
         // when
-        stack.push(value);
+        stack.setPointer(Value.of(0xFD));
 
         // then
-        verify(writer).write(pointerStart, value);
-        assertAll(() -> assertThat(stack.getPointer()).isEqualTo(decrement(pointerStart)),
-                  () -> assertThat(stack).extracting(Stack::isEmpty, Stack::isFull).containsExactly(false, true));
+        assertAll(() -> assertThat(stack.getData()).containsExactly(Value.of(0x34), Value.of(0x12)),
+                  () -> assertThat(stack).extracting(Stack::getSize, Stack::isEmpty).containsExactly(2, false),
+                  () -> assertThat(stack.peek(0)).isEqualTo(0x34),
+                  () -> assertThat(stack.peek(1)).isEqualTo(0x12),
+                  () -> verifyNoInteractions(reader));
     }
 
     @Test
-    void pop_StackEmpty_ReadsAnyway()
+    void peek_BelowPointer_Throws()
     {
         // given
-        var pointerStart = stack.getPointer();
+        stack.setPointer(Value.of(0xFE));
 
-        Value value = Value.of(0x12);
-        when(reader.read(increment(pointerStart))).thenReturn(value);
+        // when / then
+        assertThatThrownBy(() -> stack.peek(1)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void getData_Unchanged_ReturnsSameSnapshot()
+    {
+        // given
+        stack.setPointer(Value.of(0xFE));
+        when(memory.read(Address.of(0x01FF))).thenReturn(Value.of(0x12));
+        List<Value> first = stack.getData();
 
         // when
-        Value result = stack.pop();
+        List<Value> result = stack.getData();
 
         // then
-        verify(reader).read(increment(pointerStart));
-        assertAll(() -> assertThat(result).isEqualTo(value),
-                  () -> assertThat(stack.getPointer()).isEqualTo(increment(pointerStart)),
-                  () -> assertThat(stack).extracting(Stack::isEmpty, Stack::isFull).containsExactly(true, false));
+        assertAll(() -> assertThat(result).isSameAs(first).containsExactly(Value.of(0x12)),
+                  () -> verify(memory).read(Address.of(0x01FF)));
     }
 
     @Test
-    void pop_AfterPush_ReturnsOriginalValue()
+    void getData_AfterWrite_ReturnsNewSnapshot()
     {
         // given
-        var value = Value.of(0x12);
-        stack.push(value);
+        stack.setPointer(Value.of(0xFE));
+        when(memory.read(Address.of(0x01FF))).thenReturn(Value.of(0x12), Value.of(0x34));
+        List<Value> first = stack.getData();
 
-        var pointerStart = stack.getPointer();
+        // when
+        stack.written(Address.of(0x01FF));
+        List<Value> result = stack.getData();
 
-        when(reader.read(increment(pointerStart))).thenReturn(value);
+        // then
+        assertAll(() -> assertThat(first).containsExactly(Value.of(0x12)),
+                  () -> assertThat(result).containsExactly(Value.of(0x34)));
+    }
+
+    @Test
+    void getData_AfterWriteOutsidePageOne_ReturnsSameSnapshot()
+    {
+        // given
+        stack.setPointer(Value.of(0xFE));
+        when(memory.read(Address.of(0x01FF))).thenReturn(Value.of(0x12));
+        List<Value> first = stack.getData();
 
         // when
-        Value result = stack.pop();
+        stack.written(Address.of(0x02FF));
+        stack.written(Address.of(0x0200), Address.of(0x7FFF));
+        List<Value> result = stack.getData();
 
         // then
-        verify(reader).read(increment(pointerStart));
-        assertAll(() -> assertThat(result).isEqualTo(value),
-                  () -> assertThat(stack.getPointer()).isEqualTo(increment(pointerStart)),
-                  () -> assertThat(stack).extracting(Stack::isEmpty, Stack::isFull).containsExactly(true, false));
+        assertThat(result).isSameAs(first);
+    }
+
+    @Test
+    void getData_AfterRangeChanged_ReturnsNewSnapshot()
+    {
+        // given
+        stack.setPointer(Value.of(0xFE));
+        when(memory.read(Address.of(0x01FF))).thenReturn(Value.of(0x12), Value.of(0x34));
+        List<Value> first = stack.getData();
+
+        // when
+        stack.written(Address.of(0x0000), Address.of(0x3FFF));
+        List<Value> result = stack.getData();
+
+        // then
+        assertAll(() -> assertThat(first).containsExactly(Value.of(0x12)),
+                  () -> assertThat(result).containsExactly(Value.of(0x34)));
+    }
+
+    @Test
+    void getData_AfterPointerChange_ReturnsNewSnapshot()
+    {
+        // given
+        stack.setPointer(Value.of(0xFE));
+        when(memory.read(Address.of(0x01FE))).thenReturn(Value.of(0x34));
+        when(memory.read(Address.of(0x01FF))).thenReturn(Value.of(0x12));
+        List<Value> first = stack.getData();
+
+        // when
+        stack.setPointer(Value.of(0xFD));
+        List<Value> result = stack.getData();
+
+        // then
+        assertAll(() -> assertThat(first).containsExactly(Value.of(0x12)),
+                  () -> assertThat(result).containsExactly(Value.of(0x34), Value.of(0x12)));
+    }
+
+    @Test
+    void getData_StackEmpty_ReadsNothing()
+    {
+        // given
+        stack.setPointer(Value.of(0xFF));
+
+        // when
+        List<Value> result = stack.getData();
+
+        // then
+        assertAll(() -> assertThat(result).isEmpty(),
+                  () -> verifyNoInteractions(memory));
     }
 
     private Address increment(Address pointer)
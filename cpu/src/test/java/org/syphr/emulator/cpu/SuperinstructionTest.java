@@ -0,0 +1,63 @@
+/*
+ * Copyright © 2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cpu;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.syphr.emulator.cpu.Operation.*;
+
+class SuperinstructionTest
+{
+    static Stream<Arguments> match_FusedPair_ReturnsSuperinstruction()
+    {
+        return Stream.of(Arguments.of(DEX.IMPLIED, BNE.RELATIVE, Superinstruction.DEX_BNE),
+                         Arguments.of(DEY.IMPLIED, BNE.RELATIVE, Superinstruction.DEY_BNE),
+                         Arguments.of(LDA.IMMEDIATE, STA.ZP, Superinstruction.LDA_STA),
+                         Arguments.of(LDA.ABSOLUTE, STA.ABSOLUTE_X, Superinstruction.LDA_STA),
+                         Arguments.of(CMP.ZP, BEQ.RELATIVE, Superinstruction.CMP_BEQ),
+                         Arguments.of(CMP.IMMEDIATE, BNE.RELATIVE, Superinstruction.CMP_BNE),
+                         Arguments.of(INC.ZP, BNE.RELATIVE, Superinstruction.INC_BNE));
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void match_FusedPair_ReturnsSuperinstruction(byte opCode, byte nextOpCode, Superinstruction expected)
+    {
+        // when
+        Superinstruction result = Superinstruction.match(Byte.toUnsignedInt(opCode), Byte.toUnsignedInt(nextOpCode));
+
+        // then
+        assertThat(result).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"CA, F0", "E8, D0", "A9, 8E", "EE, D0", "B1, 9D", "D5, F0", "20, 60", "00, 00"})
+    void match_OtherPair_ReturnsNull(String opCode, String nextOpCode)
+    {
+        // when
+        Superinstruction result = Superinstruction.match(Integer.parseInt(opCode, 16),
+                                                         Integer.parseInt(nextOpCode, 16));
+
+        // then
+        assertThat(result).isNull();
+    }
+}
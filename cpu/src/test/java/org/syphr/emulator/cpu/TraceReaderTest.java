@@ -0,0 +1,142 @@
+/*
+ * Copyright © 2025-2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cpu;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.zip.Deflater;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TraceReaderTest
+{
+    @TempDir
+    Path dir;
+
+    @Test
+    void open_NotATrace_Throws() throws IOException
+    {
+        // given
+        Path file = Files.write(dir.resolve("trace.bin"), new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+
+        // when / then
+        assertThatThrownBy(() -> TraceReader.open(file)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void next_EmptyTrace_ReturnsFalse() throws IOException
+    {
+        // given
+        Path file = dir.resolve("trace.bin");
+        TraceWriter.open(file).close();
+
+        // when
+        boolean result;
+        try (var reader = TraceReader.open(file)) {
+            result = reader.next();
+        }
+
+        // then
+        assertThat(result).isFalse();
+    }
+
+    @Test
+    void next_TruncatedBlock_Throws() throws IOException
+    {
+        // given
+        Path file = dir.resolve("trace.bin");
+        try (var writer = TraceWriter.open(file)) {
+            writer.writeCycle(1, 0x8000, 0, 0, 0, 0xFF, 0, 0x8000, 0xEA, BusAction.READ);
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+
+        // when / then
+        try (var reader = TraceReader.open(file)) {
+            assertThatThrownBy(reader::next).isInstanceOf(EOFException.class);
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0, -1", "0, 1000", "4, -1", "4, 2147483647", "8, -1", "8, 2147483647"})
+    void next_BlockHeaderOutOfRange_Throws(int field, int value) throws IOException
+    {
+        // given
+        Path file = dir.resolve("trace.bin");
+        try (var writer = TraceWriter.open(file)) {
+            writer.writeCycle(1, 0x8000, 0, 0, 0, 0xFF, 0, 0x8000, 0xEA, BusAction.READ);
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(TraceWriter.MAGIC.length + field, value);
+        Files.write(file, bytes);
+
+        // when / then
+        try (var reader = TraceReader.open(file)) {
+            assertThatThrownBy(reader::next).isInstanceOf(IOException.class).hasMessageContaining("damaged");
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1, 00", "1, 0080", "2, 000100EA", "1, 00FFFFFFFFFFFFFFFFFFFFFF01EA"})
+    void next_RecordRunsPastBlock_Throws(int records, String data) throws IOException
+    {
+        // given
+        Path file = writeBlock(records, HexFormat.of().parseHex(data));
+
+        // when / then
+        try (var reader = TraceReader.open(file)) {
+            assertThatThrownBy(() -> {
+                while (reader.next()) {
+                    // read until the damage is found
+                }
+            }).isInstanceOf(IOException.class);
+        }
+    }
+
+    private Path writeBlock(int records, byte[] data) throws IOException
+    {
+        var deflater = new Deflater(Deflater.BEST_SPEED, true);
+        deflater.setInput(data);
+        deflater.finish();
+        var compressed = new byte[data.length + 64];
+        int compressedLength = deflater.deflate(compressed);
+        deflater.end();
+
+        ByteBuffer frame = ByteBuffer.allocate(3 * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        frame.putInt(records).putInt(data.length).putInt(compressedLength);
+
+        Path file = dir.resolve("trace.bin");
+        try (var out = Files.newOutputStream(file)) {
+            out.write(TraceWriter.MAGIC);
+            out.write(frame.array());
+            out.write(compressed, 0, compressedLength);
+        }
+
+        return file;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright © 2025-2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cpu;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class TraceRecorderTest
+{
+    @TempDir
+    Path dir;
+
+    @Test
+    void open_OneChunk_Throws()
+    {
+        // when / then
+        assertThatThrownBy(() -> TraceRecorder.open(dir.resolve("trace.bin"), 16, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void close_NothingRecorded_WritesOnlyMagic() throws IOException
+    {
+        // given
+        Path file = dir.resolve("trace.bin");
+        var recorder = TraceRecorder.open(file);
+
+        // when
+        recorder.close();
+
+        // then
+        assertThat(Files.readAllBytes(file)).isEqualTo(TraceRecorder.MAGIC);
+    }
+
+    @Test
+    void close_CyclesSpanChunks_WritesColumnsPerChunk() throws IOException
+    {
+        // given
+        Path file = dir.resolve("trace.bin");
+        var recorder = TraceRecorder.open(file, 2, 2);
+
+        // when
+        for (int cycle = 1; cycle <= 5; cycle++) {
+            recorder.record(0x8000 + cycle, 0xA0, 0xB0, 0xC0, 0xFD, 0x24, 0xFFF0 + cycle, cycle, BusAction.WRITE, cycle);
+        }
+        recorder.close();
+
+        // then
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        var magic = new byte[TraceRecorder.MAGIC.length];
+        buffer.get(magic);
+
+        int rows = buffer.getInt();
+        long[] cycles = {buffer.getLong(), buffer.getLong()};
+        int[] pcs = {Short.toUnsignedInt(buffer.getShort()), Short.toUnsignedInt(buffer.getShort())};
+        int[] addresses = {Short.toUnsignedInt(buffer.getShort()), Short.toUnsignedInt(buffer.getShort())};
+        var bytes = new byte[7 * rows];
+        buffer.get(bytes);
+
+        assertAll(() -> assertThat(magic).isEqualTo(TraceRecorder.MAGIC),
+                  () -> assertThat(rows).isEqualTo(2),
+                  () -> assertThat(cycles).containsExactly(1, 2),
+                  () -> assertThat(pcs).containsExactly(0x8001, 0x8002),
+                  () -> assertThat(addresses).containsExactly(0xFFF1, 0xFFF2),
+                  () -> assertThat(Arrays.copyOfRange(bytes, 0, 2)).containsExactly(0xA0, 0xA0),
+                  () -> assertThat(Arrays.copyOfRange(bytes, 10, 12)).containsExactly(1, 2),
+                  () -> assertThat(Arrays.copyOfRange(bytes, 12, 14))
+                          .containsExactly(BusAction.WRITE.ordinal(), BusAction.WRITE.ordinal()),
+                  () -> assertThat(buffer.remaining()).isEqualTo(2 * (Integer.BYTES + 2 * TraceRecorder.ROW_BYTES) -
+                                                                 TraceRecorder.ROW_BYTES),
+                  () -> assertThat(recorder.getRecordedCount()).isEqualTo(5));
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright © 2025-2026 Gregory P. Moyer
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.syphr.emulator.cpu;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.syphr.emulator.common.Value;
+import org.syphr.emulator.cpu.CPUEvent.ClockCycleEvent;
+import org.syphr.emulator.cpu.CPUEvent.OperationEvent;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+class TraceWriterTest
+{
+    @TempDir
+    Path dir;
+
+    @Test
+    void clockCycleCompleted_Event_ReadsBackSameState() throws IOException
+    {
+        // given
+        Path file = dir.resolve("trace.bin");
+        var state = new CPUState(Address.of(0x8123),
+                                 Value.of(0x12),
+                                 Value.of(0x34),
+                                 Value.of(0x56),
+                                 Address.of(0x01FD),
+                                 List.of(),
+                                 new Flags(true, false, true, false, false, true, false, true),
+                                 Address.of(0x2000),
+                                 Value.of(0x78),
+                                 BusAction.WRITE,
+                                 42);
+
+        // when
+        try (var writer = TraceWriter.open(file)) {
+            writer.clockCycleCompleted(new ClockCycleEvent(state));
+        }
+
+        // then
+        try (var reader = TraceReader.open(file)) {
+            assertAll(() -> assertThat(reader.next()).isTrue(),
+                      () -> assertThat(reader.isOperation()).isFalse(),
+                      () -> assertThat(reader.cycle()).isEqualTo(42),
+                      () -> assertThat(reader.programCounter()).isEqualTo(0x8123),
+                      () -> assertThat(reader.accumulator()).isEqualTo(0x12),
+                      () -> assertThat(reader.x()).isEqualTo(0x34),
+                      () -> assertThat(reader.y()).isEqualTo(0x56),
+                      () -> assertThat(reader.stackPointer()).isEqualTo(0xFD),
+                      () -> assertThat(reader.status()).isEqualTo(0xA5),
+                      () -> assertThat(reader.addressBus()).isEqualTo(0x2000),
+                      () -> assertThat(reader.dataBus()).isEqualTo(0x78),
+                      () -> assertThat(reader.busAction()).isEqualTo(BusAction.WRITE),
+                      () -> assertThat(reader.next()).isFalse());
+        }
+    }
+
+    @Test
+    void operationCompleted_Event_ReadsBackSameOperation() throws IOException
+    {
+        // given
+        Path file = dir.resolve("trace.bin");
+        Operation op = InstructionDecoder.decode(0x8D, 0x2000);
+        var state = new CPUState(Address.of(0x8003),
+                                 Value.ZERO,
+                                 Value.ZERO,
+                                 Value.ZERO,
+                                 Address.of(0x01FF),
+                                 List.of(),
+                                 Flags.of(0),
+                                 Address.of(0x2000),
+                                 Value.ZERO,
+                                 BusAction.WRITE,
+                                 6);
+
+        // when
+        try (var writer = TraceWriter.open(file)) {
+            writer.operationCompleted(new OperationEvent(state, op, 3, 6));
+        }
+
+        // then
+        try (var reader = TraceReader.open(file)) {
+            assertAll(() -> assertThat(reader.next()).isTrue(),
+                      () -> assertThat(reader.isOperation()).isTrue(),
+                      () -> assertThat(reader.startCycle()).isEqualTo(3),
+                      () -> assertThat(reader.endCycle()).isEqualTo(6),
+                      () -> assertThat(reader.opCode()).isEqualTo(0x8D),
+                      () -> assertThat(reader.operand()).isEqualTo(0x2000),
+                      () -> assertThat(reader.operation()).isEqualTo(op));
+        }
+    }
+
+    @Test
+    void writeCycle_RegistersUnchanged_WritesOnlyBusAndCycle() throws IOException
+    {
+        // given
+        Path file = dir.resolve("trace.bin");
+        int cycles = 100_000;
+
+        // when
+        try (var writer = TraceWriter.open(file)) {
+            for (int cycle = 1; cycle <= cycles; cycle++) {
+                writer.writeCycle(cycle, 0x8000, 1, 2, 3, 0xFF, 0x24, 0x8000 + cycle % 3, 0xEA, BusAction.READ);
+            }
+        }
+
+        // then
+        assertThat(Files.size(file)).isLessThan(cycles / 10);
+    }
+
+    @Test
+    void writeCycle_ManyBlocks_ReadsBackInOrder() throws IOException
+    {
+        // given
+        Path file = dir.resolve("trace.bin");
+        int cycles = 200_000;
+
+        // when
+        try (var writer = TraceWriter.open(file)) {
+            for (int cycle = 1; cycle <= cycles; cycle++) {
+                writer.writeCycle(cycle, cycle, cycle, cycle >> 8, 0, 0, 0, cycle * 31, cycle * 7, BusAction.READ);
+                if (cycle % 4 == 0) {
+                    writer.writeOperation(cycle - 3, cycle, 0xEA, 0);
+                }
+            }
+        }
+
+        // then
+        int mismatches = 0;
+        long count = 0;
+        long end = 0;
+        try (var reader = TraceReader.open(file)) {
+            while (reader.next()) {
+                if (reader.isOperation()) {
+                    end = reader.endCycle();
+                    continue;
+                }
+
+                long cycle = ++count;
+                if (reader.cycle() != cycle
+                    || reader.programCounter() != (cycle & 0xFFFF)
+                    || reader.accumulator() != (cycle & 0xFF)
+                    || reader.x() != (cycle >> 8 & 0xFF)
+                    || reader.addressBus() != (cycle * 31 & 0xFFFF)
+                    || reader.dataBus() != (cycle * 7 & 0xFF)) {
+                    mismatches++;
+                }
+            }
+        }
+
+        long recorded = count;
+        long lastEnd = end;
+        int wrong = mismatches;
+        assertAll(() -> assertThat(recorded).isEqualTo(cycles),
+                  () -> assertThat(lastEnd).isEqualTo(cycles),
+                  () -> assertThat(wrong).isZero());
+    }
+}